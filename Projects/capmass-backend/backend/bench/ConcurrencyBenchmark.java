@@ -0,0 +1,133 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP benchmark: {@code clients} concurrent clients each send a request, wait for
+ * the response, and immediately send the next one. Reports throughput and latency percentiles
+ * for the measurement window after a warm-up period.
+ * <p>
+ * Clients are asynchronous request chains rather than threads, so 10k clients do not need 10k
+ * driver threads. Run as a single-file program (no build needed):
+ * <pre>
+ * java bench/ConcurrencyBenchmark.java http://localhost:8080 1000 10 30 [label]
+ * </pre>
+ * Prints one CSV line: label,clients,requests,errors,throughput,p50_ms,p90_ms,p99_ms,max_ms
+ */
+public class ConcurrencyBenchmark {
+
+    private static final List<String> PATHS = List.of(
+        "/api/locations?limit=100",
+        "/api/categories",
+        "/api/locations/category/1",
+        "/api/locations/category/2",
+        "/api/locations/nearby?lat=40.7128&lon=-74.0060&k=10");
+
+    /** Latency buckets with 1% relative precision from 1 microsecond to about 28 minutes. */
+    private static final double BUCKET_GROWTH = Math.log(1.01);
+    private static final int BUCKETS = 2200;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private final HttpClient client;
+    private final List<HttpRequest> requestsByPath;
+
+    ConcurrencyBenchmark(String baseUrl) {
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+        this.requestsByPath = PATHS.stream()
+            .map(path -> HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).build())
+            .toList();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("usage: ConcurrencyBenchmark <baseUrl> <clients> <warmupSeconds> <seconds> [label]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        int warmupSeconds = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+        String label = args.length > 4 ? args[4] : "run";
+
+        ConcurrencyBenchmark benchmark = new ConcurrencyBenchmark(baseUrl);
+        CountDownLatch stopped = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            benchmark.loop(i, stopped);
+        }
+
+        Thread.sleep(warmupSeconds * 1000L);
+        benchmark.measuring = true;
+        long started = System.nanoTime();
+        Thread.sleep(seconds * 1000L);
+        benchmark.measuring = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        benchmark.running = false;
+        stopped.await();
+
+        System.out.println(benchmark.summary(label, clients, elapsedSeconds));
+    }
+
+    private void loop(int clientIndex, CountDownLatch stopped) {
+        if (!running) {
+            stopped.countDown();
+            return;
+        }
+        HttpRequest request = requestsByPath.get(Math.floorMod(clientIndex + (int) requests.sum(), PATHS.size()));
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, failure) -> {
+                if (measuring) {
+                    record(System.nanoTime() - sent, failure == null && response.statusCode() < 400);
+                }
+                loop(clientIndex, stopped);
+            });
+    }
+
+    private void record(long latencyNanos, boolean ok) {
+        requests.increment();
+        if (!ok) {
+            errors.increment();
+        }
+        long micros = Math.max(1, latencyNanos / 1000);
+        int bucket = (int) Math.min(BUCKETS - 1, Math.round(Math.log(micros) / BUCKET_GROWTH));
+        histogram.incrementAndGet(bucket);
+    }
+
+    private double percentileMillis(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += histogram.get(i);
+        }
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= rank && seen > 0) {
+                return Math.exp(i * BUCKET_GROWTH) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private String summary(String label, int clients, double elapsedSeconds) {
+        long total = requests.sum();
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+            label, clients, total, errors.sum(), total / elapsedSeconds,
+            percentileMillis(0.50), percentileMillis(0.90), percentileMillis(0.99), percentileMillis(1.0));
+    }
+}
@@ -0,0 +1,96 @@
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-first-request: starts the backend with the given command, polls a URL (the readiness
+ * probe in bench/startup.sh) until it answers 200, and stops the process again. Repeats
+ * {@code runs} times and reports the fastest, median and slowest run, so one slow start (page
+ * cache, JIT) does not decide it.
+ * <p>
+ * The clock starts before the process is launched, so JVM startup, class loading, Spring
+ * context refresh, Hibernate bootstrap and sample data seeding are all included. The command
+ * runs in {@code dir}; a CDS archive only applies when the jar is started with the same
+ * classpath as in its training run. Run as a single-file program:
+ * <pre>
+ * java bench/StartupBenchmark.java fat-jar 5 http://localhost:8080/actuator/health/readiness target java -jar app.jar
+ * </pre>
+ * Prints one CSV line: label,runs,min_ms,median_ms,max_ms. Process output goes to
+ * target/bench/startup-&lt;label&gt;.log.
+ */
+public class StartupBenchmark {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: StartupBenchmark <label> <runs> <url> <dir> <command...>");
+            System.exit(2);
+        }
+        String label = args[0];
+        int runs = Integer.parseInt(args[1]);
+        URI url = URI.create(args[2]);
+        File dir = new File(args[3]);
+        List<String> command = Arrays.asList(args).subList(4, args.length);
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(10)).build();
+        File log = new File("target/bench/startup-" + label + ".log");
+        log.getParentFile().mkdirs();
+
+        List<Long> millis = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                .directory(dir)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log))
+                .start();
+            try {
+                awaitFirstResponse(client, request, process, start);
+                millis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        Collections.sort(millis);
+        System.out.printf(Locale.ROOT, "%s,%d,%d,%d,%d%n",
+            label, runs, millis.get(0), millis.get(millis.size() / 2), millis.get(millis.size() - 1));
+    }
+
+    private static void awaitFirstResponse(HttpClient client, HttpRequest request, Process process, long start)
+            throws Exception {
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("backend exited with " + process.exitValue() + " during startup");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet.
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("no response from " + request.uri() + " within " + STARTUP_TIMEOUT);
+    }
+}
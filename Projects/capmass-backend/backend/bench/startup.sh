@@ -0,0 +1,54 @@
+#!/usr/bin/env bash
+# Time-to-first-request of the regular fat jar against the fast-startup build (Spring AOT, then
+# Spring AOT plus the CDS archive from the training run).
+#
+# Usage: bench/startup.sh [runs]   (default: 5)
+# Environment: PORT (8080), JAVA_OPTS (-Xmx1g), JAVA_HOME (the JDK Maven runs on)
+#
+# Results are written to target/bench/startup.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+JAVA_OPTS="${JAVA_OPTS:--Xmx1g}"
+URL="http://localhost:${PORT}/actuator/health/readiness"
+
+# The java mvn itself runs: JAVA_HOME, else the one on the PATH. The CDS training run used the same
+# JDK, and the archive only maps into the JDK build that wrote it.
+if [ -n "${JAVA_HOME:-}" ]; then
+  JAVA="${JAVA_HOME}/bin/java"
+else
+  JAVA="$(command -v java)"
+fi
+
+# Every mode gets the same port and SQL profiling off so only the startup path differs.
+APP_ARGS=("--server.port=${PORT}" "--catalog.sql.profiling.enabled=false")
+
+# One build produces all three: the exec jar, and the plain jar with target/lib and target/backend.jsa.
+mvn -q -B -DskipTests -Pfast-startup package
+# Started from target/ like the training run; CDS rejects the archive when the classpath differs.
+EXEC_JAR="$(cd target && ls *-exec.jar | head -n 1)"
+PLAIN_JAR="$(cd target && ls *-SNAPSHOT.jar | head -n 1)"
+
+mkdir -p target/bench
+rm -f target/bench/startup-*.log
+RESULTS=target/bench/startup.csv
+echo "mode,runs,min_ms,median_ms,max_ms" > "$RESULTS"
+
+run_mode() {
+  local mode="$1"
+  shift
+  echo "${mode}: ${RUNS} runs" >&2
+  # shellcheck disable=SC2086
+  "$JAVA" bench/StartupBenchmark.java "$mode" "$RUNS" "$URL" target "$JAVA" $JAVA_OPTS "$@" "${APP_ARGS[@]}" \
+    | tee -a "$RESULTS"
+}
+
+run_mode fat-jar -jar "$EXEC_JAR"
+run_mode aot -Dspring.aot.enabled=true -jar "$PLAIN_JAR"
+# -Xshare:on makes the JVM exit instead of silently running without a rejected archive.
+run_mode aot-cds -Xshare:on -XX:SharedArchiveFile=backend.jsa -Dspring.aot.enabled=true -jar "$PLAIN_JAR"
+
+echo "Results: $RESULTS" >&2
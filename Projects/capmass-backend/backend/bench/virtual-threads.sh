@@ -0,0 +1,70 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under 1k-10k concurrent clients.
+#
+# Usage: bench/virtual-threads.sh [concurrency levels...]   (default: 1000 2500 5000 10000)
+# Environment: PORT (8080), WARMUP (10 s), DURATION (30 s), JAVA_OPTS (-Xmx2g)
+#
+# Virtual threads need Java 21; on older JVMs the second run falls back to platform threads
+# and the application logs a warning. Results are written to target/bench/virtual-threads.csv.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-8080}"
+WARMUP="${WARMUP:-10}"
+DURATION="${DURATION:-30}"
+JAVA_OPTS="${JAVA_OPTS:--Xmx2g}"
+LEVELS=("$@")
+if [ ${#LEVELS[@]} -eq 0 ]; then
+  LEVELS=(1000 2500 5000 10000)
+fi
+
+# Both modes get the same connection limits and SQL profiling off so only the threading differs.
+COMMON_ARGS=(
+  "--server.port=${PORT}"
+  "--catalog.sql.profiling.enabled=false"
+  "--server.tomcat.max-connections=20000"
+  "--server.tomcat.accept-count=1000"
+  "--spring.datasource.hikari.maximum-pool-size=50"
+)
+
+ulimit -n 65536 2>/dev/null || echo "warning: could not raise the open file limit; high client counts may fail" >&2
+
+mvn -q -B -DskipTests package
+JAR="$(ls target/*-exec.jar | head -n 1)"
+
+mkdir -p target/bench
+RESULTS=target/bench/virtual-threads.csv
+echo "mode,clients,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,max_ms" > "$RESULTS"
+
+run_mode() {
+  local mode="$1"
+  shift
+  # shellcheck disable=SC2086
+  java $JAVA_OPTS -jar "$JAR" "${COMMON_ARGS[@]}" "$@" > "target/bench/${mode}.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf "http://localhost:${PORT}/actuator/health" > /dev/null; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "backend exited during startup, see target/bench/${mode}.log" >&2
+      exit 1
+    fi
+    sleep 0.5
+  done
+
+  for clients in "${LEVELS[@]}"; do
+    echo "${mode}: ${clients} clients" >&2
+    java bench/ConcurrencyBenchmark.java "http://localhost:${PORT}" "$clients" "$WARMUP" "$DURATION" "$mode" \
+      | tee -a "$RESULTS"
+  done
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform
+run_mode virtual --spring.profiles.active=virtual-threads
+
+echo "Results: $RESULTS" >&2
@@ -0,0 +1,19 @@
+package com.capmass.backend.catalog;
+
+import java.util.List;
+
+/**
+ * Published once for many catalog writes made together, such as a batch upsert, in place of
+ * one {@link CatalogChangeEvent} per row. Listeners apply the changes in one go: the version
+ * moves once, caches are cleared once and derived views are rebuilt at most once.
+ */
+public record CatalogBatchChangeEvent(List<CatalogChangeEvent> changes) {
+
+    public CatalogBatchChangeEvent {
+        changes = List.copyOf(changes);
+    }
+
+    public boolean contains(CatalogChangeEvent.EntityType entityType) {
+        return changes.stream().anyMatch(change -> change.entityType() == entityType);
+    }
+}
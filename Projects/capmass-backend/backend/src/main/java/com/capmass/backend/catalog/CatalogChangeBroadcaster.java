@@ -0,0 +1,346 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.dto.CatalogChange;
+import com.capmass.backend.dto.CatalogChanges;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed catalog changes to Server-Sent Events subscribers.
+ * <p>
+ * Events are read from the {@link CatalogChangeLog} after each commit, so their ids are log
+ * cursors and a reconnecting client resumes from {@code Last-Event-ID}. Each event is
+ * serialized once and the same frames are handed to every subscriber. A batch write is pushed
+ * once it has been logged in full; when it changed more than
+ * {@code catalog.stream.max-batch-events} entities, subscribers get a single {@code resync} event
+ * instead of one frame per entity.
+ * <p>
+ * Broadcasting never writes to a socket. Every subscriber has a bounded queue
+ * ({@code catalog.stream.queue-capacity}) drained by a pool of dispatch threads that keeps
+ * {@code catalog.stream.dispatch-threads} threads and starts more, up to
+ * {@code catalog.stream.max-dispatch-threads}, while those are busy writing, so a client that
+ * stops reading holds up one thread, not the others. A subscriber whose queue overflows, that
+ * finds every dispatch thread busy, or whose write has not finished after
+ * {@code catalog.stream.send-timeout-ms}, is disconnected; the stuck write is interrupted and the emitter completed once it returns. The
+ * browser reconnects with the last id it received and catches up from the log. Clients too far
+ * behind for the log, or reconnecting after a bulk reload or a restart, get a {@code resync} event
+ * with the cursor to continue from once they have downloaded the catalog again.
+ */
+@Component
+public class CatalogChangeBroadcaster {
+
+    static final String CHANGE_EVENT = "change";
+    static final String RESYNC_EVENT = "resync";
+
+    private final CatalogChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final int maxBatchEvents;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final long sendTimeoutNanos;
+    private final Counter disconnected;
+    private final Counter sendTimeouts;
+    private final Counter saturated;
+    private final Set<ResponseBodyEmitter.DataWithMediaType> heartbeatFrame = SseEmitter.event().comment("").build();
+
+    private long lastSequence;
+
+    public CatalogChangeBroadcaster(CatalogChangeLog changeLog, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                    @Value("${catalog.stream.queue-capacity:256}") int queueCapacity,
+                                    @Value("${catalog.stream.dispatch-threads:4}") int dispatchThreads,
+                                    @Value("${catalog.stream.max-dispatch-threads:64}") int maxDispatchThreads,
+                                    @Value("${catalog.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                                    @Value("${catalog.stream.send-timeout-ms:5000}") long sendTimeoutMillis,
+                                    @Value("${catalog.stream.max-batch-events:100}") int maxBatchEvents) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchEvents = Math.min(maxBatchEvents, queueCapacity);
+        this.lastSequence = changeLog.headSequence();
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        // Threads beyond the core ones only exist while writes block; idle ones end after a minute.
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, Math.max(dispatchThreads, maxDispatchThreads),
+            60, TimeUnit.SECONDS, new SynchronousQueue<>(), daemonThreads("catalog-stream-"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(daemonThreads("catalog-stream-heartbeat-"));
+        this.heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        long checkMillis = Math.max(1, sendTimeoutMillis / 4);
+        this.heartbeat.scheduleWithFixedDelay(this::dropStalled, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+        this.disconnected = Counter.builder("catalog.stream.overflows")
+            .description("Subscribers disconnected because their event queue was full")
+            .register(meterRegistry);
+        this.sendTimeouts = Counter.builder("catalog.stream.send-timeouts")
+            .description("Subscribers disconnected because a write to them did not finish in time")
+            .register(meterRegistry);
+        this.saturated = Counter.builder("catalog.stream.saturated")
+            .description("Subscribers disconnected because every dispatch thread was busy writing")
+            .register(meterRegistry);
+        meterRegistry.gauge("catalog.stream.subscribers", subscribers, Set::size);
+    }
+
+    /**
+     * Registers a subscriber. With a {@code Last-Event-ID} the changes it missed are queued
+     * first, or a resync event when the id is not one this process has sent or the log no longer
+     * reaches back to it; without one it only receives changes from now on.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter());
+    }
+
+    synchronized SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Sent right away so the response is committed and the client sees the stream open.
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        if (lastEventId != null) {
+            OptionalLong since = changeLog.sequenceOf(lastEventId);
+            if (since.isEmpty() || since.getAsLong() > lastSequence) {
+                // An id from before a restart, or one never sent, says nothing about what the client holds.
+                subscriber.offer(resyncFrame());
+            } else if (since.getAsLong() < lastSequence) {
+                Optional<CatalogChanges> missed = changeLog.changesSince(since.getAsLong(), queueCapacity - 1);
+                if (missed.isEmpty() || missed.get().hasMore()) {
+                    subscriber.offer(resyncFrame());
+                } else {
+                    // Only changes already broadcast; later ones reach the subscriber through publish.
+                    for (CatalogChange change : missed.get().changes()) {
+                        if (changeLog.sequenceOf(change.sequence()).getAsLong() <= lastSequence) {
+                            subscriber.offer(changeFrame(change));
+                        }
+                    }
+                }
+            }
+        }
+        if (!subscriber.closed) {
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        publish();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        publish(maxBatchEvents);
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        publish();
+    }
+
+    synchronized void publish() {
+        publish(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Queues every change the log recorded since the last call to all subscribers, or a single
+     * resync event when there are more than {@code maxFrames} of them.
+     */
+    synchronized void publish(int maxFrames) {
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> frames = new ArrayList<>();
+        while (true) {
+            Optional<CatalogChanges> changes = changeLog.changesSince(lastSequence, queueCapacity);
+            if (changes.isEmpty() || frames.size() + changes.get().changes().size() > maxFrames) {
+                // The log was reset by a bulk reload (or trimmed past this point), or the write is too
+                // large to send entity by entity: clients must fetch everything.
+                lastSequence = changeLog.headSequence();
+                frames.clear();
+                frames.add(resyncFrame());
+                break;
+            }
+            changes.get().changes().forEach(change -> frames.add(changeFrame(change)));
+            lastSequence = changeLog.sequenceOf(changes.get().sequence()).getAsLong();
+            if (!changes.get().hasMore()) {
+                break;
+            }
+        }
+        for (Set<ResponseBodyEmitter.DataWithMediaType> frame : frames) {
+            subscribers.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeatFrame));
+    }
+
+    /**
+     * Disconnects subscribers whose current write has been blocked for longer than the send
+     * timeout. The emitter cannot be completed while the write holds it, so the dispatch thread
+     * completes it when the write returns.
+     */
+    void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            // The sender is set after the start time, so reading it first never pairs it with an older start.
+            Thread sender = subscriber.sender;
+            long started = subscriber.sendStartedAt;
+            if (sender != null && now - started > sendTimeoutNanos && subscribers.remove(subscriber)) {
+                subscriber.closed = true;
+                sendTimeouts.increment();
+                sender.interrupt();
+            }
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> changeFrame(CatalogChange change) {
+        try {
+            return SseEmitter.event()
+                .id(change.sequence())
+                .name(CHANGE_EVENT)
+                .data(objectMapper.writeValueAsString(change))
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> resyncFrame() {
+        String sequence = changeLog.head();
+        return SseEmitter.event()
+            .id(sequence)
+            .name(RESYNC_EVENT)
+            .data("{\"sequence\":\"" + sequence + "\"}")
+            .build();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One connected client: its emitter and the frames waiting to be written to it. At most one
+     * dispatch thread drains a subscriber at a time, so frames are written in order.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        /** The dispatch thread while it writes to this subscriber, and when it started the write. */
+        private volatile Thread sender;
+        private volatile long sendStartedAt;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(frame)) {
+                // Completed by the dispatch thread: completing here could block on a write in progress.
+                closed = true;
+                subscribers.remove(this);
+                disconnected.increment();
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Every dispatch thread is stuck on a write; the client reconnects and catches up
+                    // from the log. Nothing is writing to this emitter, so it can be completed here.
+                    closed = true;
+                    subscribers.remove(this);
+                    saturated.increment();
+                    queue.clear();
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                    while (!closed && (frame = queue.poll()) != null) {
+                        send(frame);
+                    }
+                    if (closed) {
+                        queue.clear();
+                        emitter.complete();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the emitter's callbacks unregister it.
+                    subscribers.remove(this);
+                    closed = true;
+                    queue.clear();
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && !closed && draining.compareAndSet(false, true));
+        }
+
+        private void send(Set<ResponseBodyEmitter.DataWithMediaType> frame) throws IOException {
+            sendStartedAt = System.nanoTime();
+            sender = Thread.currentThread();
+            try {
+                emitter.send(frame);
+            } finally {
+                sender = null;
+                // An interrupt aimed at a write that has just finished must not hit the next one.
+                Thread.interrupted();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.capmass.backend.catalog;
+
+/**
+ * Published whenever a {@code Location}, {@code LocationCategory} or {@code Walkway} is written.
+ * In-memory views of the catalog (indexes, caches) listen for it to stay in sync
+ * without re-reading the database.
+ */
+public record CatalogChangeEvent(EntityType entityType, Operation operation, Long entityId, Object entity) {
+
+    public enum EntityType {
+        LOCATION,
+        CATEGORY,
+        WALKWAY
+    }
+
+    public enum Operation {
+        UPSERT,
+        DELETE
+    }
+}
@@ -0,0 +1,170 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.dto.CatalogChange;
+import com.capmass.backend.dto.CatalogChanges;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Append-only log of committed location and category writes, numbered by a sequence, so
+ * clients holding a copy of the catalog can fetch only what changed since their last sync.
+ * <p>
+ * The log is compacted in two ways. A newer change to an entity replaces the older one, so
+ * the log never holds more than one entry per entity and a client replaying it only sees the
+ * latest state. Past {@code catalog.changes.max-entries} the oldest entries are dropped and
+ * the log's floor moves up. Clients behind the floor, and all clients after a bulk reload,
+ * must download the catalog again.
+ * <p>
+ * Clients see sequences as cursors of the form {@code epoch-sequence}. The epoch is picked at
+ * random when the log is created, so a cursor issued before a restart is refused like one behind
+ * the floor instead of pointing into an unrelated log.
+ */
+@Component
+public class CatalogChangeLog {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final int maxEntries;
+    private final TreeMap<Long, CatalogChange> entries = new TreeMap<>();
+    private final Map<String, Long> latestByEntity = new HashMap<>();
+
+    private long head;
+    private long floor;
+
+    public CatalogChangeLog(@Value("${catalog.changes.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // Runs before the other listeners so they find the change in the log.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        record(event);
+    }
+
+    // Under one lock, so the batch gets consecutive sequences and readers see all of it or none.
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        event.changes().forEach(this::record);
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogReload(CatalogReloadedEvent event) {
+        // Nothing recorded before a bulk write describes the catalog any more.
+        head++;
+        floor = head;
+        entries.clear();
+        latestByEntity.clear();
+    }
+
+    private void record(CatalogChangeEvent event) {
+        if (event.entityType() == CatalogChangeEvent.EntityType.WALKWAY || event.entityId() == null) {
+            return;
+        }
+        Object entity = null;
+        if (event.operation() == CatalogChangeEvent.Operation.UPSERT) {
+            entity = event.entity() instanceof Location location ? copy(location)
+                : event.entity() instanceof LocationCategory category ? copy(category) : null;
+        }
+        append(event.entityType(), event.operation(), event.entityId(), entity);
+    }
+
+    synchronized void append(CatalogChangeEvent.EntityType entityType, CatalogChangeEvent.Operation operation,
+                             Long id, Object entity) {
+        long sequence = ++head;
+        entries.put(sequence, new CatalogChange(cursor(sequence), entityType, operation, id, entity));
+        Long replaced = latestByEntity.put(entityType + ":" + id, sequence);
+        if (replaced != null) {
+            entries.remove(replaced);
+        }
+        Iterator<Map.Entry<Long, CatalogChange>> oldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries) {
+            Map.Entry<Long, CatalogChange> dropped = oldest.next();
+            oldest.remove();
+            latestByEntity.remove(dropped.getValue().entityType() + ":" + dropped.getValue().id());
+            floor = dropped.getKey();
+        }
+    }
+
+    /**
+     * The cursor of the latest change, to pass as {@code since} after downloading the catalog.
+     */
+    public synchronized String head() {
+        return cursor(head);
+    }
+
+    synchronized long headSequence() {
+        return head;
+    }
+
+    /**
+     * Returns up to {@code limit} changes after the cursor {@code since}, oldest first, or empty
+     * when the log no longer reaches back that far (or the cursor was not issued by this process).
+     */
+    public Optional<CatalogChanges> changesSince(String since, int limit) {
+        OptionalLong sequence = sequenceOf(since);
+        return sequence.isPresent() ? changesSince(sequence.getAsLong(), limit) : Optional.empty();
+    }
+
+    synchronized Optional<CatalogChanges> changesSince(long since, int limit) {
+        if (since < floor || since > head) {
+            return Optional.empty();
+        }
+        List<CatalogChange> page = new ArrayList<>(Math.min(limit, entries.size()));
+        for (CatalogChange change : entries.tailMap(since, false).values()) {
+            if (page.size() == limit) {
+                return Optional.of(new CatalogChanges(page.get(limit - 1).sequence(), true, page));
+            }
+            page.add(change);
+        }
+        return Optional.of(new CatalogChanges(cursor(head), false, page));
+    }
+
+    /**
+     * The sequence a cursor stands for, or empty when it is malformed or from another epoch.
+     */
+    OptionalLong sequenceOf(String cursor) {
+        int separator = cursor.lastIndexOf('-');
+        if (separator < 0 || !cursor.substring(0, separator).equals(epoch)) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(cursor.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private String cursor(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * The event carries the managed entity, which later writes may modify in place.
+     */
+    private static Location copy(Location location) {
+        LocationCategory category = location.getCategory() == null ? null : copy(location.getCategory());
+        return new Location(location.getId(), location.getName(), location.getDescription(), category,
+            location.getLatitude(), location.getLongitude());
+    }
+
+    private static LocationCategory copy(LocationCategory category) {
+        return new LocationCategory(category.getId(), category.getName(), category.getDescription());
+    }
+}
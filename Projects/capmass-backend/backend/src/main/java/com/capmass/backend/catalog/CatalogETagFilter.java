@@ -0,0 +1,209 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.config.BinaryFormatsConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Answers conditional GETs on catalog read endpoints from the {@link CatalogVersion} alone.
+ * <p>
+ * A request whose {@code If-None-Match} carries the current catalog ETag gets a 304 before
+ * it reaches a controller, so neither the database nor Jackson is involved. Other requests
+ * are tagged with the version that was current when they started, once the response turns
+ * out to be a success: errors carry no tag, and a URL whose last response was an error is
+ * never answered with 304. Responses can be JSON, CBOR or Smile depending on {@code Accept},
+ * so the tag names the encoding and the responses carry {@code Vary: Accept}. When the
+ * {@link CatalogResponseCacheFilter} will send its gzip copy the tag gets a {@code -gzip}
+ * suffix, and {@code If-None-Match} is compared with that tag.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class CatalogETagFilter extends OncePerRequestFilter {
+
+    static final List<String> CATALOG_READ_PATHS = List.of(
+        "/api/categories",
+        "/api/locations",
+        "/api/locations/category/*",
+        "/api/locations/nearby",
+        "/api/locations/within",
+        "/api/locations/suggest",
+        "/api/locations/export",
+        "/api/locations/changes",
+        "/api/routes",
+        "/api/routes/itinerary");
+
+    private static final String GZIP_SUFFIX = "-gzip";
+    private static final int MAX_FAILING_URLS = 10_000;
+
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCacheFilter responseCache;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    /** URLs whose last response was not a success, so a borrowed tag cannot turn them into a 304. */
+    private final Cache<String, Boolean> failing = Caffeine.newBuilder().maximumSize(MAX_FAILING_URLS).build();
+
+    public CatalogETagFilter(CatalogVersion catalogVersion, CatalogResponseCacheFilter responseCache) {
+        this.catalogVersion = catalogVersion;
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return CATALOG_READ_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Read the version before the data so a concurrent write can only make the tag too old.
+        String etag = catalogVersion.etag(catalogVersion.current(), variant(request.getHeader(HttpHeaders.ACCEPT)));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        String url = request.getQueryString() == null ? request.getRequestURI()
+            : request.getRequestURI() + "?" + request.getQueryString();
+        String expected = responseCache.compresses(request) ? gzipTag(etag) : etag;
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), expected) && failing.getIfPresent(url) == null) {
+            response.setHeader(HttpHeaders.ETAG, expected);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        TaggingResponse tagging = new TaggingResponse(response, etag);
+        chain.doFilter(request, tagging);
+        // Responses without a body never asked for the output stream.
+        tagging.tag();
+        if (successful(tagging.getStatus())) {
+            failing.invalidate(url);
+        } else {
+            failing.put(url, Boolean.TRUE);
+        }
+    }
+
+    private static boolean successful(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * The encoding content negotiation will pick for this {@code Accept} header: the binary
+     * formats when the client prefers one of them, JSON (an empty variant) otherwise.
+     */
+    static String variant(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        MediaType preferred;
+        try {
+            // max keeps the first of equally weighted types, as content negotiation does.
+            preferred = MediaType.parseMediaTypes(accept).stream()
+                .max(Comparator.comparingDouble(MediaType::getQualityValue))
+                .orElse(MediaType.ALL);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        if (preferred.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+            return "cbor";
+        }
+        if (preferred.equalsTypeAndSubtype(BinaryFormatsConfig.APPLICATION_SMILE)) {
+            return "smile";
+        }
+        return "";
+    }
+
+    /**
+     * The tag of the gzip copy of the representation tagged {@code etag}. A compressed body is a
+     * different representation, so it cannot share the strong tag of the plain one.
+     */
+    static String gzipTag(String etag) {
+        return etag.substring(0, etag.length() - 1) + GZIP_SUFFIX + "\"";
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the ETag when the body is about to be written, once the status is known: only
+     * successful responses are tagged, with the gzip tag when the body goes out compressed.
+     */
+    private static final class TaggingResponse extends HttpServletResponseWrapper {
+
+        private final String etag;
+        private boolean tagged;
+
+        TaggingResponse(HttpServletResponse response, String etag) {
+            super(response);
+            this.etag = etag;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            tag();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            tag();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            tag();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            tagged = false;
+        }
+
+        void tag() {
+            if (tagged || isCommitted()) {
+                return;
+            }
+            tagged = true;
+            if (successful(getStatus())) {
+                boolean gzip = "gzip".equals(getHeader(HttpHeaders.CONTENT_ENCODING));
+                setHeader(HttpHeaders.ETAG, gzip ? gzipTag(etag) : etag);
+            }
+        }
+    }
+}
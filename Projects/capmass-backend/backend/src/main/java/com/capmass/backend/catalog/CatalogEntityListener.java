@@ -0,0 +1,46 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.entity.Walkway;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA lifecycle listener that turns entity writes into {@link CatalogChangeEvent}s.
+ * Hibernate obtains it from the Spring bean container, so the publisher is injected.
+ */
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(Object entity) {
+        publish(entity, CatalogChangeEvent.Operation.UPSERT);
+    }
+
+    @PostRemove
+    public void afterRemove(Object entity) {
+        publish(entity, CatalogChangeEvent.Operation.DELETE);
+    }
+
+    private void publish(Object entity, CatalogChangeEvent.Operation operation) {
+        if (entity instanceof Location location) {
+            eventPublisher.publishEvent(new CatalogChangeEvent(
+                CatalogChangeEvent.EntityType.LOCATION, operation, location.getId(), location));
+        } else if (entity instanceof LocationCategory category) {
+            eventPublisher.publishEvent(new CatalogChangeEvent(
+                CatalogChangeEvent.EntityType.CATEGORY, operation, category.getId(), category));
+        } else if (entity instanceof Walkway walkway) {
+            eventPublisher.publishEvent(new CatalogChangeEvent(
+                CatalogChangeEvent.EntityType.WALKWAY, operation, walkway.getId(), walkway));
+        }
+    }
+}
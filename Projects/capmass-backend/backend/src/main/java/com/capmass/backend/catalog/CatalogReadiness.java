@@ -0,0 +1,76 @@
+package com.capmass.backend.catalog;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the startup seeding pipeline, published as the {@code catalogReadiness} health
+ * indicator.
+ * <p>
+ * The indicator is part of the readiness group, so {@code /actuator/health/readiness} stays
+ * out of service while the catalog is seeded and the in-memory views are built, even though
+ * the HTTP port is already open. It goes down when seeding failed.
+ */
+@Component
+public class CatalogReadiness implements HealthIndicator {
+
+    public enum Phase { PENDING, SEEDING, INDEXING, READY, FAILED }
+
+    private volatile Phase phase = Phase.PENDING;
+    private volatile long locations;
+    private volatile long startedAtMillis;
+    private volatile long finishedAtMillis;
+    private volatile String error;
+
+    public void seeding() {
+        startedAtMillis = System.currentTimeMillis();
+        phase = Phase.SEEDING;
+    }
+
+    /**
+     * Records how many locations have been written so far.
+     */
+    public void progress(long locations) {
+        this.locations = locations;
+    }
+
+    public void indexing() {
+        phase = Phase.INDEXING;
+    }
+
+    public void ready() {
+        finishedAtMillis = System.currentTimeMillis();
+        phase = Phase.READY;
+    }
+
+    public void failed(Throwable cause) {
+        finishedAtMillis = System.currentTimeMillis();
+        error = cause.toString();
+        phase = Phase.FAILED;
+    }
+
+    public Phase phase() {
+        return phase;
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    @Override
+    public Health health() {
+        Phase current = phase;
+        Health.Builder health = switch (current) {
+            case READY -> Health.up();
+            case FAILED -> Health.down().withDetail("error", error);
+            default -> Health.outOfService();
+        };
+        health.withDetail("phase", current).withDetail("locations", locations);
+        if (current != Phase.PENDING) {
+            long end = current == Phase.READY || current == Phase.FAILED ? finishedAtMillis : System.currentTimeMillis();
+            health.withDetail("elapsedMillis", end - startedAtMillis);
+        }
+        return health.build();
+    }
+}
@@ -0,0 +1,8 @@
+package com.capmass.backend.catalog;
+
+/**
+ * Published after the catalog was written in bulk outside of JPA (for example by the
+ * bulk importer). In-memory views must assume anything changed and rebuild.
+ */
+public record CatalogReloadedEvent(String reason) {
+}
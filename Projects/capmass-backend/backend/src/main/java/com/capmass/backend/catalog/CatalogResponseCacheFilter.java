@@ -0,0 +1,273 @@
+package com.capmass.backend.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the catalog list endpoints from response bodies serialized once per catalog version.
+ * <p>
+ * The first request for a URL (and response format) runs normally. Its body and headers are
+ * kept, and a gzip copy is made the first time a client accepts gzip. Later requests get one
+ * of the stored copies with the matching {@code Content-Encoding}, without running the query
+ * or Jackson; the {@link CatalogETagFilter} gives the gzip copy its own tag. Entries are keyed
+ * by the {@link CatalogVersion}, so a committed write makes them unreachable, and the whole
+ * cache is dropped when the version moves on. Entries are bounded by total size
+ * ({@code catalog.response-cache.max-size-mb}).
+ * Bodies over {@code catalog.response-cache.max-entry-size-kb} are not kept.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CatalogResponseCacheFilter extends OncePerRequestFilter {
+
+    static final List<String> CACHED_PATHS = List.of(
+        "/api/categories",
+        "/api/locations",
+        "/api/locations/category/*",
+        "/api/locations/changes");
+
+    /** Headers owned by other filters, stored separately or recomputed per response. */
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+        HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT),
+        HttpHeaders.ETAG.toLowerCase(Locale.ROOT),
+        HttpHeaders.CACHE_CONTROL.toLowerCase(Locale.ROOT),
+        HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+        HttpHeaders.CONTENT_ENCODING.toLowerCase(Locale.ROOT));
+
+    private final CatalogVersion catalogVersion;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int maxEntryBytes;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private volatile Generation generation;
+
+    public CatalogResponseCacheFilter(CatalogVersion catalogVersion,
+                                      @Value("${catalog.response-cache.enabled:true}") boolean enabled,
+                                      @Value("${catalog.response-cache.max-size-mb:64}") long maxSizeMegabytes,
+                                      @Value("${catalog.response-cache.max-entry-size-kb:4096}") int maxEntryKilobytes) {
+        this.catalogVersion = catalogVersion;
+        this.enabled = enabled;
+        this.maxBytes = maxSizeMegabytes * 1024 * 1024;
+        this.maxEntryBytes = maxEntryKilobytes * 1024;
+        this.generation = new Generation(catalogVersion.current(), newCache());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return CACHED_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Whether a successful response to this request is sent as the gzip copy of a stored body.
+     */
+    boolean compresses(HttpServletRequest request) {
+        return !shouldNotFilter(request) && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Read the version before the data so an entry can only be filed under a version that is too old.
+        Generation current = currentGeneration();
+        // CORS requests get extra response headers, so they are cached apart from same-origin ones.
+        String key = CatalogETagFilter.variant(request.getHeader(HttpHeaders.ACCEPT))
+            + (request.getHeader(HttpHeaders.ORIGIN) == null ? " " : " cors ") + request.getRequestURI()
+            + parameters(request);
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        Entry cached = current.entries().getIfPresent(key);
+        if (cached != null) {
+            write(cached, gzip, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        byte[] body = wrapper.getContentAsByteArray();
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || request.isAsyncStarted() || body.length > maxEntryBytes) {
+            // Sent as is; the ETag filter tags it as the plain body it is.
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        List<String[]> headers = new ArrayList<>();
+        for (String name : response.getHeaderNames()) {
+            if (!UNCACHED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                for (String value : response.getHeaders(name)) {
+                    headers.add(new String[] {name, value});
+                }
+            }
+        }
+        Entry entry = new Entry(wrapper.getContentType(), headers, body);
+        current.entries().put(key, entry);
+        // The headers are already on the response; only the body still has to be written.
+        wrapper.resetBuffer();
+        writeBody(entry, gzip, response);
+    }
+
+    /**
+     * Request parameters in name order, so the same page requested with its parameters in a
+     * different order shares the entry.
+     */
+    private static String parameters(HttpServletRequest request) {
+        StringBuilder result = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                result.append(result.length() == 0 ? '?' : '&').append(name).append('=').append(value);
+            }
+        });
+        return result.toString();
+    }
+
+    private Generation currentGeneration() {
+        long version = catalogVersion.current();
+        Generation current = generation;
+        if (current.version() != version) {
+            current = new Generation(version, newCache());
+            generation = current;
+        }
+        return current;
+    }
+
+    private Cache<String, Entry> newCache() {
+        return Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String key, Entry entry) -> entry.weight())
+            .build();
+    }
+
+    private static void write(Entry entry, boolean gzip, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (entry.contentType() != null) {
+            response.setContentType(entry.contentType());
+        }
+        for (String[] header : entry.headers()) {
+            // Vary values set by the filters in front are already there.
+            if (!response.getHeaders(header[0]).contains(header[1])) {
+                response.addHeader(header[0], header[1]);
+            }
+        }
+        writeBody(entry, gzip, response);
+    }
+
+    private static void writeBody(Entry entry, boolean gzip, HttpServletResponse response) throws IOException {
+        byte[] body = gzip ? entry.gzipped() : entry.body();
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.trim().split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(parameter.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (!refused) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cached entries for one catalog version.
+     */
+    private record Generation(long version, Cache<String, Entry> entries) {
+    }
+
+    /**
+     * One serialized response. The gzip copy is made on first use; racing requests may both
+     * compress it, which is harmless.
+     */
+    private static final class Entry {
+
+        private final String contentType;
+        private final List<String[]> headers;
+        private final byte[] body;
+        private volatile byte[] gzipped;
+
+        Entry(String contentType, List<String[]> headers, byte[] body) {
+            this.contentType = contentType;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String contentType() {
+            return contentType;
+        }
+
+        List<String[]> headers() {
+            return headers;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        byte[] gzipped() {
+            byte[] result = gzipped;
+            if (result == null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+                try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                    gzip.write(body);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                result = buffer.toByteArray();
+                gzipped = result;
+            }
+            return result;
+        }
+
+        /** Weighed by the plain body, doubled to leave room for the gzip copy. */
+        int weight() {
+            return (int) Math.min(Integer.MAX_VALUE, 2L * body.length + 256);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.capmass.backend.catalog;
+
+/**
+ * Published once the startup seed or import has been written. In-memory views build
+ * themselves from the database on this event; the catalog is reported ready after all
+ * listeners have returned.
+ */
+public record CatalogSeededEvent(long locations) {
+}
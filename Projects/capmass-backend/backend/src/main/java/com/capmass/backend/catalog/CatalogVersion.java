@@ -0,0 +1,101 @@
+package com.capmass.backend.catalog;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonically increasing version of the location catalog, bumped after every committed
+ * write to a location or category, and after every bulk reload.
+ * <p>
+ * The version is combined with a per-process epoch to form the catalog ETag, so tags handed
+ * out before a restart (when the in-memory database is re-seeded) never match again.
+ * <p>
+ * Each write moves two counters. {@link #committed()} moves before any other listener sees the
+ * change, so views rebuilt in response never read from a replica that has not caught up yet.
+ * {@link #current()}, which tags responses and keys the read caches, moves only after the caches
+ * and in-memory views have followed the write (their listeners run at {@link #VIEW_ORDER}), so a
+ * response built from a view that has not seen the write yet is filed under the old version.
+ * The event stream runs after both, so clients it notifies read the new version.
+ */
+@Component
+public class CatalogVersion {
+
+    /** Listener order of the caches and views that follow catalog writes. */
+    public static final int VIEW_ORDER = 0;
+
+    private static final int PUBLISH_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong committed = new AtomicLong(1);
+    private final AtomicLong version = new AtomicLong(1);
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void countCatalogChange(CatalogChangeEvent event) {
+        committed.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void countCatalogBatchChange(CatalogBatchChangeEvent event) {
+        committed.incrementAndGet();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void countCatalogReload(CatalogReloadedEvent event) {
+        committed.incrementAndGet();
+    }
+
+    @Order(PUBLISH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(PUBLISH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        version.incrementAndGet();
+    }
+
+    @Order(PUBLISH_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Number of catalog writes committed so far, counted as soon as each commits. Replicas are
+     * compared against this one.
+     */
+    public long committed() {
+        return committed.get();
+    }
+
+    /**
+     * The version the caches and views have caught up with.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Strong entity tag for the given version, including the surrounding quotes.
+     */
+    public String etag(long version) {
+        return etag(version, "");
+    }
+
+    /**
+     * Strong entity tag for one encoding of the given version. Each encoding of a resource
+     * needs its own tag; an empty variant is the JSON representation.
+     */
+    public String etag(long version, String variant) {
+        return "\"" + epoch + "-" + version + (variant.isEmpty() ? "" : "-" + variant) + "\"";
+    }
+}
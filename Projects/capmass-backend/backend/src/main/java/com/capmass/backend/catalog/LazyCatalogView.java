@@ -0,0 +1,46 @@
+package com.capmass.backend.catalog;
+
+import java.util.function.Supplier;
+
+/**
+ * An in-memory view of the catalog that is rebuilt on first use after a write.
+ * <p>
+ * Writes only mark the view stale, so a burst of writes costs one rebuild. Readers never lock
+ * while the view is current; the first reader after a write rebuilds it and the others wait
+ * for that rebuild. The flag is cleared before the rebuild reads the catalog, so writes that
+ * commit during the rebuild mark it stale again. If the rebuild fails, the view stays stale
+ * and the next reader tries again.
+ */
+public final class LazyCatalogView<T> {
+
+    private final Supplier<T> builder;
+
+    private volatile T value;
+    private volatile boolean stale = true;
+
+    public LazyCatalogView(T initial, Supplier<T> builder) {
+        this.value = initial;
+        this.builder = builder;
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    public T get() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    stale = false;
+                    try {
+                        value = builder.get();
+                    } catch (RuntimeException | Error e) {
+                        stale = true;
+                        throw e;
+                    }
+                }
+            }
+        }
+        return value;
+    }
+}
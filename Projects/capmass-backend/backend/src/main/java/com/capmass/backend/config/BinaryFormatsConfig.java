@@ -0,0 +1,36 @@
+package com.capmass.backend.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Compact binary encodings of the JSON responses for clients that ask for them.
+ * <p>
+ * A request with {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile}
+ * gets the same document structure as the JSON response in that encoding. Field names and
+ * numbers are stored in binary and Smile also shares repeated names and short strings, so list
+ * responses get smaller and cheaper to encode and decode. JSON stays the default: these
+ * converters come after the JSON converter and are only chosen when the client asks.
+ * Both use the mapper settings Spring Boot applies to JSON.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,34 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.catalog.CatalogVersion;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the read cache in front of the catalog repositories. Size and TTL come from
+ * {@code spring.cache.caffeine.spec}; entries are dropped explicitly on catalog writes by
+ * {@link CatalogCacheInvalidator}.
+ * <p>
+ * Clearing alone cannot stop a read that started before a write from putting the old rows
+ * back once the cache has been cleared. Keys therefore start with the catalog version read
+ * before the load (the cached methods use {@code sync = true}, which computes the key first),
+ * so such a late entry is only found by readers that still see the old version.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_LOCATIONS = "categoryLocations";
+    public static final String CATALOG_KEY_GENERATOR = "catalogKeyGenerator";
+
+    @Bean(CATALOG_KEY_GENERATOR)
+    public KeyGenerator catalogKeyGenerator(CatalogVersion catalogVersion) {
+        return (target, method, params) ->
+            new SimpleKey(catalogVersion.current(), SimpleKeyGenerator.generateKey(params));
+    }
+}
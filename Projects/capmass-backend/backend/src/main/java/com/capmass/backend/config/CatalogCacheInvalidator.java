@@ -0,0 +1,64 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Clears the catalog read caches once a write has committed. A location write can move a
+ * location between categories, and locations embed their category, so both cases drop
+ * the per-category lists as a whole rather than guessing the affected keys.
+ */
+@Component
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public CatalogCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() == CatalogChangeEvent.EntityType.WALKWAY) {
+            return;
+        }
+        if (event.entityType() == CatalogChangeEvent.EntityType.CATEGORY) {
+            clear(CacheConfig.CATEGORIES);
+        }
+        clear(CacheConfig.CATEGORY_LOCATIONS);
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        boolean categories = event.contains(CatalogChangeEvent.EntityType.CATEGORY);
+        if (categories) {
+            clear(CacheConfig.CATEGORIES);
+        }
+        if (categories || event.contains(CatalogChangeEvent.EntityType.LOCATION)) {
+            clear(CacheConfig.CATEGORY_LOCATIONS);
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        clear(CacheConfig.CATEGORIES);
+        clear(CacheConfig.CATEGORY_LOCATIONS);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
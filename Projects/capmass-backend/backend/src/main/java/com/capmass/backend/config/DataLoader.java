@@ -1,30 +1,104 @@
 package com.capmass.backend.config;
 
+import com.capmass.backend.catalog.CatalogReadiness;
+import com.capmass.backend.catalog.CatalogSeededEvent;
 import com.capmass.backend.entity.Location;
 import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.importer.BulkLocationImporter;
 import com.capmass.backend.repository.LocationCategoryRepository;
 import com.capmass.backend.repository.LocationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.stereotype.Component;
 
+/**
+ * Seeds the catalog at startup, from {@code catalog.import.source} or the built-in sample data,
+ * and then has the in-memory views build themselves ({@link CatalogSeededEvent}).
+ * <p>
+ * With {@code catalog.seed.async} (the default) this runs on a background thread once the
+ * context is up, so the HTTP port opens right away and a large import does not hold up the
+ * rollout. {@link CatalogReadiness} reports the progress and keeps the readiness probe out of
+ * service until the catalog can be queried. Otherwise seeding finishes before the application
+ * reports itself started, and a failure stops the startup.
+ */
 @Component
-public class DataLoader implements CommandLineRunner {
+public class DataLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(DataLoader.class);
 
     private final LocationCategoryRepository categoryRepository;
     private final LocationRepository locationRepository;
+    private final BulkLocationImporter bulkImporter;
+    private final CatalogReadiness readiness;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String importSource;
+    private final boolean async;
 
     public DataLoader(LocationCategoryRepository categoryRepository, 
-                     LocationRepository locationRepository) {
+                     LocationRepository locationRepository,
+                     BulkLocationImporter bulkImporter,
+                     CatalogReadiness readiness,
+                     ApplicationEventPublisher eventPublisher,
+                     @Value("${catalog.import.source:}") String importSource,
+                     @Value("${catalog.seed.async:true}") boolean async) {
         this.categoryRepository = categoryRepository;
         this.locationRepository = locationRepository;
+        this.bulkImporter = bulkImporter;
+        this.readiness = readiness;
+        this.eventPublisher = eventPublisher;
+        this.importSource = importSource;
+        this.async = async;
     }
 
-    @Override
-    public void run(String... args) throws Exception {
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() throws Exception {
+        if (!async) {
+            run();
+            return;
+        }
+        Thread seeding = new Thread(() -> {
+            try {
+                run();
+            } catch (Exception e) {
+                // Already reported as failed; the application keeps running but never becomes ready.
+            }
+        }, "catalog-seed");
+        seeding.setDaemon(true);
+        seeding.start();
+    }
+
+    /**
+     * Seeds the catalog and builds the in-memory views, recording each phase in {@link CatalogReadiness}.
+     */
+    public void run() throws Exception {
+        long started = System.nanoTime();
+        readiness.seeding();
+        try {
+            seed();
+            readiness.progress(locationRepository.count());
+            readiness.indexing();
+            eventPublisher.publishEvent(new CatalogSeededEvent(locationRepository.count()));
+            readiness.ready();
+        } catch (Exception | Error e) {
+            readiness.failed(e);
+            logger.error("Seeding the catalog failed; the application will not report ready", e);
+            throw e;
+        }
+        logger.info("Catalog ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void seed() throws Exception {
+        if (importSource != null && !importSource.isBlank()) {
+            // A configured catalog replaces the built-in sample data
+            bulkImporter.importFrom(new DefaultResourceLoader().getResource(importSource), readiness::progress);
+            return;
+        }
+
         // Create categories
         LocationCategory academic = new LocationCategory(null, "Academic Buildings", "Buildings for classes and lectures");
         LocationCategory dining = new LocationCategory(null, "Dining", "Food and dining facilities");
@@ -0,0 +1,28 @@
+package com.capmass.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Metrics that Spring Boot does not publish on its own.
+ * <p>
+ * Request timers ({@code http.server.requests}), repository timers
+ * ({@code spring.data.repository.invocations}), Hibernate statistics ({@code hibernate.*}) and
+ * connection pool metrics ({@code hikaricp.*}) are auto-configured; this adds JSON
+ * serialization timing so every layer of a request shows up at {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces Spring Boot's default JSON converter, keeping its configured {@link ObjectMapper}.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJackson2HttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
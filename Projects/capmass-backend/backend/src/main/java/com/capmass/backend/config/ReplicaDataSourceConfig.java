@@ -0,0 +1,94 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.datasource.H2ReplicaRefresher;
+import com.capmass.backend.datasource.ReadWriteRoutingDataSource;
+import com.capmass.backend.datasource.ReplicaTarget;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single DataSource with a primary and read replicas when
+ * {@code catalog.replica.enabled} is set.
+ * <p>
+ * Read-only transactions (every repository read) go to a replica that has caught up with the
+ * catalog, everything else to the primary; see {@link ReadWriteRoutingDataSource}. Each
+ * database has its own Hikari pool, published as {@code hikaricp.*} meters tagged with the pool
+ * name. The replicas are H2 databases kept in step by {@link H2ReplicaRefresher}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaPools replicaPools(DataSourceProperties properties, CatalogVersion catalogVersion,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${catalog.replica.urls}") List<String> replicaUrls) {
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("catalog.replica.enabled is set but catalog.replica.urls lists no replica");
+        }
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary", meterRegistry);
+        List<ReplicaTarget> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            String name = "replica-" + (replicas.size() + 1);
+            ReplicaTarget replica = new ReplicaTarget(name, pool(properties, url, name, meterRegistry));
+            Gauge.builder("catalog.replica.lag",
+                    replica, target -> target.lagSeconds(catalogVersion.committed(), System.currentTimeMillis()))
+                .description("Upper bound on how far the replica is behind the primary")
+                .baseUnit("seconds")
+                .tag("replica", name)
+                .register(meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaPools(primary, replicas);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPools pools, CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(pools.primary(), pools.replicas(), catalogVersion, meterRegistry));
+    }
+
+    @Bean
+    public H2ReplicaRefresher replicaRefresher(ReplicaPools pools, CatalogVersion catalogVersion,
+                                               @Value("${catalog.replica.refresh-interval-ms:1000}") long intervalMillis) {
+        return new H2ReplicaRefresher(pools.primary(), pools.replicas(), catalogVersion, intervalMillis);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String name,
+                                         MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .build();
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    /**
+     * The connection pools behind the routing DataSource, closed with the context.
+     */
+    public record ReplicaPools(HikariDataSource primary, List<ReplicaTarget> replicas) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            for (ReplicaTarget replica : replicas) {
+                ((HikariDataSource) replica.dataSource()).close();
+            }
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.datasource.IndexAdvisor;
+import com.capmass.backend.datasource.ProfilingDataSource;
+import com.capmass.backend.datasource.SqlQueriesEndpoint;
+import com.capmass.backend.datasource.StatementProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Times every SQL statement the application runs, in place of {@code spring.jpa.show-sql}.
+ * <p>
+ * Each DataSource bean is wrapped in a {@link ProfilingDataSource}; the statistics, slow
+ * statement log and index suggestions are served at {@code /actuator/sqlqueries}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.sql.profiling.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingConfig {
+
+    @Bean
+    public StatementProfiler statementProfiler(MeterRegistry meterRegistry,
+                                               @Value("${catalog.sql.slow-threshold-ms:100}") long slowThresholdMillis,
+                                               @Value("${catalog.sql.window-minutes:10}") long windowMinutes,
+                                               @Value("${catalog.sql.max-queries:1000}") int maxQueries) {
+        return new StatementProfiler(meterRegistry, slowThresholdMillis, windowMinutes * 60_000, maxQueries);
+    }
+
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(ObjectProvider<StatementProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlQueriesEndpoint sqlQueriesEndpoint(StatementProfiler profiler, DataSource dataSource) {
+        return new SqlQueriesEndpoint(profiler, new IndexAdvisor(dataSource));
+    }
+}
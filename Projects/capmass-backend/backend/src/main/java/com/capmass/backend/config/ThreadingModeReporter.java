@@ -0,0 +1,37 @@
+package com.capmass.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs whether requests and async work run on virtual or platform threads.
+ * <p>
+ * Virtual threads are switched on with {@code spring.threads.virtual.enabled=true} (the
+ * {@code virtual-threads} profile). Spring Boot silently ignores the property before Java 21,
+ * so that case is reported as a warning rather than left to benchmark numbers to reveal.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    static final String VIRTUAL_THREADS_PROPERTY = "spring.threads.virtual.enabled";
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("Request handling and async tasks run on virtual threads");
+        } else if (environment.getProperty(VIRTUAL_THREADS_PROPERTY, Boolean.class, false)) {
+            logger.warn("{} is set but Java {} has no virtual threads; using platform threads",
+                VIRTUAL_THREADS_PROPERTY, Runtime.version().feature());
+        } else {
+            logger.info("Request handling and async tasks run on platform threads");
+        }
+    }
+}
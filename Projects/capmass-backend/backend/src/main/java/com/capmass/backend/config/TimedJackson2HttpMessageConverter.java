@@ -0,0 +1,62 @@
+package com.capmass.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * JSON converter that records how long writing each response body takes, so serialization
+ * time can be told apart from the database and Hibernate time inside a request.
+ * <p>
+ * Published as the {@value #METRIC} timer, tagged with the declared body type
+ * (e.g. {@code List<Location>}).
+ */
+public class TimedJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String METRIC = "catalog.json.write";
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJackson2HttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            super.writeInternal(object, type, outputMessage);
+            outcome = "success";
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                .description("Time spent serializing response bodies to JSON")
+                .tag("type", typeName(type != null ? type : object.getClass()))
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    static String typeName(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz.getSimpleName();
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return typeName(parameterized.getRawType()) + Arrays.stream(parameterized.getActualTypeArguments())
+                .map(TimedJackson2HttpMessageConverter::typeName)
+                .collect(Collectors.joining(",", "<", ">"));
+        }
+        return type.getTypeName();
+    }
+}
@@ -0,0 +1,42 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.dto.BatchResult;
+import com.capmass.backend.dto.LocationUpsert;
+import com.capmass.backend.importer.LocationBatchWriter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Bulk writes to the catalog. Only registered when {@code catalog.write-api.enabled} is set, and
+ * only callable cross-origin from {@code catalog.write-api.allowed-origins} (none by default).
+ */
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "catalog.write-api.enabled", havingValue = "true")
+@CrossOrigin(origins = "${catalog.write-api.allowed-origins:}")
+public class LocationBatchController {
+
+    static final int MAX_BATCH_SIZE = 10_000;
+
+    private final LocationBatchWriter batchWriter;
+
+    public LocationBatchController(LocationBatchWriter batchWriter) {
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * Creates locations without an id and replaces those with one, up to
+     * {@value #MAX_BATCH_SIZE} per call. Invalid items are rejected individually; the result
+     * lists the outcome of every item in request order.
+     */
+    @PostMapping("/locations:batch")
+    public ResponseEntity<BatchResult> upsertLocations(@RequestBody List<LocationUpsert> items) {
+        if (items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(batchWriter.upsert(items));
+    }
+}
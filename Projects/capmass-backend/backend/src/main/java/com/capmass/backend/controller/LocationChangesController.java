@@ -0,0 +1,58 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.catalog.CatalogChangeBroadcaster;
+import com.capmass.backend.catalog.CatalogChangeLog;
+import com.capmass.backend.dto.CatalogChanges;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/locations")
+@CrossOrigin(origins = "*", exposedHeaders = LocationChangesController.SEQUENCE_HEADER)
+public class LocationChangesController {
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 5000;
+    static final String SEQUENCE_HEADER = "X-Catalog-Sequence";
+
+    private final CatalogChangeLog changeLog;
+    private final CatalogChangeBroadcaster changeBroadcaster;
+
+    public LocationChangesController(CatalogChangeLog changeLog, CatalogChangeBroadcaster changeBroadcaster) {
+        this.changeLog = changeLog;
+        this.changeBroadcaster = changeBroadcaster;
+    }
+
+    /**
+     * Returns location and category changes committed after the cursor {@code since}. When the
+     * log no longer reaches back that far, or the cursor is from before a restart, the answer is
+     * {@code 410 Gone} with the current cursor in {@code X-Catalog-Sequence}: the client downloads
+     * the catalog again and syncs from there.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogChanges> getChanges(@RequestParam String since,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        // Read before the client reloads the catalog, so changes made meanwhile are replayed, not lost.
+        String head = changeLog.head();
+        return changeLog.changesSince(since, limit)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                .header(SEQUENCE_HEADER, head)
+                .build());
+    }
+
+    /**
+     * Streams the same changes as Server-Sent Events ({@code change}, or {@code resync} when the
+     * client has to download the catalog again). Browsers resume with {@code Last-Event-ID}.
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return changeBroadcaster.subscribe(lastEventId);
+    }
+}
@@ -4,16 +4,22 @@ import com.capmass.backend.entity.Location;
 import com.capmass.backend.entity.LocationCategory;
 import com.capmass.backend.repository.LocationCategoryRepository;
 import com.capmass.backend.repository.LocationRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin(origins = "*")
 public class LocationController {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LocationRepository locationRepository;
     private final LocationCategoryRepository categoryRepository;
 
@@ -23,21 +29,61 @@ public class LocationController {
         this.categoryRepository = categoryRepository;
     }
 
+    /**
+     * Returns one page of locations ordered by id. The next page starts after the id given in
+     * the {@code X-Next-Cursor} header (also advertised as a {@code Link: rel="next"}).
+     */
     @GetMapping("/locations")
-    public ResponseEntity<List<Location>> getAllLocations() {
-        List<Location> locations = locationRepository.findAll();
-        return ResponseEntity.ok(locations);
+    @CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.LINK, NEXT_CURSOR_HEADER})
+    public ResponseEntity<List<Location>> getAllLocations(@RequestParam(required = false) Long cursor,
+                                                          @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Location> locations = locationRepository.findByIdGreaterThanOrderByIdAsc(
+            afterId(cursor), Limit.of(pageSize + 1));
+        return page(locations, pageSize, "/api/locations");
     }
 
     @GetMapping("/locations/category/{categoryId}")
-    public ResponseEntity<List<Location>> getLocationsByCategory(@PathVariable Long categoryId) {
-        List<Location> locations = locationRepository.findByCategoryId(categoryId);
-        return ResponseEntity.ok(locations);
+    @CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.LINK, NEXT_CURSOR_HEADER})
+    public ResponseEntity<List<Location>> getLocationsByCategory(@PathVariable Long categoryId,
+                                                                 @RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(required = false) Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Location> locations = locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(
+            categoryId, afterId(cursor), Limit.of(pageSize + 1));
+        return page(locations, pageSize, "/api/locations/category/" + categoryId);
     }
 
     @GetMapping("/categories")
+    @CrossOrigin(origins = "*")
     public ResponseEntity<List<LocationCategory>> getAllCategories() {
         List<LocationCategory> categories = categoryRepository.findAll();
         return ResponseEntity.ok(categories);
     }
+
+    private static long afterId(Long cursor) {
+        return cursor == null ? Long.MIN_VALUE : cursor;
+    }
+
+    /**
+     * Trims the extra look-ahead row fetched by the caller and, if it was present,
+     * advertises the cursor of the next page.
+     */
+    private static ResponseEntity<List<Location>> page(List<Location> rows, int pageSize, String path) {
+        if (rows.size() <= pageSize) {
+            return ResponseEntity.ok(rows);
+        }
+        List<Location> page = new ArrayList<>(rows.subList(0, pageSize));
+        Long nextCursor = page.get(pageSize - 1).getId();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.LINK, "<" + path + "?cursor=" + nextCursor + "&limit=" + pageSize + ">; rel=\"next\"")
+            .header(NEXT_CURSOR_HEADER, nextCursor.toString())
+            .body(page);
+    }
 }
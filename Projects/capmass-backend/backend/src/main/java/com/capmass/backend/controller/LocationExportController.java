@@ -0,0 +1,36 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.export.LocationExporter;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/locations")
+@CrossOrigin(origins = "*")
+public class LocationExportController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType GEO_JSON = MediaType.parseMediaType("application/geo+json");
+
+    private final LocationExporter locationExporter;
+
+    public LocationExportController(LocationExporter locationExporter) {
+        this.locationExporter = locationExporter;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLocations(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(locationExporter::writeNdjson);
+            case "geojson" -> ResponseEntity.ok()
+                .contentType(GEO_JSON)
+                .body(locationExporter::writeGeoJson);
+            default -> ResponseEntity.badRequest().build();
+        };
+    }
+}
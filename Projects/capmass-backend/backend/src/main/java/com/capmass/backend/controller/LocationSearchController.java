@@ -0,0 +1,177 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.dto.NearbyLocation;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.geo.LocationColumns;
+import com.capmass.backend.geo.LocationSnapshot;
+import com.capmass.backend.geo.LocationSpatialIndex;
+import com.capmass.backend.geo.LocationTileCache;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.search.LocationSuggestIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/locations")
+@CrossOrigin(origins = "*", exposedHeaders = LocationSearchController.TRUNCATED_HEADER)
+public class LocationSearchController {
+
+    static final int MAX_NEARBY_RESULTS = 100;
+    static final int MAX_WITHIN_RESULTS = 2000;
+    static final int MAX_SUGGEST_RESULTS = 50;
+    static final int MAX_SUGGEST_QUERY_LENGTH = 100;
+    static final String TRUNCATED_HEADER = "X-Results-Truncated";
+
+    private final LocationSpatialIndex spatialIndex;
+    private final LocationTileCache tileCache;
+    private final LocationSuggestIndex suggestIndex;
+    private final LocationSnapshot snapshot;
+    private final LocationRepository locationRepository;
+
+    public LocationSearchController(LocationSpatialIndex spatialIndex,
+                                    LocationTileCache tileCache,
+                                    LocationSuggestIndex suggestIndex,
+                                    LocationSnapshot snapshot,
+                                    LocationRepository locationRepository) {
+        this.spatialIndex = spatialIndex;
+        this.tileCache = tileCache;
+        this.suggestIndex = suggestIndex;
+        this.snapshot = snapshot;
+        this.locationRepository = locationRepository;
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyLocation>> getNearbyLocations(@RequestParam double lat,
+                                                                   @RequestParam double lon,
+                                                                   @RequestParam(defaultValue = "10") int k,
+                                                                   @RequestParam(required = false) Double radius,
+                                                                   @RequestParam(required = false) Long categoryId) {
+        if (!GeoMath.isValidLatitude(lat) || !GeoMath.isValidLongitude(lon)
+                || k < 1 || k > MAX_NEARBY_RESULTS || (radius != null && !(radius > 0))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        double radiusMeters = radius == null ? Double.POSITIVE_INFINITY : radius;
+        List<LocationSpatialIndex.Neighbor> neighbors;
+        if (categoryId == null) {
+            neighbors = spatialIndex.nearest(lat, lon, k, radiusMeters);
+        } else {
+            LocationColumns columns = snapshot.current();
+            int category = columns.categoryOrdinal(categoryId);
+            neighbors = category < 0 ? List.of() : columns.nearest(lat, lon, k, radiusMeters, category);
+        }
+        if (neighbors.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        // Only the k matching rows are read from the database.
+        Map<Long, Location> locationsById = locationRepository
+            .findAllById(neighbors.stream().map(LocationSpatialIndex.Neighbor::id).toList())
+            .stream()
+            .collect(Collectors.toMap(Location::getId, Function.identity()));
+
+        List<NearbyLocation> result = new ArrayList<>(neighbors.size());
+        for (LocationSpatialIndex.Neighbor neighbor : neighbors) {
+            Location location = locationsById.get(neighbor.id());
+            if (location != null) {
+                result.add(new NearbyLocation(location, neighbor.distanceMeters()));
+            }
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<List<Location>> getLocationsWithin(@RequestParam double minLat,
+                                                             @RequestParam double minLon,
+                                                             @RequestParam double maxLat,
+                                                             @RequestParam double maxLon,
+                                                             @RequestParam(defaultValue = "500") int limit,
+                                                             @RequestParam(required = false) Long categoryId) {
+        if (!GeoMath.isValidLatitude(minLat) || !GeoMath.isValidLatitude(maxLat)
+                || !GeoMath.isValidLongitude(minLon) || !GeoMath.isValidLongitude(maxLon)
+                || minLat > maxLat || minLon > maxLon || limit < 1 || limit > MAX_WITHIN_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (categoryId != null) {
+            return getCategoryLocationsWithin(minLat, minLon, maxLat, maxLon, limit, categoryId);
+        }
+
+        Map<Long, Location> result = new LinkedHashMap<>();
+        boolean truncated = false;
+        tiles:
+        for (String geohash : tileCache.coveringTiles(minLat, minLon, maxLat, maxLon)) {
+            LocationTileCache.Tile tile = tileCache.getTile(geohash);
+            truncated |= tile.truncated();
+            for (Location location : tile.locations()) {
+                if (location.getLatitude() < minLat || location.getLatitude() > maxLat
+                        || location.getLongitude() < minLon || location.getLongitude() > maxLon) {
+                    continue;
+                }
+                if (result.size() == limit && !result.containsKey(location.getId())) {
+                    // The remaining tiles cannot change the answer, so they are not loaded.
+                    truncated = true;
+                    break tiles;
+                }
+                result.putIfAbsent(location.getId(), location);
+            }
+        }
+        return ResponseEntity.ok()
+            .header(TRUNCATED_HEADER, Boolean.toString(truncated))
+            .body(new ArrayList<>(result.values()));
+    }
+
+    /**
+     * Tiles hold every category, so filtered viewports are answered from the columnar
+     * snapshot instead; only the matching rows are then loaded.
+     */
+    private ResponseEntity<List<Location>> getCategoryLocationsWithin(double minLat, double minLon,
+                                                                      double maxLat, double maxLon,
+                                                                      int limit, long categoryId) {
+        LocationColumns columns = snapshot.current();
+        int category = columns.categoryOrdinal(categoryId);
+        long[] ids = new long[limit];
+        int count = category < 0 ? 0 : columns.within(minLat, minLon, maxLat, maxLon, category, ids);
+        boolean truncated = count > limit;
+        List<Location> result = count == 0 ? List.of() : locationRepository
+            .findAllById(Arrays.stream(ids, 0, Math.min(count, limit)).boxed().toList())
+            .stream()
+            .sorted((a, b) -> Long.compare(a.getId(), b.getId()))
+            .toList();
+        return ResponseEntity.ok()
+            .header(TRUNCATED_HEADER, Boolean.toString(truncated))
+            .body(result);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Location>> suggestLocations(@RequestParam String q,
+                                                           @RequestParam(defaultValue = "10") int limit) {
+        if (q.length() > MAX_SUGGEST_QUERY_LENGTH || limit < 1 || limit > MAX_SUGGEST_RESULTS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<Long> ids = suggestIndex.suggest(q, limit);
+        if (ids.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+
+        Map<Long, Location> locationsById = locationRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Location::getId, Function.identity()));
+        List<Location> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Location location = locationsById.get(id);
+            if (location != null) {
+                result.add(location);
+            }
+        }
+        return ResponseEntity.ok(result);
+    }
+}
@@ -0,0 +1,104 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.dto.Itinerary;
+import com.capmass.backend.dto.WalkingRoute;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.routing.ItineraryPlan;
+import com.capmass.backend.routing.RoutePlan;
+import com.capmass.backend.routing.WalkingRoutePlanner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/routes")
+@CrossOrigin(origins = "*")
+public class RouteController {
+
+    static final int MAX_ITINERARY_STOPS = 50;
+
+    private final WalkingRoutePlanner routePlanner;
+    private final LocationRepository locationRepository;
+    private final double walkingSpeedMetersPerSecond;
+    private final Duration itineraryTimeBudget;
+
+    public RouteController(WalkingRoutePlanner routePlanner,
+                           LocationRepository locationRepository,
+                           @Value("${routing.walking-speed-mps:1.4}") double walkingSpeedMetersPerSecond,
+                           @Value("${routing.itinerary.time-budget-ms:150}") long itineraryTimeBudgetMillis) {
+        this.routePlanner = routePlanner;
+        this.locationRepository = locationRepository;
+        this.walkingSpeedMetersPerSecond = walkingSpeedMetersPerSecond;
+        this.itineraryTimeBudget = Duration.ofMillis(itineraryTimeBudgetMillis);
+    }
+
+    @GetMapping
+    public ResponseEntity<WalkingRoute> getRoute(@RequestParam long from, @RequestParam long to) {
+        Optional<RoutePlan> plan = routePlanner.plan(from, to);
+        if (plan.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Location> path = loadInOrder(plan.get().locationIds());
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+        double distance = plan.get().distanceMeters();
+        return ResponseEntity.ok(new WalkingRoute(distance, walkingSeconds(distance), path));
+    }
+
+    @GetMapping("/itinerary")
+    public ResponseEntity<Itinerary> getItinerary(@RequestParam List<Long> stops,
+                                                  @RequestParam(defaultValue = "false") boolean roundTrip) {
+        long[] stopIds = stops.stream().distinct().mapToLong(Long::longValue).toArray();
+        if (stopIds.length == 0 || stopIds.length > MAX_ITINERARY_STOPS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<ItineraryPlan> plan = routePlanner.planItinerary(stopIds, roundTrip, itineraryTimeBudget);
+        if (plan.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        List<Location> orderedStops = loadInOrder(plan.get().stopIds());
+        if (orderedStops == null) {
+            return ResponseEntity.notFound().build();
+        }
+        double distance = plan.get().distanceMeters();
+        return ResponseEntity.ok(new Itinerary(distance, walkingSeconds(distance), orderedStops));
+    }
+
+    private long walkingSeconds(double distanceMeters) {
+        return Math.round(distanceMeters / walkingSpeedMetersPerSecond);
+    }
+
+    /**
+     * Loads the locations in the given order with one query, or returns null when one was
+     * deleted after the graph was built (the next request plans on a fresh graph).
+     */
+    private List<Location> loadInOrder(long[] locationIds) {
+        Map<Long, Location> locationsById = locationRepository
+            .findAllById(Arrays.stream(locationIds).boxed().toList())
+            .stream()
+            .collect(Collectors.toMap(Location::getId, Function.identity()));
+        List<Location> result = new ArrayList<>(locationIds.length);
+        for (long id : locationIds) {
+            Location location = locationsById.get(id);
+            if (location == null) {
+                return null;
+            }
+            result.add(location);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,185 @@
+package com.capmass.backend.datasource;
+
+import com.capmass.backend.catalog.CatalogVersion;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stands in for database replication when the replicas are local H2 databases: copies the
+ * primary into each replica on a fixed interval, and only when the catalog changed.
+ * <p>
+ * The schema is copied once with {@code SCRIPT NODATA}. Each refresh then replaces all rows in
+ * one replica transaction, so readers on the replica keep seeing the previous copy until it
+ * commits. The count of committed catalog writes ({@link CatalogVersion#committed()}) is read
+ * before copying, so the count recorded for a replica never claims more than it holds.
+ */
+public class H2ReplicaRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2ReplicaRefresher.class);
+
+    private static final int INSERT_BATCH_SIZE = 1000;
+
+    private final DataSource primary;
+    private final List<ReplicaTarget> replicas;
+    private final CatalogVersion catalogVersion;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "replica-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private boolean schemaCopied;
+
+    public H2ReplicaRefresher(DataSource primary, List<ReplicaTarget> replicas, CatalogVersion catalogVersion,
+                              long intervalMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.catalogVersion = catalogVersion;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Copies the seeded catalog right away, then keeps the replicas following the primary.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        refresh();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                logger.warn("Replica refresh failed, reads stay on the primary until the next one", e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public synchronized void refresh() {
+        long version = catalogVersion.committed();
+        if (replicas.stream().allMatch(replica -> replica.isCurrent(version))) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            if (!schemaCopied) {
+                List<String> schema = query(primary, "SCRIPT NODATA NOPASSWORDS NOSETTINGS");
+                for (ReplicaTarget replica : replicas) {
+                    execute(replica.dataSource(), schema);
+                }
+                schemaCopied = true;
+            }
+            List<String> tables = query(primary,
+                "select table_name from information_schema.tables"
+                    + " where table_schema = 'PUBLIC' and table_type = 'BASE TABLE'");
+            for (ReplicaTarget replica : replicas) {
+                copy(tables, replica.dataSource());
+                replica.markRefreshed(version, started);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not refresh the replicas", e);
+        }
+        logger.debug("Replicas refreshed to catalog version {} in {} ms", version, System.currentTimeMillis() - started);
+    }
+
+    private void copy(List<String> tables, DataSource replica) throws SQLException {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            // One snapshot of the primary for all tables: H2's REPEATABLE READ snapshots each table on
+            // first read, SERIALIZABLE the whole database. The pool resets the connection afterwards.
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+            try (Statement statement = target.createStatement()) {
+                // Rows are replaced table by table; the copy is consistent again once it commits.
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            }
+            target.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    copyTable(source, target, "\"PUBLIC\".\"" + table + "\"");
+                }
+                target.commit();
+            } catch (SQLException | RuntimeException e) {
+                target.rollback();
+                throw e;
+            } finally {
+                source.rollback();
+                target.setAutoCommit(true);
+                try (Statement statement = target.createStatement()) {
+                    statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                }
+            }
+        }
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("delete from " + table);
+        }
+        try (Statement select = source.createStatement(); ResultSet rows = select.executeQuery("select * from " + table)) {
+            ResultSetMetaData columns = rows.getMetaData();
+            StringBuilder names = new StringBuilder();
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 1; i <= columns.getColumnCount(); i++) {
+                names.append(i == 1 ? "" : ", ").append('"').append(columns.getColumnName(i)).append('"');
+                placeholders.append(i == 1 ? "?" : ", ?");
+            }
+            try (PreparedStatement insert = target.prepareStatement(
+                    "insert into " + table + " (" + names + ") values (" + placeholders + ")")) {
+                int pending = 0;
+                while (rows.next()) {
+                    for (int i = 1; i <= columns.getColumnCount(); i++) {
+                        insert.setObject(i, rows.getObject(i));
+                    }
+                    insert.addBatch();
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+    }
+
+    private static List<String> query(DataSource dataSource, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            while (rows.next()) {
+                values.add(rows.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static void execute(DataSource dataSource, List<String> statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.capmass.backend.datasource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds profiled queries that have to scan a whole table because no index starts with a column
+ * they filter on, and suggests the index that would serve them.
+ * <p>
+ * Tables and aliases come from the {@code FROM}, {@code JOIN} and {@code UPDATE} clauses and
+ * the filters from plain column comparisons in the {@code WHERE} clause, which is the shape of
+ * the SQL Hibernate generates. Columns wrapped in functions are ignored, as no plain index can
+ * serve them. When a query compares columns for equality, only those count: a range on the
+ * primary key next to {@code category_id = ?} (keyset paging) still reads most of the table.
+ * Indexes are read from the JDBC metadata, so primary keys and the indexes H2 creates for
+ * foreign keys count. The suggested index lists the equality columns, then the first range column.
+ */
+public class IndexAdvisor {
+
+    private static final Pattern TABLE = Pattern.compile(
+        "(?i)\\b(?:from|join|update)\\s+([a-z_][\\w.]*)(?:\\s+(?:as\\s+)?([a-z_]\\w*))?");
+    private static final Pattern WHERE = Pattern.compile(
+        "(?i)\\bwhere\\b(.*?)(?:\\border\\s+by\\b|\\bgroup\\s+by\\b|\\bfetch\\b|\\blimit\\b|\\boffset\\b|\\bfor\\s+update\\b|$)");
+    private static final Pattern PREDICATE = Pattern.compile(
+        "(?i)(?<![\\w.])(?<!\\w\\()(?:([a-z_]\\w*)\\.)?([a-z_]\\w*)\\s*(=|<>|!=|<=|>=|<|>|\\bbetween\\b|\\bin\\b|\\blike\\b)");
+    private static final Set<String> KEYWORDS = Set.of("where", "join", "left", "right", "inner", "outer", "cross",
+        "full", "on", "set", "order", "group", "fetch", "limit", "offset", "union", "for", "and", "or", "not");
+    private static final int EXAMPLE_QUERIES = 3;
+
+    /**
+     * A missing index and the profiled queries that would use it.
+     */
+    public record IndexAdvice(String table, List<String> columns, String statement, long calls, List<String> queries) {
+    }
+
+    /**
+     * The columns a query filters one table on.
+     */
+    record Filter(List<String> equality, List<String> range) {
+
+        /**
+         * Columns an index must start with to serve the filter.
+         */
+        List<String> selective() {
+            return equality.isEmpty() ? range : equality;
+        }
+
+        /**
+         * Columns of the suggested index: the equality columns, then the first range column.
+         */
+        List<String> indexColumns() {
+            List<String> columns = new ArrayList<>(equality);
+            range.stream().filter(column -> !columns.contains(column)).findFirst().ifPresent(columns::add);
+            return columns;
+        }
+    }
+
+    private final DataSource dataSource;
+
+    public IndexAdvisor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Suggestions for the given queries, most called first.
+     */
+    public List<IndexAdvice> advise(List<StatementProfiler.QueryStat> queries) throws SQLException {
+        Map<String, Optional<Set<String>>> indexedByTable = new HashMap<>();
+        Map<String, IndexAdvice> advice = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (StatementProfiler.QueryStat query : queries) {
+                for (Map.Entry<String, Filter> filter : filters(query.sql()).entrySet()) {
+                    String table = filter.getKey();
+                    Optional<Set<String>> indexed = indexedByTable.get(table);
+                    if (indexed == null) {
+                        indexed = leadingIndexColumns(metaData, table);
+                        indexedByTable.put(table, indexed);
+                    }
+                    if (indexed.isEmpty() || filter.getValue().selective().stream().anyMatch(indexed.get()::contains)) {
+                        continue;
+                    }
+                    List<String> columns = filter.getValue().indexColumns();
+                    String statement = "create index idx_" + table.replace('.', '_') + "_" + String.join("_", columns)
+                        + " on " + table + " (" + String.join(", ", columns) + ")";
+                    advice.merge(statement, new IndexAdvice(table, columns, statement, query.calls(), List.of(query.sql())),
+                        (existing, added) -> new IndexAdvice(table, columns, statement, existing.calls() + added.calls(),
+                            existing.queries().size() < EXAMPLE_QUERIES
+                                ? concat(existing.queries(), added.queries()) : existing.queries()));
+                }
+            }
+        }
+        return advice.values().stream()
+            .sorted(Comparator.comparingLong(IndexAdvice::calls).reversed())
+            .toList();
+    }
+
+    /**
+     * The filters of each table the query reads or updates. Names are lower case.
+     */
+    static Map<String, Filter> filters(String sql) {
+        Map<String, String> tablesByAlias = new HashMap<>();
+        Set<String> tables = new LinkedHashSet<>();
+        Matcher tableMatcher = TABLE.matcher(sql);
+        while (tableMatcher.find()) {
+            String table = tableMatcher.group(1).toLowerCase(Locale.ROOT);
+            tables.add(table);
+            tablesByAlias.put(table, table);
+            String alias = tableMatcher.group(2);
+            if (alias != null && !KEYWORDS.contains(alias.toLowerCase(Locale.ROOT))) {
+                tablesByAlias.put(alias.toLowerCase(Locale.ROOT), table);
+            }
+        }
+
+        Map<String, Set<String>> equality = new LinkedHashMap<>();
+        Map<String, Set<String>> range = new LinkedHashMap<>();
+        Matcher where = WHERE.matcher(sql);
+        while (where.find()) {
+            Matcher predicate = PREDICATE.matcher(where.group(1));
+            while (predicate.find()) {
+                String qualifier = predicate.group(1);
+                String column = predicate.group(2).toLowerCase(Locale.ROOT);
+                if (KEYWORDS.contains(column)) {
+                    continue;
+                }
+                String table = qualifier != null ? tablesByAlias.get(qualifier.toLowerCase(Locale.ROOT))
+                    : tables.size() == 1 ? tables.iterator().next() : null;
+                if (table == null) {
+                    continue;
+                }
+                String operator = predicate.group(3).toLowerCase(Locale.ROOT);
+                boolean isEquality = operator.equals("=") || operator.equals("in");
+                (isEquality ? equality : range).computeIfAbsent(table, key -> new LinkedHashSet<>()).add(column);
+            }
+        }
+
+        Map<String, Filter> filters = new LinkedHashMap<>();
+        for (String table : tables) {
+            if (equality.containsKey(table) || range.containsKey(table)) {
+                filters.put(table, new Filter(List.copyOf(equality.getOrDefault(table, Set.of())),
+                    List.copyOf(range.getOrDefault(table, Set.of()))));
+            }
+        }
+        return filters;
+    }
+
+    /**
+     * First columns of the table's indexes in lower case, or empty when the table is unknown.
+     */
+    private static Optional<Set<String>> leadingIndexColumns(DatabaseMetaData metaData, String table)
+            throws SQLException {
+        int dot = table.lastIndexOf('.');
+        String schema = dot < 0 ? null : identifier(metaData, table.substring(0, dot));
+        String name = identifier(metaData, table.substring(dot + 1));
+        try (ResultSet tables = metaData.getTables(null, schema, name, null)) {
+            if (!tables.next()) {
+                return Optional.empty();
+            }
+        }
+        Set<String> columns = new HashSet<>();
+        try (ResultSet indexes = metaData.getIndexInfo(null, schema, name, false, true)) {
+            while (indexes.next()) {
+                String column = indexes.getString("COLUMN_NAME");
+                if (indexes.getShort("ORDINAL_POSITION") == 1 && column != null) {
+                    columns.add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return Optional.of(columns);
+    }
+
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase(Locale.ROOT);
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> joined = new ArrayList<>(first);
+        joined.addAll(second);
+        return joined;
+    }
+}
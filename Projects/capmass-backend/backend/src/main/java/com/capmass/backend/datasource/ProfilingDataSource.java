@@ -0,0 +1,110 @@
+package com.capmass.backend.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through the wrapped DataSource and hands it to the
+ * {@link StatementProfiler}.
+ * <p>
+ * Connections and statements are JDK proxies; everything except the {@code execute*} calls
+ * passes straight through. The time covers the execution, not reading the result set
+ * afterwards. {@code unwrap} reaches the pool underneath, so pool metrics keep working.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final StatementProfiler profiler;
+
+    public ProfilingDataSource(DataSource target, StatementProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    private Connection profiled(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingDataSource.invoke(connection, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                // prepareStatement and prepareCall carry the SQL; plain statements get it per execute call.
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(ProfilingDataSource.class.getClassLoader(),
+                    new Class<?>[] {method.getReturnType()}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private String batchSql;
+
+        private StatementHandler(Statement statement, String preparedSql) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            String argumentSql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            if (name.equals("addBatch") && argumentSql != null && batchSql == null) {
+                batchSql = argumentSql;
+            }
+            if (!name.startsWith("execute")) {
+                return ProfilingDataSource.invoke(statement, method, args);
+            }
+            String sql = argumentSql != null ? argumentSql : preparedSql != null ? preparedSql : batchSql;
+            long started = System.nanoTime();
+            try {
+                return ProfilingDataSource.invoke(statement, method, args);
+            } finally {
+                if (sql != null) {
+                    profiler.record(sql, System.nanoTime() - started);
+                }
+                if (name.endsWith("Batch")) {
+                    batchSql = null;
+                }
+            }
+        }
+    }
+}
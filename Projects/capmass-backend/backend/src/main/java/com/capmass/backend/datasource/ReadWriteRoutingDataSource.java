@@ -0,0 +1,82 @@
+package com.capmass.backend.datasource;
+
+import com.capmass.backend.catalog.CatalogVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * A replica is only used while it holds every committed catalog write. Otherwise the read falls
+ * back to the primary, so caches and in-memory views filled by the read never go back in time.
+ * Current replicas take turns. Must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only known once the first statement runs, not when it begins.
+ * Routing decisions are counted as {@code catalog.datasource.routes}, by target and reason.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<ReplicaTarget> replicas;
+    private final CatalogVersion catalogVersion;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbacks;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<ReplicaTarget> replicas,
+                                      CatalogVersion catalogVersion, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.catalogVersion = catalogVersion;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaTarget replica : replicas) {
+            targets.put(replica.name(), replica.dataSource());
+            replicaReads.put(replica.name(), routes(meterRegistry, replica.name(), "read"));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.writes = routes(meterRegistry, PRIMARY, "write");
+        this.fallbacks = routes(meterRegistry, PRIMARY, "replica-behind");
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        long version = catalogVersion.committed();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaTarget replica = replicas.get((start + i) % replicas.size());
+            if (replica.isCurrent(version)) {
+                replicaReads.get(replica.name()).increment();
+                return replica.name();
+            }
+        }
+        fallbacks.increment();
+        return PRIMARY;
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("catalog.datasource.routes")
+            .description("Connections handed out, by target database and routing reason")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.capmass.backend.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica and how far it has caught up with the primary, measured in committed catalog
+ * writes ({@link com.capmass.backend.catalog.CatalogVersion#committed()}).
+ */
+public final class ReplicaTarget {
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile long appliedVersion = -1;
+    private volatile long refreshedAtMillis;
+
+    public ReplicaTarget(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Whether the replica holds every catalog write up to and including the given version.
+     */
+    public boolean isCurrent(long catalogVersion) {
+        return appliedVersion >= catalogVersion;
+    }
+
+    /**
+     * Upper bound on how old the replica's data is: zero while it is current, otherwise the
+     * time since the copy it holds was started. Infinite before the first copy.
+     */
+    public double lagSeconds(long catalogVersion, long nowMillis) {
+        if (appliedVersion < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return isCurrent(catalogVersion) ? 0 : (nowMillis - refreshedAtMillis) / 1000.0;
+    }
+
+    /**
+     * Records a copy of the primary that was started when the catalog was at {@code version}.
+     */
+    public void markRefreshed(long version, long startedAtMillis) {
+        refreshedAtMillis = startedAtMillis;
+        appliedVersion = version;
+    }
+}
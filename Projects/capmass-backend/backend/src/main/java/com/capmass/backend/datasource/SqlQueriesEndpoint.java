@@ -0,0 +1,60 @@
+package com.capmass.backend.datasource;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * {@code /actuator/sqlqueries}: the slowest normalized queries of the recent window with their
+ * call counts, and the indexes missing for the ones that scan whole tables. A DELETE starts a
+ * new window.
+ */
+@Endpoint(id = "sqlqueries")
+public class SqlQueriesEndpoint {
+
+    static final int DEFAULT_LIMIT = 20;
+
+    public record SqlQueryReport(long sinceMillis, long untracked, List<StatementProfiler.QueryStat> slowest,
+                                 List<IndexAdvisor.IndexAdvice> indexAdvice) {
+    }
+
+    private final StatementProfiler profiler;
+    private final IndexAdvisor indexAdvisor;
+
+    public SqlQueriesEndpoint(StatementProfiler profiler, IndexAdvisor indexAdvisor) {
+        this.profiler = profiler;
+        this.indexAdvisor = indexAdvisor;
+    }
+
+    /**
+     * @param limit number of queries to list (default 20)
+     * @param order {@code total} (default), {@code mean}, {@code max} or {@code calls}
+     */
+    @ReadOperation
+    public SqlQueryReport report(@Nullable Integer limit, @Nullable String order) throws SQLException {
+        StatementProfiler.Order sortOrder;
+        try {
+            sortOrder = order == null ? StatementProfiler.Order.TOTAL
+                : StatementProfiler.Order.valueOf(order.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException("Unknown order " + order, "order must be total, mean, max or calls");
+        }
+        if (limit != null && limit < 1) {
+            throw new InvalidEndpointRequestException("Invalid limit " + limit, "limit must be positive");
+        }
+        List<StatementProfiler.QueryStat> queries = profiler.queries();
+        return new SqlQueryReport(profiler.sinceMillis(), profiler.untracked(),
+            profiler.top(limit == null ? DEFAULT_LIMIT : limit, sortOrder), indexAdvisor.advise(queries));
+    }
+
+    @DeleteOperation
+    public void reset() {
+        profiler.reset();
+    }
+}
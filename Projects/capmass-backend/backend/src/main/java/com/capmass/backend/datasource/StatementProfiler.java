@@ -0,0 +1,208 @@
+package com.capmass.backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Execution times of every SQL statement, grouped by normalized query.
+ * <p>
+ * Literals are replaced by {@code ?} and {@code IN} lists collapsed, so one query shape is one
+ * entry however it was called. Statistics cover a rolling window: entries are kept per window
+ * of {@code windowMillis} and reports combine the current and the previous one, so a query that
+ * stopped running drops out after at most two windows. At most {@code maxQueries} shapes are
+ * tracked per window; executions of further shapes are only counted. Statements slower than the
+ * threshold are logged with their normalized text, never with the bound values. Execution times
+ * are also published as the {@code catalog.sql.statements} timer, tagged by statement type.
+ */
+public class StatementProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementProfiler.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.$])-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    public enum Order { TOTAL, MEAN, MAX, CALLS }
+
+    /**
+     * Statistics of one normalized query; times in milliseconds.
+     */
+    public record QueryStat(String sql, long calls, double totalMillis, double meanMillis, double maxMillis) {
+    }
+
+    private final long slowThresholdNanos;
+    private final long windowMillis;
+    private final int maxQueries;
+    private final LongSupplier clock;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, String> normalized = Caffeine.newBuilder().maximumSize(10_000).build();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public StatementProfiler(MeterRegistry meterRegistry, long slowThresholdMillis, long windowMillis, int maxQueries) {
+        this(meterRegistry, slowThresholdMillis, windowMillis, maxQueries, System::currentTimeMillis);
+    }
+
+    StatementProfiler(MeterRegistry meterRegistry, long slowThresholdMillis, long windowMillis, int maxQueries,
+                      LongSupplier clock) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.windowMillis = windowMillis;
+        this.maxQueries = maxQueries;
+        this.clock = clock;
+        this.current = new Window(clock.getAsLong());
+    }
+
+    public void record(String sql, long nanos) {
+        long now = clock.getAsLong();
+        Window window = current;
+        if (now - window.startedAtMillis >= windowMillis) {
+            window = rotate(now);
+        }
+        String query = normalized.get(sql, StatementProfiler::normalize);
+        Stat stat = window.stats.get(query);
+        if (stat == null) {
+            if (window.stats.size() >= maxQueries) {
+                window.untracked.increment();
+            } else {
+                stat = window.stats.computeIfAbsent(query, key -> new Stat());
+            }
+        }
+        if (stat != null) {
+            stat.calls.increment();
+            stat.nanos.add(nanos);
+            stat.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        timers.computeIfAbsent(operation(query), operation -> Timer.builder("catalog.sql.statements")
+                .description("SQL statement execution time, by statement type")
+                .tag("operation", operation)
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowThresholdNanos) {
+            logger.warn("Slow statement took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(nanos), query);
+        }
+    }
+
+    /**
+     * The slowest queries of the current and previous window, by the given order.
+     */
+    public List<QueryStat> top(int limit, Order order) {
+        Comparator<QueryStat> comparator = switch (order) {
+            case TOTAL -> Comparator.comparingDouble(QueryStat::totalMillis);
+            case MEAN -> Comparator.comparingDouble(QueryStat::meanMillis);
+            case MAX -> Comparator.comparingDouble(QueryStat::maxMillis);
+            case CALLS -> Comparator.comparingLong(QueryStat::calls);
+        };
+        return queries().stream().sorted(comparator.reversed()).limit(limit).toList();
+    }
+
+    /**
+     * All tracked queries of the current and previous window.
+     */
+    public List<QueryStat> queries() {
+        Map<String, long[]> merged = new HashMap<>();
+        for (Window window : windows()) {
+            window.stats.forEach((sql, stat) -> {
+                long[] totals = merged.computeIfAbsent(sql, key -> new long[3]);
+                totals[0] += stat.calls.sum();
+                totals[1] += stat.nanos.sum();
+                totals[2] = Math.max(totals[2], stat.maxNanos.get());
+            });
+        }
+        List<QueryStat> queries = new ArrayList<>(merged.size());
+        merged.forEach((sql, totals) -> queries.add(new QueryStat(sql, totals[0], millis(totals[1]),
+            totals[0] == 0 ? 0 : millis(totals[1]) / totals[0], millis(totals[2]))));
+        return queries;
+    }
+
+    /**
+     * Executions of query shapes beyond {@code maxQueries} in the reported windows.
+     */
+    public long untracked() {
+        return windows().stream().mapToLong(window -> window.untracked.sum()).sum();
+    }
+
+    /**
+     * Start of the period the statistics cover.
+     */
+    public long sinceMillis() {
+        Window last = previous;
+        return last != null ? last.startedAtMillis : current.startedAtMillis;
+    }
+
+    public synchronized void reset() {
+        previous = null;
+        current = new Window(clock.getAsLong());
+    }
+
+    static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return IN_LIST.matcher(normalized).replaceAll("in (?)");
+    }
+
+    private static String operation(String query) {
+        int end = query.indexOf(' ');
+        String keyword = (end < 0 ? query : query.substring(0, end)).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "with", "insert", "update", "delete", "merge", "call" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private synchronized Window rotate(long now) {
+        Window window = current;
+        if (now - window.startedAtMillis >= windowMillis) {
+            // After a whole window without statements the old one is no longer recent.
+            previous = now - window.startedAtMillis >= 2 * windowMillis ? null : window;
+            current = new Window(now);
+        }
+        return current;
+    }
+
+    private List<Window> windows() {
+        Window last = previous;
+        return last == null ? List.of(current) : List.of(last, current);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Window {
+        private final long startedAtMillis;
+        private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+        private final LongAdder untracked = new LongAdder();
+
+        private Window(long startedAtMillis) {
+            this.startedAtMillis = startedAtMillis;
+        }
+    }
+
+    private static final class Stat {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+    }
+}
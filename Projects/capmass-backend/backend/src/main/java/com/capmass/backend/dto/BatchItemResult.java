@@ -0,0 +1,14 @@
+package com.capmass.backend.dto;
+
+/**
+ * Outcome of one item of a batch write, by its position in the request. {@code id} is the
+ * location's id when it was written, {@code error} the reason when it was rejected.
+ */
+public record BatchItemResult(int index, Status status, Long id, String error) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        REJECTED
+    }
+}
@@ -0,0 +1,9 @@
+package com.capmass.backend.dto;
+
+import java.util.List;
+
+/**
+ * Summary of a batch write with one result per request item, in request order.
+ */
+public record BatchResult(int created, int updated, int rejected, List<BatchItemResult> items) {
+}
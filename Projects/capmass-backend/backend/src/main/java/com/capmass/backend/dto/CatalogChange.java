@@ -0,0 +1,11 @@
+package com.capmass.backend.dto;
+
+import com.capmass.backend.catalog.CatalogChangeEvent;
+
+/**
+ * One entry of the catalog change log. Upserts carry the entity as it was committed, deletes
+ * only its id.
+ */
+public record CatalogChange(String sequence, CatalogChangeEvent.EntityType entityType,
+                            CatalogChangeEvent.Operation operation, Long id, Object entity) {
+}
@@ -0,0 +1,10 @@
+package com.capmass.backend.dto;
+
+import java.util.List;
+
+/**
+ * Changes after a cursor, oldest first. {@code sequence} is the value to pass as
+ * {@code since} next time; {@code hasMore} is set when the page was cut at the limit.
+ */
+public record CatalogChanges(String sequence, boolean hasMore, List<CatalogChange> changes) {
+}
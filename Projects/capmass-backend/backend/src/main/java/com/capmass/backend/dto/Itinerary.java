@@ -0,0 +1,12 @@
+package com.capmass.backend.dto;
+
+import com.capmass.backend.entity.Location;
+
+import java.util.List;
+
+/**
+ * Stops of a multi-stop walk in visiting order, with the total walking distance and the
+ * estimated walking time.
+ */
+public record Itinerary(double distanceMeters, long durationSeconds, List<Location> stops) {
+}
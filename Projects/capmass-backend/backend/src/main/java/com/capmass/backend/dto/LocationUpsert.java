@@ -0,0 +1,9 @@
+package com.capmass.backend.dto;
+
+/**
+ * One location of a batch write. Without an id the location is created; with one, the existing
+ * location is replaced.
+ */
+public record LocationUpsert(Long id, String name, String description, Double latitude, Double longitude,
+                             Long categoryId) {
+}
@@ -0,0 +1,9 @@
+package com.capmass.backend.dto;
+
+import com.capmass.backend.entity.Location;
+
+/**
+ * A location returned by a proximity search together with its distance from the query point.
+ */
+public record NearbyLocation(Location location, double distanceMeters) {
+}
@@ -0,0 +1,12 @@
+package com.capmass.backend.dto;
+
+import com.capmass.backend.entity.Location;
+
+import java.util.List;
+
+/**
+ * A walking route between two locations: the locations passed from start to destination,
+ * the walking distance and the estimated walking time.
+ */
+public record WalkingRoute(double distanceMeters, long durationSeconds, List<Location> path) {
+}
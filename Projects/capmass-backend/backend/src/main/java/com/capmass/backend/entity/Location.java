@@ -1,19 +1,29 @@
 package com.capmass.backend.entity;
 
+import com.capmass.backend.catalog.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "locations")
+@EntityListeners(CatalogEntityListener.class)
+@Table(name = "locations", indexes = @Index(name = "idx_locations_lat_lon", columnList = "latitude, longitude"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Location {
+
+    /**
+     * Ids are handed out in blocks of this size from {@code locations_seq} (pooled-lo), which
+     * lets Hibernate batch inserts and lets bulk loaders reserve ids without a round trip per row.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final String ID_SEQUENCE = "locations_seq";
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
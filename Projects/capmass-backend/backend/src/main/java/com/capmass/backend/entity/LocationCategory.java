@@ -1,11 +1,13 @@
 package com.capmass.backend.entity;
 
+import com.capmass.backend.catalog.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(CatalogEntityListener.class)
 @Table(name = "location_categories")
 @Data
 @NoArgsConstructor
@@ -0,0 +1,40 @@
+package com.capmass.backend.entity;
+
+import com.capmass.backend.catalog.CatalogEntityListener;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A walkable path between two locations, usable in both directions.
+ */
+@Entity
+@EntityListeners(CatalogEntityListener.class)
+@Table(name = "walkways")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Walkway {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "from_location_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Location fromLocation;
+
+    @ManyToOne
+    @JoinColumn(name = "to_location_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Location toLocation;
+
+    /**
+     * Walking distance along the path; the straight-line distance is used when unset.
+     */
+    private Double lengthMeters;
+}
@@ -0,0 +1,132 @@
+package com.capmass.backend.export;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole location catalog to an output stream row by row.
+ * <p>
+ * Rows come from a database cursor and are detached from the persistence context as soon
+ * as they are written, so memory use does not depend on catalog size and the first bytes
+ * reach the client before the query has finished.
+ */
+@Component
+public class LocationExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationExporter.class);
+
+    static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final LocationRepository locationRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter locationWriter;
+    private final ObjectMapper objectMapper;
+
+    public LocationExporter(LocationRepository locationRepository,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper) {
+        this.locationRepository = locationRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.locationWriter = objectMapper.writerFor(Location.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes one JSON-serialized location per line.
+     */
+    public long writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            return export(generator, location -> {
+                locationWriter.writeValue(generator, location);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    /**
+     * Writes a GeoJSON FeatureCollection with one Point feature per location.
+     */
+    public long writeGeoJson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("type", "FeatureCollection");
+            generator.writeArrayFieldStart("features");
+            long count = export(generator, location -> writeFeature(generator, location));
+            generator.writeEndArray();
+            generator.writeEndObject();
+            return count;
+        }
+    }
+
+    private long export(JsonGenerator generator, RowWriter rowWriter) {
+        long started = System.nanoTime();
+        Long count = readOnlyTransaction.execute(status -> {
+            long rows = 0;
+            try (Stream<Location> locations = locationRepository.streamAllWithCategory()) {
+                Iterator<Location> iterator = locations.iterator();
+                while (iterator.hasNext()) {
+                    Location location = iterator.next();
+                    rowWriter.write(location);
+                    entityManager.detach(location);
+                    if (++rows % FLUSH_EVERY_ROWS == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        });
+        logger.info("Exported {} locations in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+        return count == null ? 0 : count;
+    }
+
+    private static void writeFeature(JsonGenerator generator, Location location) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeNumberField("id", location.getId());
+        generator.writeObjectFieldStart("geometry");
+        generator.writeStringField("type", "Point");
+        generator.writeArrayFieldStart("coordinates");
+        generator.writeNumber(location.getLongitude());
+        generator.writeNumber(location.getLatitude());
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeObjectFieldStart("properties");
+        generator.writeStringField("name", location.getName());
+        generator.writeStringField("description", location.getDescription());
+        if (location.getCategory() != null) {
+            generator.writeNumberField("categoryId", location.getCategory().getId());
+            generator.writeStringField("categoryName", location.getCategory().getName());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Location location) throws IOException;
+    }
+}
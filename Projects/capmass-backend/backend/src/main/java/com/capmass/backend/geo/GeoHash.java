@@ -0,0 +1,157 @@
+package com.capmass.backend.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Minimal geohash encoder used to key map tiles.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+        double minLat = -90.0;
+        double maxLat = 90.0;
+        double minLon = -180.0;
+        double maxLon = 180.0;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Returns the cell covered by a geohash as {@code {minLat, minLon, maxLat, maxLon}}.
+     */
+    public static double[] bounds(String hash) {
+        double minLat = -90.0;
+        double maxLat = 90.0;
+        double minLon = -180.0;
+        double maxLon = 180.0;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash: " + hash);
+            }
+            for (int mask = 16; mask > 0; mask >>= 1) {
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if ((value & mask) != 0) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if ((value & mask) != 0) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[] {minLat, minLon, maxLat, maxLon};
+    }
+
+    public static double cellHeightDegrees(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    public static double cellWidthDegrees(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Number of cells of the given precision needed to cover a bounding box.
+     */
+    public static long countCoveringCells(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        long rows = row(maxLat, precision) - row(minLat, precision) + 1;
+        long columns = column(maxLon, precision) - column(minLon, precision) + 1;
+        return rows * columns;
+    }
+
+    /**
+     * Geohashes of the given precision whose cells intersect the bounding box,
+     * row by row from the south-west corner.
+     */
+    public static List<String> coveringCells(double minLat, double minLon, double maxLat, double maxLon, int precision) {
+        double height = cellHeightDegrees(precision);
+        double width = cellWidthDegrees(precision);
+        long firstRow = row(minLat, precision);
+        long lastRow = row(maxLat, precision);
+        long firstColumn = column(minLon, precision);
+        long lastColumn = column(maxLon, precision);
+
+        List<String> hashes = new ArrayList<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            double latitude = -90.0 + (row + 0.5) * height;
+            for (long column = firstColumn; column <= lastColumn; column++) {
+                double longitude = -180.0 + (column + 0.5) * width;
+                hashes.add(encode(latitude, longitude, precision));
+            }
+        }
+        return hashes;
+    }
+
+    private static long row(double latitude, int precision) {
+        long rows = 1L << ((5 * precision) / 2);
+        return Math.min(rows - 1, (long) Math.floor((latitude + 90.0) / cellHeightDegrees(precision)));
+    }
+
+    private static long column(double longitude, int precision) {
+        long columns = 1L << ((5 * precision + 1) / 2);
+        return Math.min(columns - 1, (long) Math.floor((longitude + 180.0) / cellWidthDegrees(precision)));
+    }
+}
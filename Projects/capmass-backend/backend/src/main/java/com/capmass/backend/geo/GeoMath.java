@@ -0,0 +1,36 @@
+package com.capmass.backend.geo;
+
+/**
+ * Small spherical-earth helpers shared by the geo features.
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /** Length of one degree of latitude (and of longitude at the equator). */
+    public static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180.0;
+
+    private GeoMath() {
+    }
+
+    /**
+     * Great-circle distance between two points, in meters.
+     */
+    public static double haversineMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static boolean isValidLatitude(double latitude) {
+        return latitude >= -90.0 && latitude <= 90.0;
+    }
+
+    public static boolean isValidLongitude(double longitude) {
+        return longitude >= -180.0 && longitude <= 180.0;
+    }
+}
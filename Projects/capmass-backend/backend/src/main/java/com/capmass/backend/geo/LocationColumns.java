@@ -0,0 +1,152 @@
+package com.capmass.backend.geo;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-only columnar copy of location coordinates and categories.
+ * <p>
+ * Each location is one row across primitive arrays: {@code long} id, {@code double}
+ * latitude and longitude, and an {@code int} category ordinal (an index into the sorted
+ * category ids). That is 28 bytes per location, against several boxed objects and a category
+ * graph per {@code Location} entity. Rows are sorted by latitude, so a query only scans the
+ * latitude band it can match. Queries read the arrays in place and allocate only their
+ * result, never per row.
+ */
+public final class LocationColumns {
+
+    /** Category ordinal that matches every row. */
+    public static final int ANY_CATEGORY = -1;
+
+    static final LocationColumns EMPTY = of(List.of());
+
+    private final long[] ids;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] categories;
+    private final long[] categoryIds;
+
+    private LocationColumns(long[] ids, double[] latitudes, double[] longitudes,
+                            int[] categories, long[] categoryIds) {
+        this.ids = ids;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.categories = categories;
+        this.categoryIds = categoryIds;
+    }
+
+    /**
+     * Builds the columns. Points without coordinates are left out.
+     */
+    public static LocationColumns of(Collection<LocationPoint> points) {
+        LocationPoint[] rows = points.stream()
+            .filter(point -> point.id() != null && point.latitude() != null && point.longitude() != null)
+            .sorted((a, b) -> Double.compare(a.latitude(), b.latitude()))
+            .toArray(LocationPoint[]::new);
+        long[] categoryIds = points.stream()
+            .filter(point -> point.categoryId() != null)
+            .mapToLong(LocationPoint::categoryId)
+            .sorted()
+            .distinct()
+            .toArray();
+
+        int n = rows.length;
+        long[] ids = new long[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        int[] categories = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = rows[i].id();
+            latitudes[i] = rows[i].latitude();
+            longitudes[i] = rows[i].longitude();
+            categories[i] = rows[i].categoryId() == null ? ANY_CATEGORY
+                : Arrays.binarySearch(categoryIds, rows[i].categoryId());
+        }
+        return new LocationColumns(ids, latitudes, longitudes, categories, categoryIds);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Ordinal of a category in these columns, or -1 when no location belongs to it.
+     */
+    public int categoryOrdinal(long categoryId) {
+        int ordinal = Arrays.binarySearch(categoryIds, categoryId);
+        return ordinal >= 0 ? ordinal : -1;
+    }
+
+    /**
+     * Writes the ids of rows inside the box (and in the category, unless it is
+     * {@link #ANY_CATEGORY}) to {@code out}, in ascending id order.
+     *
+     * @return the number of ids written, or {@code out.length + 1} when more rows matched than fit
+     */
+    public int within(double minLat, double minLon, double maxLat, double maxLon, int category, long[] out) {
+        int count = 0;
+        for (int row = firstRowAtOrAbove(minLat); row < ids.length && latitudes[row] <= maxLat; row++) {
+            if (longitudes[row] < minLon || longitudes[row] > maxLon
+                    || (category != ANY_CATEGORY && categories[row] != category)) {
+                continue;
+            }
+            if (count == out.length) {
+                Arrays.sort(out, 0, count);
+                return count + 1;
+            }
+            out[count++] = ids[row];
+        }
+        Arrays.sort(out, 0, count);
+        return count;
+    }
+
+    /**
+     * Returns up to {@code k} rows in the category (or any category) closest to the point,
+     * nearest first, none further than {@code radiusMeters}.
+     * <p>
+     * Rows are visited outward from the query latitude, always taking the closer latitude of
+     * the two sides next. The latitude difference alone is a lower bound on the distance, so the
+     * sweep stops once it exceeds the radius or the k-th best distance found so far.
+     */
+    public List<LocationSpatialIndex.Neighbor> nearest(double latitude, double longitude, int k,
+                                                       double radiusMeters, int category) {
+        if (k <= 0 || ids.length == 0) {
+            return List.of();
+        }
+        TopK best = new TopK(Math.min(k, ids.length));
+        int up = firstRowAtOrAbove(latitude);
+        int down = up - 1;
+        while (up < ids.length || down >= 0) {
+            double upGap = up < ids.length ? latitudes[up] - latitude : Double.POSITIVE_INFINITY;
+            double downGap = down >= 0 ? latitude - latitudes[down] : Double.POSITIVE_INFINITY;
+            int row = upGap <= downGap ? up++ : down--;
+            double lowerBound = Math.min(upGap, downGap) * GeoMath.METERS_PER_DEGREE;
+            if (lowerBound > radiusMeters || (best.isFull() && lowerBound >= best.worstDistance())) {
+                break;
+            }
+            if (category != ANY_CATEGORY && categories[row] != category) {
+                continue;
+            }
+            double distance = GeoMath.haversineMeters(latitude, longitude, latitudes[row], longitudes[row]);
+            if (distance <= radiusMeters) {
+                best.offer(ids[row], distance);
+            }
+        }
+        return best.toSortedList();
+    }
+
+    private int firstRowAtOrAbove(double latitude) {
+        int low = 0;
+        int high = latitudes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (latitudes[middle] < latitude) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
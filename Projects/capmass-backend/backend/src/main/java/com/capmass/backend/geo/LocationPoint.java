@@ -0,0 +1,7 @@
+package com.capmass.backend.geo;
+
+/**
+ * Coordinates and category of one location, read without loading the entity.
+ */
+public record LocationPoint(Long id, Double latitude, Double longitude, Long categoryId) {
+}
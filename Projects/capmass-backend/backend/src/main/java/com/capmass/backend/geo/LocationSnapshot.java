@@ -0,0 +1,77 @@
+package com.capmass.backend.geo;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogSeededEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.catalog.LazyCatalogView;
+import com.capmass.backend.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link LocationColumns} for category-filtered geo queries.
+ * <p>
+ * The columns are built once the application is ready from a projection query, so no
+ * entities are loaded. Location writes only mark them stale and the next query rebuilds
+ * them, so a burst of writes costs one rebuild. Queries never lock: they read whichever
+ * immutable columns are current.
+ */
+@Component
+public class LocationSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationSnapshot.class);
+
+    private final LocationRepository locationRepository;
+    private final LazyCatalogView<LocationColumns> columns;
+
+    public LocationSnapshot(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+        this.columns = new LazyCatalogView<>(LocationColumns.EMPTY, this::build);
+    }
+
+    @EventListener(CatalogSeededEvent.class)
+    public void rebuild() {
+        columns.markStale();
+        columns.get();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() == CatalogChangeEvent.EntityType.LOCATION) {
+            columns.markStale();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        if (event.contains(CatalogChangeEvent.EntityType.LOCATION)) {
+            columns.markStale();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        columns.markStale();
+    }
+
+    public LocationColumns current() {
+        return columns.get();
+    }
+
+    private LocationColumns build() {
+        long started = System.nanoTime();
+        LocationColumns rebuilt = LocationColumns.of(locationRepository.findAllPoints());
+        logger.info("Location snapshot built with {} locations in {} ms",
+            rebuilt.size(), (System.nanoTime() - started) / 1_000_000);
+        return rebuilt;
+    }
+}
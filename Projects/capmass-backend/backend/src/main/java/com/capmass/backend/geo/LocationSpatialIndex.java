@@ -0,0 +1,288 @@
+package com.capmass.backend.geo;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogSeededEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid index over location coordinates used for nearest-neighbour lookups.
+ * <p>
+ * Points are bucketed into fixed-size lat/lon cells (comparable to a geohash of fixed
+ * precision). A k-nearest query visits rings of cells around the query point and stops
+ * as soon as no unvisited cell can hold a closer point, so only a handful of cells are
+ * scanned regardless of catalog size. The index is rebuilt once the application is ready
+ * and afterwards kept current from {@link CatalogChangeEvent}s.
+ */
+@Component
+public class LocationSpatialIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationSpatialIndex.class);
+
+    private final LocationRepository locationRepository;
+    private final double cellSizeDegrees;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Cell> cells = new HashMap<>();
+    private Map<Long, Long> cellKeyById = new HashMap<>();
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    public LocationSpatialIndex(LocationRepository locationRepository,
+                                @Value("${catalog.spatial.cell-size-degrees:0.001}") double cellSizeDegrees) {
+        this.locationRepository = locationRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    @EventListener(CatalogSeededEvent.class)
+    public void rebuild() {
+        List<Location> locations = locationRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            cells = new HashMap<>();
+            cellKeyById = new HashMap<>();
+            minCellX = minCellY = Integer.MAX_VALUE;
+            maxCellX = maxCellY = Integer.MIN_VALUE;
+            for (Location location : locations) {
+                insert(location.getId(), location.getLatitude(), location.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Spatial index built with {} locations in {} cells", locations.size(), cells.size());
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() != CatalogChangeEvent.EntityType.LOCATION || event.entityId() == null) {
+            return;
+        }
+        if (event.operation() == CatalogChangeEvent.Operation.DELETE) {
+            remove(event.entityId());
+        } else if (event.entity() instanceof Location location
+                && location.getLatitude() != null && location.getLongitude() != null) {
+            put(location.getId(), location.getLatitude(), location.getLongitude());
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        // The write lock is reentrant: the batch is applied under one acquisition.
+        lock.writeLock().lock();
+        try {
+            event.changes().forEach(this::onCatalogChange);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    public void put(long id, double latitude, double longitude) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            insert(id, latitude, longitude);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellKeyById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} indexed locations closest to the given point, nearest first.
+     * Locations further than {@code radiusMeters} are never returned; pass
+     * {@link Double#POSITIVE_INFINITY} for an unbounded search.
+     */
+    public List<Neighbor> nearest(double latitude, double longitude, int k, double radiusMeters) {
+        if (k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (cellKeyById.isEmpty()) {
+                return List.of();
+            }
+            TopK best = new TopK(Math.min(k, cellKeyById.size()));
+            int queryX = cellX(longitude);
+            int queryY = cellY(latitude);
+            int maxRing = Math.max(Math.max(queryX - minCellX, maxCellX - queryX),
+                                   Math.max(queryY - minCellY, maxCellY - queryY));
+            for (int ring = 0; ring <= maxRing; ring++) {
+                if (8L * ring > cells.size()) {
+                    // Sparse catalog far from the query: walking empty rings would cost more
+                    // than looking at every occupied cell once.
+                    scanRemainingCells(queryX, queryY, ring, latitude, longitude, radiusMeters, best);
+                    break;
+                }
+                scanRing(queryX, queryY, ring, latitude, longitude, radiusMeters, best);
+
+                // Any point in ring + 1 is at least `ring` whole cells away along one axis.
+                double edgeLatitude = Math.min(89.0, Math.abs(latitude) + (ring + 1) * cellSizeDegrees);
+                double lowerBound = ring * cellSizeDegrees * GeoMath.METERS_PER_DEGREE
+                    * Math.cos(Math.toRadians(edgeLatitude));
+                if (lowerBound > radiusMeters || (best.isFull() && best.worstDistance() <= lowerBound)) {
+                    break;
+                }
+            }
+            return best.toSortedList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void scanRing(int queryX, int queryY, int ring, double latitude, double longitude,
+                          double radiusMeters, TopK best) {
+        if (ring == 0) {
+            scanCell(cells.get(cellKey(queryX, queryY)), latitude, longitude, radiusMeters, best);
+            return;
+        }
+        for (int x = queryX - ring; x <= queryX + ring; x++) {
+            scanCell(cells.get(cellKey(x, queryY - ring)), latitude, longitude, radiusMeters, best);
+            scanCell(cells.get(cellKey(x, queryY + ring)), latitude, longitude, radiusMeters, best);
+        }
+        for (int y = queryY - ring + 1; y <= queryY + ring - 1; y++) {
+            scanCell(cells.get(cellKey(queryX - ring, y)), latitude, longitude, radiusMeters, best);
+            scanCell(cells.get(cellKey(queryX + ring, y)), latitude, longitude, radiusMeters, best);
+        }
+    }
+
+    private void scanRemainingCells(int queryX, int queryY, int firstRing, double latitude, double longitude,
+                                    double radiusMeters, TopK best) {
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+            long key = entry.getKey();
+            int x = (int) (key >> 32);
+            int y = (int) key;
+            if (Math.max(Math.abs(x - queryX), Math.abs(y - queryY)) >= firstRing) {
+                scanCell(entry.getValue(), latitude, longitude, radiusMeters, best);
+            }
+        }
+    }
+
+    private static void scanCell(Cell cell, double latitude, double longitude, double radiusMeters, TopK best) {
+        if (cell == null) {
+            return;
+        }
+        for (int i = 0; i < cell.size; i++) {
+            double distance = GeoMath.haversineMeters(latitude, longitude, cell.latitudes[i], cell.longitudes[i]);
+            if (distance <= radiusMeters) {
+                best.offer(cell.ids[i], distance);
+            }
+        }
+    }
+
+    private void insert(long id, double latitude, double longitude) {
+        int x = cellX(longitude);
+        int y = cellY(latitude);
+        long key = cellKey(x, y);
+        cells.computeIfAbsent(key, ignored -> new Cell()).add(id, latitude, longitude);
+        cellKeyById.put(id, key);
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    private void delete(long id) {
+        Long key = cellKeyById.remove(id);
+        if (key == null) {
+            return;
+        }
+        Cell cell = cells.get(key);
+        if (cell != null && cell.remove(id) && cell.size == 0) {
+            cells.remove(key);
+        }
+    }
+
+    private int cellX(double longitude) {
+        return (int) Math.floor((longitude + 180.0) / cellSizeDegrees);
+    }
+
+    private int cellY(double latitude) {
+        return (int) Math.floor((latitude + 90.0) / cellSizeDegrees);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public record Neighbor(long id, double distanceMeters) {
+    }
+
+    /**
+     * Points of one grid cell stored as parallel primitive arrays.
+     */
+    private static final class Cell {
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private int size;
+
+        void add(long id, double latitude, double longitude) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+            }
+            ids[size] = id;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    latitudes[i] = latitudes[size];
+                    longitudes[i] = longitudes[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
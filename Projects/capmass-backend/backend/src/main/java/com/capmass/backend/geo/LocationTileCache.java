@@ -0,0 +1,203 @@
+package com.capmass.backend.geo;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU cache of map tiles keyed by geohash.
+ * <p>
+ * A viewport query is answered from the tiles covering it, so panning back and forth over
+ * the same area does not touch the database. Each tile holds at most
+ * {@code catalog.tiles.max-locations-per-tile} locations, which keeps the payload of a
+ * zoomed-out viewport flat as the catalog grows. Tiles are evicted when a location inside
+ * them (before or after the write) changes; a category change drops every tile because
+ * locations embed their category.
+ */
+@Component
+public class LocationTileCache {
+
+    static final int MAX_TILE_PRECISION = 9;
+    static final int MAX_TILES_PER_QUERY = 32;
+
+    private final LocationRepository locationRepository;
+    private final int maxLocationsPerTile;
+    private final Map<String, Tile> tiles;
+    private final Map<Long, Set<String>> tilesByLocationId = new HashMap<>();
+
+    private long generation;
+    private long hits;
+    private long misses;
+
+    public LocationTileCache(LocationRepository locationRepository,
+                             @Value("${catalog.tiles.max-entries:4096}") int maxEntries,
+                             @Value("${catalog.tiles.max-locations-per-tile:2000}") int maxLocationsPerTile) {
+        this.locationRepository = locationRepository;
+        this.maxLocationsPerTile = maxLocationsPerTile;
+        this.tiles = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Tile> eldest) {
+                if (size() > maxEntries) {
+                    unregister(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Picks the finest geohash precision whose tiles cover the box with at most
+     * {@link #MAX_TILES_PER_QUERY} cells and returns those tiles' hashes.
+     */
+    public List<String> coveringTiles(double minLat, double minLon, double maxLat, double maxLon) {
+        int precision = 1;
+        for (int candidate = MAX_TILE_PRECISION; candidate > 1; candidate--) {
+            if (GeoHash.countCoveringCells(minLat, minLon, maxLat, maxLon, candidate) <= MAX_TILES_PER_QUERY) {
+                precision = candidate;
+                break;
+            }
+        }
+        return GeoHash.coveringCells(minLat, minLon, maxLat, maxLon, precision);
+    }
+
+    public Tile getTile(String geohash) {
+        long loadGeneration;
+        synchronized (this) {
+            Tile cached = tiles.get(geohash);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+
+        double[] bounds = GeoHash.bounds(geohash);
+        List<Location> locations = locationRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(
+            bounds[0], bounds[2], bounds[1], bounds[3], Limit.of(maxLocationsPerTile + 1));
+        boolean truncated = locations.size() > maxLocationsPerTile;
+        Tile tile = new Tile(geohash, List.copyOf(truncated ? locations.subList(0, maxLocationsPerTile) : locations),
+                             truncated);
+
+        synchronized (this) {
+            // A write that happened while the tile was loading may not be reflected in it.
+            if (loadGeneration == generation) {
+                unregister(tiles.put(geohash, tile));
+                for (Location location : tile.locations()) {
+                    tilesByLocationId.computeIfAbsent(location.getId(), ignored -> new HashSet<>()).add(geohash);
+                }
+            }
+        }
+        return tile;
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        clear();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() == CatalogChangeEvent.EntityType.WALKWAY) {
+            return;
+        }
+        generation++;
+        if (event.entityType() == CatalogChangeEvent.EntityType.CATEGORY) {
+            tiles.clear();
+            tilesByLocationId.clear();
+            return;
+        }
+        evict(event);
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        if (event.contains(CatalogChangeEvent.EntityType.CATEGORY)) {
+            clear();
+            return;
+        }
+        if (!event.contains(CatalogChangeEvent.EntityType.LOCATION)) {
+            return;
+        }
+        generation++;
+        for (CatalogChangeEvent change : event.changes()) {
+            if (change.entityType() == CatalogChangeEvent.EntityType.LOCATION) {
+                evict(change);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        tiles.clear();
+        tilesByLocationId.clear();
+    }
+
+    /**
+     * Drops the tiles that held the location before the write and the ones it lands in now.
+     */
+    private void evict(CatalogChangeEvent event) {
+        Set<String> previousTiles = tilesByLocationId.get(event.entityId());
+        if (previousTiles != null) {
+            for (String geohash : Set.copyOf(previousTiles)) {
+                unregister(tiles.remove(geohash));
+            }
+        }
+        if (event.entity() instanceof Location location
+                && location.getLatitude() != null && location.getLongitude() != null) {
+            for (int precision = 1; precision <= MAX_TILE_PRECISION; precision++) {
+                String geohash = GeoHash.encode(location.getLatitude(), location.getLongitude(), precision);
+                unregister(tiles.remove(geohash));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private void unregister(Tile tile) {
+        if (tile == null) {
+            return;
+        }
+        for (Location location : tile.locations()) {
+            Set<String> geohashes = tilesByLocationId.get(location.getId());
+            if (geohashes != null) {
+                geohashes.remove(tile.geohash());
+                if (geohashes.isEmpty()) {
+                    tilesByLocationId.remove(location.getId());
+                }
+            }
+        }
+    }
+
+    public record Tile(String geohash, List<Location> locations, boolean truncated) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.capmass.backend.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded max-heap keeping the {@code capacity} smallest distances seen so far.
+ */
+final class TopK {
+    private final long[] ids;
+    private final double[] distances;
+    private int size;
+
+    TopK(int capacity) {
+        ids = new long[capacity];
+        distances = new double[capacity];
+    }
+
+    boolean isFull() {
+        return size == ids.length;
+    }
+
+    double worstDistance() {
+        return distances[0];
+    }
+
+    void offer(long id, double distance) {
+        if (size < ids.length) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (distances[parent] >= distance) {
+                    break;
+                }
+                ids[i] = ids[parent];
+                distances[i] = distances[parent];
+                i = parent;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        } else if (distance < distances[0]) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                ids[i] = ids[child];
+                distances[i] = distances[child];
+                i = child;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+    }
+
+    List<LocationSpatialIndex.Neighbor> toSortedList() {
+        List<LocationSpatialIndex.Neighbor> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new LocationSpatialIndex.Neighbor(ids[i], distances[i]));
+        }
+        result.sort((a, b) -> Double.compare(a.distanceMeters(), b.distanceMeters()));
+        return result;
+    }
+}
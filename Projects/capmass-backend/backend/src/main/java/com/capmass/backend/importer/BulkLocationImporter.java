@@ -0,0 +1,480 @@
+package com.capmass.backend.importer;
+
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Loads large location catalogs from a SQL script, CSV or GeoJSON file.
+ * <p>
+ * The source is read in chunks. Each chunk is parsed in parallel while the previous one is
+ * being inserted, ids are reserved in blocks from the location sequence, and rows are written
+ * with JDBC batches in one transaction per chunk. Categories are matched by name and created
+ * when missing. Because rows bypass JPA, a {@link CatalogReloadedEvent} is published at the end
+ * so in-memory catalog views rebuild.
+ * <p>
+ * Records that cannot be imported are skipped. The first {@value #REPORTED_REJECTIONS} are
+ * logged with their position in the source and the reason, and returned in the
+ * {@link ImportResult}; the rest are only counted.
+ */
+@Component
+public class BulkLocationImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkLocationImporter.class);
+
+    static final int REPORTED_REJECTIONS = 20;
+
+    static final String INSERT_LOCATION_SQL =
+        "insert into locations (id, name, description, latitude, longitude, category_id) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocationCategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public BulkLocationImporter(JdbcTemplate jdbcTemplate,
+                                LocationCategoryRepository categoryRepository,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.chunk-size:20000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportResult importFrom(Resource resource) throws IOException {
+        return importFrom(resource, imported -> { });
+    }
+
+    /**
+     * Imports the resource, reporting the number of locations written so far after each chunk.
+     */
+    public ImportResult importFrom(Resource resource, LongConsumer progress) throws IOException {
+        CatalogSourceFormat format = CatalogSourceFormat.fromFilename(resource.getFilename());
+        try (InputStream in = resource.getInputStream()) {
+            return importFrom(in, format, progress);
+        }
+    }
+
+    public ImportResult importFrom(Resource resource, CatalogSourceFormat format) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return importFrom(in, format);
+        }
+    }
+
+    public ImportResult importFrom(InputStream in, CatalogSourceFormat format) throws IOException {
+        return importFrom(in, format, imported -> { });
+    }
+
+    public ImportResult importFrom(InputStream in, CatalogSourceFormat format, LongConsumer progress)
+            throws IOException {
+        long started = System.nanoTime();
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        Run run = new Run(progress);
+        try {
+            switch (format) {
+                case SQL -> importSql(reader, run);
+                case CSV -> importCsv(reader, run);
+                case GEOJSON -> importGeoJson(reader, run);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (run.imported > 0 || run.categoriesCreated > 0) {
+                eventPublisher.publishEvent(new CatalogReloadedEvent("bulk import"));
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        ImportResult result = new ImportResult(run.imported, run.rejected, run.categoriesCreated, elapsedMillis,
+            List.copyOf(run.rejections));
+        if (run.rejected > run.rejections.size()) {
+            logger.warn("{} more records rejected without being logged", run.rejected - run.rejections.size());
+        }
+        logger.info("Imported {} locations ({} rejected, {} new categories) in {} ms",
+            result.imported(), result.rejected(), result.categoriesCreated(), elapsedMillis);
+        return result;
+    }
+
+    private void importSql(Reader reader, Run run) {
+        Map<String, String> sourceCategoryNames = new HashMap<>();
+        SqlInsertReader tuples = new SqlInsertReader(reader);
+        Iterator<SqlInsertReader.Tuple> locationTuples = new Iterator<>() {
+            private SqlInsertReader.Tuple next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && tuples.hasNext()) {
+                    SqlInsertReader.Tuple tuple = tuples.next();
+                    if ("locations".equals(tuple.table())) {
+                        next = tuple;
+                    } else if ("location_categories".equals(tuple.table())) {
+                        // Categories precede the locations referencing them; keep the mapping from
+                        // the script's ids (explicit or insertion order) to names.
+                        Map<String, String> row = row(tuple.columns(), SqlInsertReader.values(tuple.raw()));
+                        String id = row.getOrDefault("id", Integer.toString(sourceCategoryNames.size() + 1));
+                        sourceCategoryNames.put(id, row.get("name"));
+                        run.categoryDescriptions.putIfAbsent(row.get("name"), row.get("description"));
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public SqlInsertReader.Tuple next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SqlInsertReader.Tuple tuple = next;
+                next = null;
+                return tuple;
+            }
+        };
+
+        pipeline(locationTuples, tuple -> {
+            Map<String, String> row = row(tuple.columns(), SqlInsertReader.values(tuple.raw()));
+            String categoryId = row.get("category_id");
+            return record(row.get("name"), row.get("description"), row.get("latitude"), row.get("longitude"),
+                categoryId == null ? null : sourceCategoryNames.get(categoryId));
+        }, run);
+    }
+
+    private void importCsv(Reader reader, Run run) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null) {
+            return;
+        }
+        List<String> columns = CsvLine.split(header).stream()
+            .map(column -> column.trim().toLowerCase(Locale.ROOT))
+            .toList();
+        int name = column(columns, "name");
+        int description = columns.indexOf("description");
+        int latitude = column(columns, "latitude", "lat");
+        int longitude = column(columns, "longitude", "lon", "lng");
+        int category = column(columns, "category", "category_name");
+
+        Iterator<String> rows = lines.lines().filter(line -> !line.isBlank()).iterator();
+        pipeline(rows, line -> {
+            List<String> values = CsvLine.split(line);
+            if (values.size() < columns.size()) {
+                throw new IllegalArgumentException(
+                    "expected " + columns.size() + " columns but found " + values.size());
+            }
+            return record(values.get(name), description < 0 ? null : values.get(description),
+                values.get(latitude), values.get(longitude), values.get(category));
+        }, run);
+    }
+
+    private void importGeoJson(Reader reader, Run run) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(reader);
+        // Advance to the "features" array of the FeatureCollection.
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.FIELD_NAME && "features".equals(parser.getCurrentName())
+                    && parser.getParsingContext().getParent().inRoot()) {
+                parser.nextToken();
+                break;
+            }
+        }
+        if (token == null || parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("GeoJSON source has no features array");
+        }
+
+        Iterator<JsonNode> features = new Iterator<>() {
+            private JsonNode next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        if (parser.nextToken() == JsonToken.START_OBJECT) {
+                            next = parser.readValueAsTree();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public JsonNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                JsonNode feature = next;
+                next = null;
+                return feature;
+            }
+        };
+
+        pipeline(features, feature -> {
+            JsonNode coordinates = feature.path("geometry").path("coordinates");
+            JsonNode properties = feature.path("properties");
+            if (!coordinates.isArray() || coordinates.size() < 2) {
+                throw new IllegalArgumentException("feature has no point coordinates");
+            }
+            String category = properties.hasNonNull("category") ? properties.get("category").asText()
+                : properties.path("categoryName").asText(null);
+            return record(properties.path("name").asText(null), properties.path("description").asText(null),
+                coordinates.get(1).asText(), coordinates.get(0).asText(), category);
+        }, run);
+    }
+
+    /**
+     * Parses chunk n + 1 in parallel while chunk n is written to the database. Records are
+     * numbered from 1 in source order, so rejections can be traced back to the source.
+     */
+    private <T> void pipeline(Iterator<T> source, Function<T, LocationRecord> parser, Run run) {
+        List<T> first = nextChunk(source);
+        long position = 1;
+        CompletableFuture<List<Parsed>> pending = parseAsync(first, position, parser);
+        position += first.size();
+        while (pending != null) {
+            List<Parsed> parsed = pending.join();
+            List<T> chunk = nextChunk(source);
+            pending = chunk.isEmpty() ? null : parseAsync(chunk, position, parser);
+            position += chunk.size();
+            write(parsed, run);
+        }
+    }
+
+    private <T> List<T> nextChunk(Iterator<T> source) {
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, 4096));
+        while (chunk.size() < chunkSize && source.hasNext()) {
+            chunk.add(source.next());
+        }
+        return chunk;
+    }
+
+    private static <T> CompletableFuture<List<Parsed>> parseAsync(List<T> chunk, long firstPosition,
+                                                                  Function<T, LocationRecord> parser) {
+        return CompletableFuture.supplyAsync(() -> IntStream.range(0, chunk.size()).parallel()
+            .mapToObj(i -> {
+                try {
+                    return new Parsed(firstPosition + i, parser.apply(chunk.get(i)), null);
+                } catch (RuntimeException e) {
+                    String reason = e instanceof IllegalArgumentException && e.getMessage() != null
+                        ? e.getMessage() : e.toString();
+                    return new Parsed(firstPosition + i, null, reason);
+                }
+            })
+            .toList());
+    }
+
+    private void write(List<Parsed> parsed, Run run) {
+        List<LocationRecord> valid = new ArrayList<>(parsed.size());
+        for (Parsed outcome : parsed) {
+            if (outcome.record() != null) {
+                valid.add(outcome.record());
+            } else {
+                run.reject(outcome.position(), outcome.reason());
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (LocationRecord record : valid) {
+                run.categoryId(record.categoryName());
+            }
+            jdbcTemplate.batchUpdate(INSERT_LOCATION_SQL, valid, batchSize, (statement, record) -> {
+                statement.setLong(1, run.idAllocator.nextId());
+                statement.setString(2, record.name());
+                if (record.description() == null) {
+                    statement.setNull(3, Types.VARCHAR);
+                } else {
+                    statement.setString(3, record.description());
+                }
+                statement.setDouble(4, record.latitude());
+                statement.setDouble(5, record.longitude());
+                statement.setLong(6, run.categoryIds.get(record.categoryName()));
+            });
+        });
+        run.imported += valid.size();
+        run.progress.accept(run.imported);
+    }
+
+    /**
+     * Validates raw field values and builds a record.
+     *
+     * @throws IllegalArgumentException with the reason when the row cannot be imported
+     */
+    static LocationRecord record(String name, String description, String latitude, String longitude,
+                                 String categoryName) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("missing name");
+        }
+        if (categoryName == null || categoryName.isBlank()) {
+            throw new IllegalArgumentException("missing category");
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("missing coordinates");
+        }
+        double lat;
+        double lon;
+        try {
+            lat = Double.parseDouble(latitude.trim());
+            lon = Double.parseDouble(longitude.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("coordinates are not numbers: " + latitude + ", " + longitude);
+        }
+        if (!GeoMath.isValidLatitude(lat) || !GeoMath.isValidLongitude(lon)) {
+            throw new IllegalArgumentException("coordinates out of range: " + lat + ", " + lon);
+        }
+        if (name.length() > 255) {
+            throw new IllegalArgumentException("name longer than 255 characters");
+        }
+        if (description != null && description.length() > 1000) {
+            throw new IllegalArgumentException("description longer than 1000 characters");
+        }
+        String trimmedDescription = description == null || description.isBlank() ? null : description.trim();
+        return new LocationRecord(name.trim(), trimmedDescription, lat, lon, categoryName.trim());
+    }
+
+    private static Map<String, String> row(List<String> columns, List<String> values) {
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < columns.size() && i < values.size(); i++) {
+            row.put(columns.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    private static int column(List<String> columns, String... names) {
+        for (String name : names) {
+            int index = columns.indexOf(name);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("CSV header is missing column " + names[0]);
+    }
+
+    /**
+     * Outcome of parsing the record at a position: the record, or why it was rejected.
+     */
+    private record Parsed(long position, LocationRecord record, String reason) {
+    }
+
+    /**
+     * State of a single import run.
+     */
+    private final class Run {
+        private final LocationIdAllocator idAllocator = new LocationIdAllocator(jdbcTemplate);
+        private final Map<String, Long> categoryIds = new ConcurrentHashMap<>();
+        private final Map<String, String> categoryDescriptions = new HashMap<>();
+        private final LongConsumer progress;
+        private final List<ImportResult.Rejection> rejections = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private int categoriesCreated;
+
+        private Run(LongConsumer progress) {
+            this.progress = progress;
+            for (LocationCategory category : categoryRepository.findAll()) {
+                categoryIds.put(category.getName(), category.getId());
+            }
+        }
+
+        private void reject(long position, String reason) {
+            rejected++;
+            if (rejections.size() < REPORTED_REJECTIONS) {
+                rejections.add(new ImportResult.Rejection(position, reason));
+                logger.warn("Rejected record {}: {}", position, reason);
+            }
+        }
+
+        private void categoryId(String name) {
+            if (!categoryIds.containsKey(name)) {
+                LocationCategory created = categoryRepository.save(
+                    new LocationCategory(null, name, categoryDescriptions.get(name)));
+                categoryIds.put(name, created.getId());
+                categoriesCreated++;
+            }
+        }
+    }
+
+    /**
+     * Splits a single CSV line following RFC 4180 quoting (no embedded line breaks).
+     */
+    static final class CsvLine {
+
+        private CsvLine() {
+        }
+
+        static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            current.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+}
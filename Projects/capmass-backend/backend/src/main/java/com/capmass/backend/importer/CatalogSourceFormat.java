@@ -0,0 +1,23 @@
+package com.capmass.backend.importer;
+
+import java.util.Locale;
+
+public enum CatalogSourceFormat {
+    SQL,
+    CSV,
+    GEOJSON;
+
+    public static CatalogSourceFormat fromFilename(String filename) {
+        String lower = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".sql")) {
+            return SQL;
+        }
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".geojson") || lower.endsWith(".json")) {
+            return GEOJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the catalog format of " + filename);
+    }
+}
@@ -0,0 +1,18 @@
+package com.capmass.backend.importer;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code rejections} holds the first rejected records only; {@code rejected}
+ * counts all of them.
+ */
+public record ImportResult(long imported, long rejected, int categoriesCreated, long elapsedMillis,
+                           List<Rejection> rejections) {
+
+    /**
+     * A record that was not imported. The position counts the source's location records from 1:
+     * CSV data rows (blank lines skipped), SQL {@code locations} tuples or GeoJSON features.
+     */
+    public record Rejection(long position, String reason) {
+    }
+}
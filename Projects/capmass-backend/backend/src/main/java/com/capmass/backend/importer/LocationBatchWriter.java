@@ -0,0 +1,229 @@
+package com.capmass.backend.importer;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.dto.BatchItemResult;
+import com.capmass.backend.dto.BatchResult;
+import com.capmass.backend.dto.LocationUpsert;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Creates and replaces locations in bulk for the batch write API.
+ * <p>
+ * Items are validated in parallel against the categories and the ids that exist, and invalid
+ * items are reported without stopping the rest. Valid items are written in one transaction
+ * with JDBC batches: new locations get ids from {@code locations_seq} in pooled blocks, like
+ * the importer, and existing ones are updated in place. Rows bypass JPA, so one
+ * {@link CatalogBatchChangeEvent} listing every written row is published, and in-memory catalog
+ * views follow the whole batch at once when it commits.
+ */
+@Component
+public class LocationBatchWriter {
+
+    static final String UPDATE_LOCATION_SQL =
+        "update locations set name = ?, description = ?, latitude = ?, longitude = ?, category_id = ? where id = ?";
+
+    private static final int ID_LOOKUP_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocationRepository locationRepository;
+    private final LocationCategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationIdAllocator idAllocator;
+    private final int batchSize;
+
+    public LocationBatchWriter(JdbcTemplate jdbcTemplate,
+                               LocationRepository locationRepository,
+                               LocationCategoryRepository categoryRepository,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${catalog.import.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.locationRepository = locationRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.idAllocator = new LocationIdAllocator(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    public BatchResult upsert(List<LocationUpsert> items) {
+        int n = items.size();
+        Map<Long, LocationCategory> categories = categoryRepository.findAll().stream()
+            .collect(Collectors.toMap(LocationCategory::getId, Function.identity()));
+        Set<Long> existingIds = existingIds(items);
+
+        String[] errors = new String[n];
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < n; i++) {
+            LocationUpsert item = items.get(i);
+            if (item != null && item.id() != null && !seen.add(item.id())) {
+                errors[i] = "location " + item.id() + " appears more than once";
+            }
+        }
+        IntStream.range(0, n).parallel()
+            .filter(i -> errors[i] == null)
+            .forEach(i -> errors[i] = validate(items.get(i), categories, existingIds));
+
+        List<Row> inserts = new ArrayList<>();
+        List<Row> updates = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            LocationUpsert item = items.get(i);
+            Location location = new Location(item.id() == null ? idAllocator.nextId() : item.id(),
+                item.name().trim(), item.description() == null || item.description().isBlank() ? null
+                    : item.description().trim(),
+                categories.get(item.categoryId()), item.latitude(), item.longitude());
+            (item.id() == null ? inserts : updates).add(new Row(i, location));
+        }
+
+        BatchItemResult[] results = new BatchItemResult[n];
+        List<CatalogChangeEvent> changes = new ArrayList<>();
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(BulkLocationImporter.INSERT_LOCATION_SQL, inserts, batchSize,
+                    (statement, row) -> {
+                        statement.setLong(1, row.location().getId());
+                        setColumns(statement, row.location(), 2);
+                    });
+                int[][] updateCounts = jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, updates, batchSize,
+                    (statement, row) -> {
+                        setColumns(statement, row.location(), 1);
+                        statement.setLong(6, row.location().getId());
+                    });
+                for (Row row : inserts) {
+                    results[row.index()] = written(row, BatchItemResult.Status.CREATED, changes);
+                }
+                int k = 0;
+                for (int[] counts : updateCounts) {
+                    for (int count : counts) {
+                        Row row = updates.get(k++);
+                        // Deleted since the ids were looked up.
+                        results[row.index()] = count == 0
+                            ? new BatchItemResult(row.index(), BatchItemResult.Status.REJECTED, row.location().getId(),
+                                "location " + row.location().getId() + " does not exist")
+                            : written(row, BatchItemResult.Status.UPDATED, changes);
+                    }
+                }
+                if (!changes.isEmpty()) {
+                    // Listeners run once the transaction commits.
+                    eventPublisher.publishEvent(new CatalogBatchChangeEvent(changes));
+                }
+            });
+        }
+
+        int created = 0;
+        int updated = 0;
+        int rejected = 0;
+        for (int i = 0; i < n; i++) {
+            if (results[i] == null) {
+                LocationUpsert item = items.get(i);
+                results[i] = new BatchItemResult(i, BatchItemResult.Status.REJECTED,
+                    item == null ? null : item.id(), errors[i]);
+            }
+            switch (results[i].status()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case REJECTED -> rejected++;
+            }
+        }
+        return new BatchResult(created, updated, rejected, List.of(results));
+    }
+
+    /**
+     * Returns why the item cannot be written, or {@code null} when it is valid.
+     */
+    static String validate(LocationUpsert item, Map<Long, LocationCategory> categories, Set<Long> existingIds) {
+        if (item == null) {
+            return "item is empty";
+        }
+        if (item.name() == null || item.name().isBlank()) {
+            return "name is required";
+        }
+        if (item.name().trim().length() > 255) {
+            return "name is longer than 255 characters";
+        }
+        if (item.description() != null && item.description().trim().length() > 1000) {
+            return "description is longer than 1000 characters";
+        }
+        if (item.latitude() == null || !GeoMath.isValidLatitude(item.latitude())) {
+            return "latitude is missing or out of range";
+        }
+        if (item.longitude() == null || !GeoMath.isValidLongitude(item.longitude())) {
+            return "longitude is missing or out of range";
+        }
+        if (item.categoryId() == null || !categories.containsKey(item.categoryId())) {
+            return "category " + item.categoryId() + " does not exist";
+        }
+        if (item.id() != null && !existingIds.contains(item.id())) {
+            return "location " + item.id() + " does not exist";
+        }
+        return null;
+    }
+
+    private Set<Long> existingIds(List<LocationUpsert> items) {
+        List<Long> ids = items.stream()
+            .filter(Objects::nonNull)
+            .map(LocationUpsert::id)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += ID_LOOKUP_CHUNK) {
+            existing.addAll(locationRepository.findExistingIds(
+                ids.subList(from, Math.min(ids.size(), from + ID_LOOKUP_CHUNK))));
+        }
+        return existing;
+    }
+
+    private static void setColumns(PreparedStatement statement, Location location, int first) throws SQLException {
+        statement.setString(first, location.getName());
+        if (location.getDescription() == null) {
+            statement.setNull(first + 1, Types.VARCHAR);
+        } else {
+            statement.setString(first + 1, location.getDescription());
+        }
+        statement.setDouble(first + 2, location.getLatitude());
+        statement.setDouble(first + 3, location.getLongitude());
+        statement.setLong(first + 4, location.getCategory().getId());
+    }
+
+    /**
+     * Records the result and the change to announce for the row.
+     */
+    private static BatchItemResult written(Row row, BatchItemResult.Status status, List<CatalogChangeEvent> changes) {
+        Location location = row.location();
+        changes.add(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, location.getId(), location));
+        return new BatchItemResult(row.index(), status, location.getId(), null);
+    }
+
+    private record Row(int index, Location location) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.capmass.backend.importer;
+
+import com.capmass.backend.entity.Location;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hands out location ids in blocks reserved from {@code locations_seq}, following the same
+ * pooled-lo scheme Hibernate uses: sequence value {@code v} reserves {@code v .. v + size - 1}.
+ * Ids allocated here therefore never collide with ids Hibernate assigns.
+ */
+class LocationIdAllocator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private long next;
+    private long limit;
+
+    LocationIdAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    synchronized long nextId() {
+        if (next == limit) {
+            Long low = jdbcTemplate.queryForObject("select next value for " + Location.ID_SEQUENCE, Long.class);
+            next = low;
+            limit = low + Location.ID_ALLOCATION_SIZE;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,8 @@
+package com.capmass.backend.importer;
+
+/**
+ * One parsed location row waiting to be inserted, with its category referenced by name.
+ */
+public record LocationRecord(String name, String description, double latitude, double longitude,
+                             String categoryName) {
+}
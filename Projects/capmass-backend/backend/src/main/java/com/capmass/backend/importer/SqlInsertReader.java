@@ -0,0 +1,238 @@
+package com.capmass.backend.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streams the value tuples of {@code INSERT INTO table (columns) VALUES (...), (...);}
+ * statements out of a SQL script such as {@code campus-backend/database/data.sql}.
+ * <p>
+ * Only one tuple is held in memory at a time, so arbitrarily large multi-row inserts can be
+ * read. Other statements and {@code --} comments are skipped. Tuples are returned unparsed;
+ * {@link #values(String)} splits them, which callers can do in parallel.
+ */
+final class SqlInsertReader implements Iterator<SqlInsertReader.Tuple> {
+
+    private static final Pattern INSERT_HEADER = Pattern.compile(
+        "(?is)\\s*INSERT\\s+INTO\\s+([\\w.\"]+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*");
+
+    record Tuple(String table, List<String> columns, String raw) {
+    }
+
+    private final Reader reader;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int length;
+
+    private String table;
+    private List<String> columns;
+    private Tuple next;
+    private boolean done;
+
+    SqlInsertReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Tuple next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Tuple tuple = next;
+        next = null;
+        return tuple;
+    }
+
+    private Tuple advance() throws IOException {
+        while (true) {
+            if (table == null) {
+                String statement = readUntilValuesOrEnd();
+                if (statement == null) {
+                    return null;
+                }
+                Matcher matcher = INSERT_HEADER.matcher(statement);
+                if (matcher.matches()) {
+                    table = matcher.group(1).replace("\"", "").toLowerCase(Locale.ROOT);
+                    columns = Arrays.stream(matcher.group(2).split(","))
+                        .map(column -> column.trim().replace("\"", "").toLowerCase(Locale.ROOT))
+                        .toList();
+                }
+                continue;
+            }
+
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == ';') {
+                table = null;
+            } else if (c == '(') {
+                return new Tuple(table, columns, readTuple());
+            } else if (c == '-' && peek() == '-') {
+                skipLine();
+            }
+        }
+    }
+
+    /**
+     * Reads one statement up to and including its {@code VALUES} keyword. Statements that end
+     * before reaching {@code VALUES} are returned up to their terminating semicolon.
+     */
+    private String readUntilValuesOrEnd() throws IOException {
+        StringBuilder statement = new StringBuilder();
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '-' && peek() == '-') {
+                skipLine();
+                continue;
+            }
+            if (c == ';') {
+                return statement.append(';').toString();
+            }
+            statement.append((char) c);
+            if (endsWithValuesKeyword(statement)) {
+                return statement.toString();
+            }
+        }
+        return statement.toString().isBlank() ? null : statement.toString();
+    }
+
+    private static boolean endsWithValuesKeyword(StringBuilder statement) {
+        int length = statement.length();
+        if (length < 6 || !statement.substring(length - 6).equalsIgnoreCase("values")) {
+            return false;
+        }
+        return length == 6 || !Character.isLetterOrDigit(statement.charAt(length - 7));
+    }
+
+    private String readTuple() throws IOException {
+        StringBuilder tuple = new StringBuilder(128);
+        boolean quoted = false;
+        int depth = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '\'') {
+                    if (peek() == '\'') {
+                        tuple.append('\'');
+                        read();
+                    } else {
+                        quoted = false;
+                    }
+                }
+                tuple.append((char) c);
+                continue;
+            }
+            if (c == '\'') {
+                quoted = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (depth == 0) {
+                    return tuple.toString();
+                }
+                depth--;
+            }
+            tuple.append((char) c);
+        }
+        throw new IllegalArgumentException("Unterminated value tuple in SQL script");
+    }
+
+    /**
+     * Splits the inside of a value tuple into literals. Quoted strings are unescaped and
+     * {@code NULL} becomes {@code null}; anything else is returned trimmed.
+     */
+    static List<String> values(String raw) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (quoted) {
+                if (c == '\'') {
+                    if (i + 1 < raw.length() && raw.charAt(i + 1) == '\'') {
+                        current.append('\'');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                values.add(literal(current, wasQuoted));
+                current.setLength(0);
+                wasQuoted = false;
+            } else if (!Character.isWhitespace(c) || current.length() > 0) {
+                current.append(c);
+            }
+        }
+        values.add(literal(current, wasQuoted));
+        return values;
+    }
+
+    private static String literal(StringBuilder token, boolean quoted) {
+        if (quoted) {
+            return token.toString();
+        }
+        String value = token.toString().trim();
+        return value.equalsIgnoreCase("null") ? null : value;
+    }
+
+    private void skipLine() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // skip comment
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == length && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == length && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        length = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (length <= 0) {
+            length = 0;
+            return false;
+        }
+        return true;
+    }
+}
@@ -1,9 +1,17 @@
 package com.capmass.backend.repository;
 
+import com.capmass.backend.config.CacheConfig;
 import com.capmass.backend.entity.LocationCategory;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface LocationCategoryRepository extends JpaRepository<LocationCategory, Long> {
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, keyGenerator = CacheConfig.CATALOG_KEY_GENERATOR, sync = true)
+    List<LocationCategory> findAll();
 }
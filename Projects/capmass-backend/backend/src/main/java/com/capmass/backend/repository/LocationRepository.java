@@ -1,12 +1,70 @@
 package com.capmass.backend.repository;
 
+import com.capmass.backend.config.CacheConfig;
 import com.capmass.backend.entity.Location;
+import com.capmass.backend.geo.LocationPoint;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Read methods load the category in the same statement through an entity graph; without it
+ * the eager {@code Location.category} association is resolved with one extra select per
+ * distinct category.
+ */
 @Repository
 public interface LocationRepository extends JpaRepository<Location, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Location> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Location> findAllById(Iterable<Long> ids);
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LOCATIONS, keyGenerator = CacheConfig.CATALOG_KEY_GENERATOR, sync = true)
+    @EntityGraph(attributePaths = "category")
     List<Location> findByCategoryId(Long categoryId);
+
+    @EntityGraph(attributePaths = "category")
+    List<Location> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LOCATIONS, keyGenerator = CacheConfig.CATALOG_KEY_GENERATOR, sync = true)
+    @EntityGraph(attributePaths = "category")
+    List<Location> findByCategoryIdAndIdGreaterThanOrderByIdAsc(Long categoryId, Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    List<Location> findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(Double minLatitude, Double maxLatitude,
+                                                                       Double minLongitude, Double maxLongitude,
+                                                                       Limit limit);
+
+    /**
+     * Streams every location (with its category) from a database cursor. Must be consumed
+     * inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select l from Location l join fetch l.category order by l.id")
+    Stream<Location> streamAllWithCategory();
+
+    /**
+     * Coordinates and category id of every location, without building entities.
+     */
+    @Query("select new com.capmass.backend.geo.LocationPoint(l.id, l.latitude, l.longitude, l.category.id)"
+        + " from Location l")
+    List<LocationPoint> findAllPoints();
+
+    @Query("select l.id from Location l where l.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
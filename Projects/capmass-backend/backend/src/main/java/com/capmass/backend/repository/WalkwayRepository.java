@@ -0,0 +1,21 @@
+package com.capmass.backend.repository;
+
+import com.capmass.backend.entity.Walkway;
+import com.capmass.backend.routing.WalkwaySegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WalkwayRepository extends JpaRepository<Walkway, Long> {
+
+    /**
+     * Endpoints and lengths of every walkway, read from the foreign key columns without
+     * loading the locations.
+     */
+    @Query("select new com.capmass.backend.routing.WalkwaySegment(w.fromLocation.id, w.toLocation.id, w.lengthMeters) "
+        + "from Walkway w")
+    List<WalkwaySegment> findAllSegments();
+}
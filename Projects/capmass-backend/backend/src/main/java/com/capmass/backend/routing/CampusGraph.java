@@ -0,0 +1,363 @@
+package com.capmass.backend.routing;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.geo.LocationSpatialIndex;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable walking graph over locations in compressed sparse row (CSR) form.
+ * <p>
+ * Nodes are locations sorted by id. The edges leaving node {@code i} are
+ * {@code targets[offsets[i] .. offsets[i + 1])}, with their lengths at the same positions of
+ * {@code weights}. Every walkway is stored in both directions. An edge is never shorter than
+ * the straight-line distance between its ends, so the haversine distance to the destination
+ * is an admissible and consistent A* heuristic.
+ */
+public final class CampusGraph {
+
+    static final CampusGraph EMPTY = new CampusGraph(new long[0], new double[0], new double[0],
+        new int[1], new int[0], new double[0]);
+
+    private final long[] nodeIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private CampusGraph(long[] nodeIds, double[] latitudes, double[] longitudes,
+                        int[] offsets, int[] targets, double[] weights) {
+        this.nodeIds = nodeIds;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the graph from stored walkways. Without any walkways every location is linked
+     * to its {@code fallbackNeighbours} nearest locations instead, so routes exist before
+     * the paths have been mapped.
+     */
+    public static CampusGraph build(Collection<Location> locations, List<WalkwaySegment> walkways,
+                                    int fallbackNeighbours) {
+        Location[] sorted = locations.stream()
+            .filter(location -> location.getId() != null && location.getLatitude() != null
+                && location.getLongitude() != null)
+            .sorted(Comparator.comparing(Location::getId))
+            .toArray(Location[]::new);
+        int n = sorted.length;
+        long[] nodeIds = new long[n];
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        for (int i = 0; i < n; i++) {
+            nodeIds[i] = sorted[i].getId();
+            latitudes[i] = sorted[i].getLatitude();
+            longitudes[i] = sorted[i].getLongitude();
+        }
+
+        EdgeList edges = new EdgeList();
+        if (!walkways.isEmpty()) {
+            for (WalkwaySegment walkway : walkways) {
+                int from = Arrays.binarySearch(nodeIds, walkway.fromLocationId());
+                int to = Arrays.binarySearch(nodeIds, walkway.toLocationId());
+                if (from >= 0 && to >= 0 && from != to) {
+                    double straightLine = GeoMath.haversineMeters(latitudes[from], longitudes[from],
+                        latitudes[to], longitudes[to]);
+                    double length = walkway.lengthMeters() == null ? straightLine
+                        : Math.max(walkway.lengthMeters(), straightLine);
+                    edges.add(from, to, length);
+                }
+            }
+        } else if (fallbackNeighbours > 0 && n > 1) {
+            LocationSpatialIndex index = new LocationSpatialIndex(null, 0.001);
+            for (int i = 0; i < n; i++) {
+                index.put(i, latitudes[i], longitudes[i]);
+            }
+            Set<Long> linked = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                for (LocationSpatialIndex.Neighbor neighbor : index.nearest(latitudes[i], longitudes[i],
+                        fallbackNeighbours + 1, Double.POSITIVE_INFINITY)) {
+                    int j = (int) neighbor.id();
+                    if (j != i && linked.add((long) Math.min(i, j) * n + Math.max(i, j))) {
+                        edges.add(i, j, neighbor.distanceMeters());
+                    }
+                }
+            }
+        }
+        return edges.toGraph(nodeIds, latitudes, longitudes);
+    }
+
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Index of the location in this graph, or -1 when it is not part of it.
+     */
+    public int indexOf(long locationId) {
+        int index = Arrays.binarySearch(nodeIds, locationId);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * A* search between two node indexes. Apart from the returned path, the search only
+     * touches the reusable arrays of the given workspace.
+     *
+     * @return the shortest path, or {@code null} when the target cannot be reached
+     */
+    public RoutePlan shortestPath(int source, int target, Workspace workspace) {
+        workspace.prepare(nodeIds.length);
+        int stamp = workspace.stamp;
+        double[] distance = workspace.distance;
+        int[] previous = workspace.previous;
+        int[] seen = workspace.seen;
+        int[] closed = workspace.closed;
+        double targetLatitude = latitudes[target];
+        double targetLongitude = longitudes[target];
+
+        seen[source] = stamp;
+        distance[source] = 0;
+        previous[source] = -1;
+        workspace.push(source, heuristic(source, targetLatitude, targetLongitude));
+
+        while (workspace.heapSize > 0) {
+            int node = workspace.pop();
+            if (closed[node] == stamp) {
+                continue;
+            }
+            if (node == target) {
+                return path(source, target, workspace);
+            }
+            closed[node] = stamp;
+            double nodeDistance = distance[node];
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                if (closed[next] == stamp) {
+                    continue;
+                }
+                double candidate = nodeDistance + weights[edge];
+                if (seen[next] != stamp || candidate < distance[next]) {
+                    seen[next] = stamp;
+                    distance[next] = candidate;
+                    previous[next] = node;
+                    workspace.push(next, candidate + heuristic(next, targetLatitude, targetLongitude));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walking distances from one node to several others, found with a single Dijkstra search
+     * that stops once every destination is settled.
+     *
+     * @return the distance to each destination, {@link Double#POSITIVE_INFINITY} when unreachable
+     */
+    public double[] distances(int source, int[] destinations, Workspace workspace) {
+        workspace.prepare(nodeIds.length);
+        int stamp = workspace.stamp;
+        double[] distance = workspace.distance;
+        int[] seen = workspace.seen;
+        int[] closed = workspace.closed;
+        int[] targetSlot = workspace.previous;
+        int[] targetStamp = workspace.targetStamp;
+
+        double[] result = new double[destinations.length];
+        Arrays.fill(result, Double.POSITIVE_INFINITY);
+        int remaining = 0;
+        for (int i = 0; i < destinations.length; i++) {
+            if (targetStamp[destinations[i]] != stamp) {
+                targetStamp[destinations[i]] = stamp;
+                targetSlot[destinations[i]] = i;
+                remaining++;
+            }
+        }
+
+        seen[source] = stamp;
+        distance[source] = 0;
+        workspace.push(source, 0);
+        while (workspace.heapSize > 0 && remaining > 0) {
+            int node = workspace.pop();
+            if (closed[node] == stamp) {
+                continue;
+            }
+            closed[node] = stamp;
+            double nodeDistance = distance[node];
+            if (targetStamp[node] == stamp) {
+                result[targetSlot[node]] = nodeDistance;
+                remaining--;
+            }
+            for (int edge = offsets[node], end = offsets[node + 1]; edge < end; edge++) {
+                int next = targets[edge];
+                double candidate = nodeDistance + weights[edge];
+                if (closed[next] != stamp && (seen[next] != stamp || candidate < distance[next])) {
+                    seen[next] = stamp;
+                    distance[next] = candidate;
+                    workspace.push(next, candidate);
+                }
+            }
+        }
+        // Destinations listed more than once share the slot of their first occurrence.
+        for (int i = 0; i < destinations.length; i++) {
+            result[i] = result[targetSlot[destinations[i]]];
+        }
+        return result;
+    }
+
+    private double heuristic(int node, double targetLatitude, double targetLongitude) {
+        return GeoMath.haversineMeters(latitudes[node], longitudes[node], targetLatitude, targetLongitude);
+    }
+
+    private RoutePlan path(int source, int target, Workspace workspace) {
+        int length = 1;
+        for (int node = target; node != source; node = workspace.previous[node]) {
+            length++;
+        }
+        long[] locationIds = new long[length];
+        for (int node = target, i = length - 1; i >= 0; node = workspace.previous[node], i--) {
+            locationIds[i] = nodeIds[node];
+        }
+        return new RoutePlan(locationIds, workspace.distance[target]);
+    }
+
+    /**
+     * Per-thread search state: distances, predecessors and a binary heap, all kept between
+     * searches. Visited markers are compared against a per-search stamp so the arrays never
+     * need clearing.
+     */
+    public static final class Workspace {
+
+        private double[] distance = new double[0];
+        private int[] previous = new int[0];
+        private int[] seen = new int[0];
+        private int[] closed = new int[0];
+        private int[] targetStamp = new int[0];
+        private int stamp;
+
+        private int[] heapNodes = new int[64];
+        private double[] heapKeys = new double[64];
+        private int heapSize;
+
+        private void prepare(int nodeCount) {
+            if (distance.length < nodeCount) {
+                distance = new double[nodeCount];
+                previous = new int[nodeCount];
+                seen = new int[nodeCount];
+                closed = new int[nodeCount];
+                targetStamp = new int[nodeCount];
+                stamp = 0;
+            }
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                Arrays.fill(targetStamp, 0);
+                stamp = 1;
+            }
+            heapSize = 0;
+        }
+
+        private void push(int node, double key) {
+            if (heapSize == heapNodes.length) {
+                heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+                heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapKeys[parent] <= key) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[parent];
+                heapKeys[i] = heapKeys[parent];
+                i = parent;
+            }
+            heapNodes[i] = node;
+            heapKeys[i] = key;
+        }
+
+        private int pop() {
+            int top = heapNodes[0];
+            int lastNode = heapNodes[--heapSize];
+            double lastKey = heapKeys[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                    child++;
+                }
+                if (heapKeys[child] >= lastKey) {
+                    break;
+                }
+                heapNodes[i] = heapNodes[child];
+                heapKeys[i] = heapKeys[child];
+                i = child;
+            }
+            heapNodes[i] = lastNode;
+            heapKeys[i] = lastKey;
+            return top;
+        }
+    }
+
+    /**
+     * Undirected edges collected before they are laid out as CSR arrays.
+     */
+    private static final class EdgeList {
+
+        private int[] from = new int[16];
+        private int[] to = new int[16];
+        private double[] length = new double[16];
+        private int size;
+
+        void add(int a, int b, double meters) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                length = Arrays.copyOf(length, size * 2);
+            }
+            from[size] = a;
+            to[size] = b;
+            length[size] = meters;
+            size++;
+        }
+
+        CampusGraph toGraph(long[] nodeIds, double[] latitudes, double[] longitudes) {
+            int n = nodeIds.length;
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+                offsets[to[i] + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] targets = new int[size * 2];
+            double[] weights = new double[size * 2];
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < size; i++) {
+                int forward = cursor[from[i]]++;
+                targets[forward] = to[i];
+                weights[forward] = length[i];
+                int backward = cursor[to[i]]++;
+                targets[backward] = from[i];
+                weights[backward] = length[i];
+            }
+            return new CampusGraph(nodeIds, latitudes, longitudes, offsets, targets, weights);
+        }
+    }
+}
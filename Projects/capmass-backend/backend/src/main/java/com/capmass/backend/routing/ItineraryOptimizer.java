@@ -0,0 +1,235 @@
+package com.capmass.backend.routing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Orders the stops of an itinerary to keep the total walking distance short.
+ * <p>
+ * Stop 0 is where the walk starts. The walk ends at the last stop visited, or back at stop 0
+ * for a round trip. The order starts as a nearest-neighbour walk and is improved with 2-opt
+ * (reversing a run of stops) and Or-opt (moving a run of up to three stops) until neither
+ * helps. Small itineraries stop there. From {@value #PARALLEL_THRESHOLD} stops on, several
+ * searches run in parallel from different starting orders. Each one keeps perturbing its
+ * best order and searching again until the deadline, and the shortest result wins.
+ * Distances must be symmetric.
+ */
+public final class ItineraryOptimizer {
+
+    static final int PARALLEL_THRESHOLD = 12;
+    static final int MAX_KICKS_PER_STOP = 50;
+
+    private static final double EPSILON = 1e-9;
+
+    private final double[][] distances;
+    private final boolean roundTrip;
+    private final int n;
+
+    private ItineraryOptimizer(double[][] distances, boolean roundTrip) {
+        this.distances = distances;
+        this.roundTrip = roundTrip;
+        this.n = distances.length;
+    }
+
+    /**
+     * Returns the order to visit the stops in, as indexes into the distance matrix, starting
+     * with 0. The search stops early at {@code deadlineNanos} ({@link System#nanoTime()} based)
+     * and returns the best order found so far.
+     */
+    public static int[] optimize(double[][] distances, boolean roundTrip, long deadlineNanos) {
+        ItineraryOptimizer optimizer = new ItineraryOptimizer(distances, roundTrip);
+        if (optimizer.n < 4) {
+            return optimizer.nearestNeighbour(null);
+        }
+        if (optimizer.n < PARALLEL_THRESHOLD) {
+            int[] order = optimizer.nearestNeighbour(null);
+            optimizer.improve(order, deadlineNanos);
+            return order;
+        }
+        int searches = Math.max(2, Runtime.getRuntime().availableProcessors());
+        return IntStream.range(0, searches)
+            .parallel()
+            .mapToObj(search -> optimizer.search(search, deadlineNanos))
+            .min(Comparator.comparingDouble(optimizer::length))
+            .orElseThrow();
+    }
+
+    /**
+     * Total walking distance of the stops in the given order.
+     */
+    public static double length(double[][] distances, int[] order, boolean roundTrip) {
+        return new ItineraryOptimizer(distances, roundTrip).length(order);
+    }
+
+    private double length(int[] order) {
+        double total = 0;
+        for (int i = 0; i + 1 < order.length; i++) {
+            total += distances[order[i]][order[i + 1]];
+        }
+        return roundTrip ? total + distances[order[order.length - 1]][order[0]] : total;
+    }
+
+    private int[] search(int search, long deadlineNanos) {
+        SplittableRandom random = new SplittableRandom(search);
+        int[] best = nearestNeighbour(search == 0 ? null : random);
+        improve(best, deadlineNanos);
+        double bestLength = length(best);
+        for (int kick = 0; kick < n * MAX_KICKS_PER_STOP && System.nanoTime() < deadlineNanos; kick++) {
+            int[] candidate = doubleBridge(best, random);
+            improve(candidate, deadlineNanos);
+            double candidateLength = length(candidate);
+            if (candidateLength < bestLength - EPSILON) {
+                best = candidate;
+                bestLength = candidateLength;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Walks to the closest unvisited stop each time. With a random source one of the three
+     * closest is picked instead, to give parallel searches different starting points.
+     */
+    private int[] nearestNeighbour(SplittableRandom random) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        int[] closest = new int[3];
+        for (int position = 1; position < n; position++) {
+            int current = order[position - 1];
+            int found = 0;
+            Arrays.fill(closest, -1);
+            for (int stop = 0; stop < n; stop++) {
+                if (visited[stop]) {
+                    continue;
+                }
+                // Keep the three closest unvisited stops in ascending distance.
+                int slot = Math.min(found, closest.length - 1);
+                if (found >= closest.length
+                        && distances[current][stop] >= distances[current][closest[slot]]) {
+                    continue;
+                }
+                while (slot > 0 && distances[current][stop] < distances[current][closest[slot - 1]]) {
+                    closest[slot] = closest[slot - 1];
+                    slot--;
+                }
+                closest[slot] = stop;
+                found++;
+            }
+            int next = random == null ? closest[0] : closest[random.nextInt(Math.min(found, closest.length))];
+            order[position] = next;
+            visited[next] = true;
+        }
+        return order;
+    }
+
+    /**
+     * Applies improving 2-opt and Or-opt moves until there are none left or time runs out.
+     */
+    private void improve(int[] order, long deadlineNanos) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadlineNanos) {
+            improved = twoOpt(order) | orOpt(order);
+        }
+    }
+
+    /**
+     * Distance from a stop to whatever follows the given position: the stop there, the start
+     * of a round trip, or nothing at the end of a one-way walk.
+     */
+    private double toPosition(int[] order, int stop, int position) {
+        if (position < n) {
+            return distances[stop][order[position]];
+        }
+        return roundTrip ? distances[stop][order[0]] : 0;
+    }
+
+    private boolean twoOpt(int[] order) {
+        boolean improved = false;
+        for (int i = 1; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double before = distances[order[i - 1]][order[i]] + toPosition(order, order[j], j + 1);
+                double after = distances[order[i - 1]][order[j]] + toPosition(order, order[i], j + 1);
+                if (after < before - EPSILON) {
+                    reverse(order, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private boolean orOpt(int[] order) {
+        boolean improved = false;
+        for (int length = 1; length <= 3; length++) {
+            for (int i = 1; i + length <= n; i++) {
+                int first = order[i];
+                int last = order[i + length - 1];
+                double removed = distances[order[i - 1]][first] + toPosition(order, last, i + length)
+                    - toPosition(order, order[i - 1], i + length);
+                for (int k = 0; k < n; k++) {
+                    if (k >= i - 1 && k < i + length) {
+                        continue;
+                    }
+                    double gap = toPosition(order, order[k], k + 1);
+                    double forward = distances[order[k]][first] + toPosition(order, last, k + 1) - gap;
+                    double backward = distances[order[k]][last] + toPosition(order, first, k + 1) - gap;
+                    if (Math.min(forward, backward) < removed - EPSILON) {
+                        move(order, i, length, k, backward < forward);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static void reverse(int[] order, int from, int to) {
+        while (from < to) {
+            int swap = order[from];
+            order[from++] = order[to];
+            order[to--] = swap;
+        }
+    }
+
+    /**
+     * Moves the run of stops at {@code [start, start + length)} to just after position
+     * {@code after}, optionally reversed.
+     */
+    private static void move(int[] order, int start, int length, int after, boolean reversed) {
+        int[] run = Arrays.copyOfRange(order, start, start + length);
+        if (reversed) {
+            reverse(run, 0, length - 1);
+        }
+        if (after < start) {
+            System.arraycopy(order, after + 1, order, after + 1 + length, start - after - 1);
+            System.arraycopy(run, 0, order, after + 1, length);
+        } else {
+            System.arraycopy(order, start + length, order, start, after - start - length + 1);
+            System.arraycopy(run, 0, order, after - length + 1, length);
+        }
+    }
+
+    /**
+     * Cuts the order after the start into four runs A B C D and reconnects them as A C B D, a
+     * change that 2-opt and Or-opt cannot undo in one step.
+     */
+    private int[] doubleBridge(int[] order, SplittableRandom random) {
+        int first = 1 + random.nextInt(n - 3);
+        int second = first + 1 + random.nextInt(n - first - 2);
+        int third = second + 1 + random.nextInt(n - second - 1);
+        int[] result = new int[n];
+        int position = 0;
+        System.arraycopy(order, 0, result, position, first);
+        position += first;
+        System.arraycopy(order, second, result, position, third - second);
+        position += third - second;
+        System.arraycopy(order, first, result, position, second - first);
+        position += second - first;
+        System.arraycopy(order, third, result, position, n - third);
+        return result;
+    }
+}
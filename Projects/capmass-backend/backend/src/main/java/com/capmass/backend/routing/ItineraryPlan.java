@@ -0,0 +1,7 @@
+package com.capmass.backend.routing;
+
+/**
+ * Stops of an itinerary as location ids in visiting order, with the total walking distance.
+ */
+public record ItineraryPlan(long[] stopIds, double distanceMeters) {
+}
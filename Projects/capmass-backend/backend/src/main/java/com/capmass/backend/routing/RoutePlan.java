@@ -0,0 +1,7 @@
+package com.capmass.backend.routing;
+
+/**
+ * Shortest walking path as the ids of the locations passed, from start to destination.
+ */
+public record RoutePlan(long[] locationIds, double distanceMeters) {
+}
@@ -0,0 +1,204 @@
+package com.capmass.backend.routing;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogSeededEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.catalog.LazyCatalogView;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.repository.WalkwayRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * Plans walking routes between locations on a {@link CampusGraph}.
+ * <p>
+ * The graph is built once the application is ready. Location and walkway writes only mark
+ * it stale; the next route request rebuilds it, so a burst of edits costs one rebuild.
+ * Searches run without locking against the current immutable graph, each thread reusing
+ * its own search workspace.
+ * <p>
+ * Itineraries need the walking distance between every pair of stops. Those distances are
+ * cached per graph (up to {@code routing.distance-cache.max-entries} pairs), so repeated and
+ * overlapping itineraries skip the graph searches.
+ */
+@Component
+public class WalkingRoutePlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WalkingRoutePlanner.class);
+
+    private final LocationRepository locationRepository;
+    private final WalkwayRepository walkwayRepository;
+    private final int fallbackNeighbours;
+    private final long distanceCacheSize;
+    private final ThreadLocal<CampusGraph.Workspace> workspaces = ThreadLocal.withInitial(CampusGraph.Workspace::new);
+
+    private final LazyCatalogView<Routing> routing;
+
+    public WalkingRoutePlanner(LocationRepository locationRepository,
+                               WalkwayRepository walkwayRepository,
+                               @Value("${routing.fallback-neighbours:4}") int fallbackNeighbours,
+                               @Value("${routing.distance-cache.max-entries:100000}") long distanceCacheSize) {
+        this.locationRepository = locationRepository;
+        this.walkwayRepository = walkwayRepository;
+        this.fallbackNeighbours = fallbackNeighbours;
+        this.distanceCacheSize = distanceCacheSize;
+        this.routing = new LazyCatalogView<>(new Routing(CampusGraph.EMPTY, newDistanceCache()),
+            this::buildRouting);
+    }
+
+    @EventListener(CatalogSeededEvent.class)
+    public void rebuild() {
+        routing.markStale();
+        routing.get();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() == CatalogChangeEvent.EntityType.LOCATION
+                || event.entityType() == CatalogChangeEvent.EntityType.WALKWAY) {
+            routing.markStale();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        if (event.contains(CatalogChangeEvent.EntityType.LOCATION)
+                || event.contains(CatalogChangeEvent.EntityType.WALKWAY)) {
+            routing.markStale();
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        routing.markStale();
+    }
+
+    /**
+     * Shortest walking path between two locations, or empty when either location is unknown
+     * or no path connects them.
+     */
+    public Optional<RoutePlan> plan(long fromLocationId, long toLocationId) {
+        CampusGraph current = routing.get().graph();
+        int source = current.indexOf(fromLocationId);
+        int target = current.indexOf(toLocationId);
+        if (source < 0 || target < 0) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.shortestPath(source, target, workspaces.get()));
+    }
+
+    /**
+     * Orders the stops so the walk through all of them is short. The first stop is the
+     * starting point; with {@code roundTrip} the walk returns to it. The order is searched
+     * for at most {@code timeBudget} once the distances are known.
+     *
+     * @return the stops in visiting order, or empty when a stop is unknown or the stops are
+     * not all connected
+     */
+    public Optional<ItineraryPlan> planItinerary(long[] stopIds, boolean roundTrip, Duration timeBudget) {
+        double[][] distances = distanceMatrix(routing.get(), stopIds);
+        if (distances == null) {
+            return Optional.empty();
+        }
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        int[] order = ItineraryOptimizer.optimize(distances, roundTrip, deadline);
+        long[] orderedIds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            orderedIds[i] = stopIds[order[i]];
+        }
+        return Optional.of(new ItineraryPlan(orderedIds, ItineraryOptimizer.length(distances, order, roundTrip)));
+    }
+
+    /**
+     * Walking distances between all stops, or null when a stop is unknown or unreachable.
+     * Each row runs one search to the stops after it that are not cached yet; rows run in
+     * parallel for larger itineraries.
+     */
+    private double[][] distanceMatrix(Routing current, long[] stopIds) {
+        int n = stopIds.length;
+        int[] nodes = new int[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = current.graph().indexOf(stopIds[i]);
+            if (nodes[i] < 0) {
+                return null;
+            }
+        }
+        double[][] distances = new double[n][n];
+        IntStream rows = IntStream.range(0, n);
+        if (n >= ItineraryOptimizer.PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        rows.forEach(i -> {
+            int[] missing = new int[n - i - 1];
+            int missingCount = 0;
+            for (int j = i + 1; j < n; j++) {
+                Double cached = current.distances().getIfPresent(pairKey(nodes[i], nodes[j]));
+                if (cached != null) {
+                    distances[i][j] = distances[j][i] = cached;
+                } else {
+                    missing[missingCount++] = j;
+                }
+            }
+            if (missingCount == 0) {
+                return;
+            }
+            int[] destinations = new int[missingCount];
+            for (int m = 0; m < missingCount; m++) {
+                destinations[m] = nodes[missing[m]];
+            }
+            double[] found = current.graph().distances(nodes[i], destinations, workspaces.get());
+            for (int m = 0; m < missingCount; m++) {
+                int j = missing[m];
+                distances[i][j] = distances[j][i] = found[m];
+                current.distances().put(pairKey(nodes[i], nodes[j]), found[m]);
+            }
+        });
+        for (double[] row : distances) {
+            for (double distance : row) {
+                if (Double.isInfinite(distance)) {
+                    return null;
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static long pairKey(int a, int b) {
+        return a < b ? (long) a << 32 | b : (long) b << 32 | a;
+    }
+
+    private Cache<Long, Double> newDistanceCache() {
+        return Caffeine.newBuilder().maximumSize(distanceCacheSize).build();
+    }
+
+    private Routing buildRouting() {
+        long started = System.nanoTime();
+        CampusGraph rebuilt = CampusGraph.build(locationRepository.findAll(),
+            walkwayRepository.findAllSegments(), fallbackNeighbours);
+        logger.info("Walking graph built with {} locations and {} edges in {} ms",
+            rebuilt.nodeCount(), rebuilt.edgeCount() / 2, (System.nanoTime() - started) / 1_000_000);
+        return new Routing(rebuilt, newDistanceCache());
+    }
+
+    /**
+     * A graph together with the stop distances measured on it, swapped as one on rebuild.
+     */
+    private record Routing(CampusGraph graph, Cache<Long, Double> distances) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.capmass.backend.routing;
+
+/**
+ * The parts of a {@code Walkway} the route graph needs.
+ */
+public record WalkwaySegment(long fromLocationId, long toLocationId, Double lengthMeters) {
+}
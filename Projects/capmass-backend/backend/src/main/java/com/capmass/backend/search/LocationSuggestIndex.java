@@ -0,0 +1,735 @@
+package com.capmass.backend.search;
+
+import com.capmass.backend.catalog.CatalogBatchChangeEvent;
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogReloadedEvent;
+import com.capmass.backend.catalog.CatalogSeededEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over location names and descriptions.
+ * <p>
+ * Names and descriptions are split into normalized terms (lower case, accents removed) and
+ * the distinct terms are stored in a trie. Every trie node keeps the most frequent terms
+ * below it, so completing a prefix is a walk down the trie plus a read of one short list.
+ * Typos are tolerated by walking the trie with a Levenshtein row per node (1 edit from four
+ * characters, 2 edits from seven). Branches that are already too far from the query are not
+ * visited.
+ * <p>
+ * The last query term is completed as a prefix and earlier terms must match whole terms.
+ * Every query term has to match. Results rank by match quality, then name over description,
+ * then names starting with the query, then shorter names. To keep keystrokes cheap, at most
+ * {@value #MAX_TERMS_PER_TOKEN} candidate terms per query term are considered.
+ * <p>
+ * Postings are kept in one order for all terms: shorter names first, then by id, which is
+ * also how ties are ranked. A search walks the locations of the query term with the fewest
+ * postings in that order and skips ahead in the postings of the other terms, so common terms
+ * are intersected in full without building a set per term, and only the ranked output is
+ * capped. The walk stops once the results found so far cannot be beaten: every later location
+ * would at best tie and loses ties.
+ * <p>
+ * The index is rebuilt once the application is ready and after bulk reloads, and kept
+ * current from {@link CatalogChangeEvent}s in between.
+ */
+@Component
+public class LocationSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationSuggestIndex.class);
+
+    static final int MAX_QUERY_TOKENS = 5;
+    static final int MAX_TOKEN_LENGTH = 32;
+    static final int TOP_TERMS_PER_NODE = 16;
+    static final int MAX_TERMS_PER_TOKEN = 16;
+
+    private static final float NAME_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float NAME_START_BONUS = 0.5f;
+    private static final float EDIT_PENALTY = 0.3f;
+    private static final float COMPLETION_PENALTY = 0.1f;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final LocationRepository locationRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Terms terms = new Terms();
+
+    public LocationSuggestIndex(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    @EventListener(CatalogSeededEvent.class)
+    public void rebuild() {
+        replaceAll(locationRepository.findAll());
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReload(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.entityType() != CatalogChangeEvent.EntityType.LOCATION || event.entityId() == null) {
+            return;
+        }
+        if (event.operation() == CatalogChangeEvent.Operation.DELETE) {
+            remove(event.entityId());
+        } else if (event.entity() instanceof Location location) {
+            put(location.getId(), location.getName(), location.getDescription());
+        }
+    }
+
+    @Order(CatalogVersion.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogBatchChange(CatalogBatchChangeEvent event) {
+        // The write lock is reentrant: the batch is applied under one acquisition.
+        lock.writeLock().lock();
+        try {
+            event.changes().forEach(this::onCatalogChange);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index. The new index is built before the lock is taken, so lookups
+     * keep being served from the old one in the meantime.
+     */
+    public void replaceAll(Collection<Location> locations) {
+        Terms rebuilt = new Terms();
+        // In postings order, so postings are built by appending.
+        List<Location> ordered = new ArrayList<>(locations);
+        ordered.sort(Comparator.comparingInt((Location location) -> nameLength(location.getName()))
+            .thenComparing(Location::getId));
+        for (Location location : ordered) {
+            rebuilt.add(location.getId(), location.getName(), location.getDescription(), false);
+        }
+        rebuilt.computeTopTerms();
+        lock.writeLock().lock();
+        try {
+            terms = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Suggest index built with {} locations and {} terms", locations.size(), rebuilt.termCount());
+    }
+
+    public void put(long id, String name, String description) {
+        lock.writeLock().lock();
+        try {
+            terms.remove(id);
+            terms.add(id, name, description, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            terms.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return terms.entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best matching locations, best first.
+     */
+    public List<Long> suggest(String query, int limit) {
+        List<String> tokens = tokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        // A trailing separator means the last term is complete and should not be expanded.
+        boolean completeLastToken = !Character.isLetterOrDigit(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            return terms.search(tokens, completeLastToken, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into normalized terms: lower case, accents stripped, split on anything that
+     * is not a letter or digit, and cut to {@value #MAX_TOKEN_LENGTH} characters.
+     */
+    static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private static int nameLength(String name) {
+        return name == null ? 0 : name.length();
+    }
+
+    static int maxEdits(int tokenLength) {
+        if (tokenLength < 4) {
+            return 0;
+        }
+        return tokenLength < 7 ? 1 : 2;
+    }
+
+    /**
+     * Term dictionary, trie and postings. Not thread-safe; guarded by the index lock.
+     */
+    private static final class Terms {
+
+        private final Node root = new Node();
+        private final List<String> termText = new ArrayList<>();
+        private final Map<String, Integer> termIds = new HashMap<>();
+        private final List<Postings> namePostings = new ArrayList<>();
+        private final List<Postings> descriptionPostings = new ArrayList<>();
+        private final Map<Long, Entry> entries = new HashMap<>();
+
+        int termCount() {
+            return termText.size();
+        }
+
+        void add(long id, String name, String description, boolean maintainTopTerms) {
+            Set<String> nameTokens = new LinkedHashSet<>(tokens(name));
+            Set<String> descriptionTokens = new LinkedHashSet<>(tokens(description));
+            descriptionTokens.removeAll(nameTokens);
+
+            int nameLength = nameLength(name);
+            int[] nameTerms = new int[nameTokens.size()];
+            int i = 0;
+            for (String token : nameTokens) {
+                int termId = termId(token);
+                namePostings.get(termId).add(nameLength, id);
+                nameTerms[i++] = termId;
+            }
+            int[] descriptionTerms = new int[descriptionTokens.size()];
+            i = 0;
+            for (String token : descriptionTokens) {
+                int termId = termId(token);
+                descriptionPostings.get(termId).add(nameLength, id);
+                descriptionTerms[i++] = termId;
+            }
+            entries.put(id, new Entry(nameTerms, descriptionTerms, nameLength));
+
+            if (maintainTopTerms) {
+                updateTopTerms(nameTerms);
+                updateTopTerms(descriptionTerms);
+            }
+        }
+
+        void remove(long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (int termId : entry.nameTerms()) {
+                namePostings.get(termId).remove(entry.nameLength(), id);
+            }
+            for (int termId : entry.descriptionTerms()) {
+                descriptionPostings.get(termId).remove(entry.nameLength(), id);
+            }
+            updateTopTerms(entry.nameTerms());
+            updateTopTerms(entry.descriptionTerms());
+        }
+
+        private int termId(String token) {
+            Integer existing = termIds.get(token);
+            if (existing != null) {
+                return existing;
+            }
+            int termId = termText.size();
+            termText.add(token);
+            termIds.put(token, termId);
+            namePostings.add(new Postings());
+            descriptionPostings.add(new Postings());
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.childOrCreate(token.charAt(i));
+            }
+            node.termId = termId;
+            return termId;
+        }
+
+        private int frequency(int termId) {
+            return namePostings.get(termId).size + descriptionPostings.get(termId).size;
+        }
+
+        /**
+         * Frequent terms first, then shorter terms, then older terms.
+         */
+        private int compareTerms(int a, int b) {
+            int byFrequency = Integer.compare(frequency(b), frequency(a));
+            if (byFrequency != 0) {
+                return byFrequency;
+            }
+            int byLength = Integer.compare(termText.get(a).length(), termText.get(b).length());
+            return byLength != 0 ? byLength : Integer.compare(a, b);
+        }
+
+        void computeTopTerms() {
+            computeTopTerms(root);
+        }
+
+        private void computeTopTerms(Node node) {
+            for (int i = 0; i < node.size; i++) {
+                computeTopTerms(node.children[i]);
+            }
+            mergeTopTerms(node);
+        }
+
+        /**
+         * Recomputes the top terms of every node on the path to each term, deepest node first.
+         */
+        private void updateTopTerms(int[] changedTerms) {
+            for (int termId : changedTerms) {
+                String term = termText.get(termId);
+                Node[] path = new Node[term.length() + 1];
+                path[0] = root;
+                for (int i = 0; i < term.length(); i++) {
+                    path[i + 1] = path[i].child(term.charAt(i));
+                }
+                for (int i = path.length - 1; i >= 0; i--) {
+                    mergeTopTerms(path[i]);
+                }
+            }
+        }
+
+        private void mergeTopTerms(Node node) {
+            int candidateCount = node.termId >= 0 ? 1 : 0;
+            for (int i = 0; i < node.size; i++) {
+                candidateCount += node.children[i].topTerms.length;
+            }
+            Integer[] candidates = new Integer[candidateCount];
+            int n = 0;
+            if (node.termId >= 0) {
+                candidates[n++] = node.termId;
+            }
+            for (int i = 0; i < node.size; i++) {
+                for (int termId : node.children[i].topTerms) {
+                    candidates[n++] = termId;
+                }
+            }
+            Arrays.sort(candidates, this::compareTerms);
+            int[] top = new int[Math.min(TOP_TERMS_PER_NODE, candidates.length)];
+            int size = 0;
+            for (int i = 0; i < candidates.length && size < top.length; i++) {
+                if (frequency(candidates[i]) > 0) {
+                    top[size++] = candidates[i];
+                }
+            }
+            node.topTerms = size == top.length ? top : Arrays.copyOf(top, size);
+        }
+
+        List<Long> search(List<String> tokens, boolean completeLastToken, int limit) {
+            List<TokenCursor> cursors = new ArrayList<>(tokens.size());
+            Map<Integer, Float> firstTokenTerms = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = i == tokens.size() - 1 && !completeLastToken;
+                Map<Integer, Float> termScores = matchTerms(tokens.get(i), prefix);
+                if (termScores.isEmpty()) {
+                    return List.of();
+                }
+                if (i == 0) {
+                    firstTokenTerms = termScores;
+                }
+                cursors.add(cursor(termScores));
+            }
+
+            // Every query term has to match: walk the most selective one and let the others
+            // skip it ahead to their next location.
+            cursors.sort(Comparator.comparingLong(TokenCursor::size));
+            TokenCursor driver = cursors.get(0);
+            float bestPossible = NAME_START_BONUS;
+            for (TokenCursor cursor : cursors) {
+                bestPossible += cursor.maxScore();
+            }
+            Comparator<Ranked> order = Comparator.comparingDouble((Ranked r) -> -r.score())
+                .thenComparingInt(Ranked::nameLength)
+                .thenComparingLong(Ranked::id);
+            PriorityQueue<Ranked> best = new PriorityQueue<>(order.reversed());
+
+            boolean more = driver.seek(0, Long.MIN_VALUE, false);
+            while (more && (best.size() < limit || best.peek().score() < bestPossible)) {
+                int nameLength = driver.nameLength();
+                long id = driver.id();
+                float total = driver.score(nameLength, id);
+                TokenCursor missing = null;
+                for (int i = 1; i < cursors.size() && missing == null; i++) {
+                    float score = cursors.get(i).score(nameLength, id);
+                    if (score == 0) {
+                        missing = cursors.get(i);
+                    }
+                    total += score;
+                }
+                if (missing != null) {
+                    more = missing.seek(nameLength, id, true) && driver.seek(missing.nameLength(), missing.id(), false);
+                    continue;
+                }
+                // Later locations lose ties, so only a higher score gets in once the list is full.
+                if (best.size() < limit || total + NAME_START_BONUS > best.peek().score()) {
+                    Entry entry = entries.get(id);
+                    if (entry.nameTerms().length > 0 && firstTokenTerms.containsKey(entry.nameTerms()[0])) {
+                        total += NAME_START_BONUS;
+                    }
+                    if (best.size() < limit || total > best.peek().score()) {
+                        best.add(new Ranked(id, total, nameLength));
+                        if (best.size() > limit) {
+                            best.poll();
+                        }
+                    }
+                }
+                more = driver.seek(nameLength, id, true);
+            }
+
+            List<Ranked> ranked = new ArrayList<>(best);
+            ranked.sort(order);
+            return ranked.stream().map(Ranked::id).toList();
+        }
+
+        private TokenCursor cursor(Map<Integer, Float> termScores) {
+            List<Postings> postings = new ArrayList<>(termScores.size() * 2);
+            List<Float> scores = new ArrayList<>(termScores.size() * 2);
+            for (Map.Entry<Integer, Float> term : termScores.entrySet()) {
+                postings.add(namePostings.get(term.getKey()));
+                scores.add(term.getValue() * NAME_WEIGHT);
+                postings.add(descriptionPostings.get(term.getKey()));
+                scores.add(term.getValue() * DESCRIPTION_WEIGHT);
+            }
+            return new TokenCursor(postings, scores);
+        }
+
+        /**
+         * Terms matching one query token, with a score in (0, 1]: 1 for an exact match,
+         * less for completions and for each edit.
+         */
+        private Map<Integer, Float> matchTerms(String token, boolean prefix) {
+            int maxEdits = maxEdits(token.length());
+            int[][] rows = new int[token.length() + maxEdits + 1][token.length() + 1];
+            for (int j = 0; j <= token.length(); j++) {
+                rows[0][j] = j;
+            }
+            Map<Integer, Float> matches = new HashMap<>();
+            walk(root, 0, token, prefix, maxEdits, rows, matches);
+
+            if (matches.size() <= MAX_TERMS_PER_TOKEN) {
+                return matches;
+            }
+            List<Map.Entry<Integer, Float>> best = new ArrayList<>(matches.entrySet());
+            best.sort(Comparator.comparingDouble((Map.Entry<Integer, Float> match) -> -match.getValue())
+                .thenComparing(Map.Entry::getKey, this::compareTerms));
+            Map<Integer, Float> limited = new HashMap<>();
+            for (Map.Entry<Integer, Float> match : best.subList(0, MAX_TERMS_PER_TOKEN)) {
+                limited.put(match.getKey(), match.getValue());
+            }
+            return limited;
+        }
+
+        private void walk(Node node, int depth, String token, boolean prefix, int maxEdits, int[][] rows,
+                          Map<Integer, Float> matches) {
+            int length = token.length();
+            int[] previous = rows[depth];
+            int[] row = rows[depth + 1];
+            for (int c = 0; c < node.size; c++) {
+                char label = node.labels[c];
+                Node child = node.children[c];
+                row[0] = previous[0] + 1;
+                int rowMin = row[0];
+                for (int j = 1; j <= length; j++) {
+                    int substitution = previous[j - 1] + (token.charAt(j - 1) == label ? 0 : 1);
+                    row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+                    rowMin = Math.min(rowMin, row[j]);
+                }
+
+                int distance = row[length];
+                if (distance <= maxEdits) {
+                    if (prefix) {
+                        collectCompletions(child, depth + 1, distance, matches);
+                    } else if (child.termId >= 0 && frequency(child.termId) > 0) {
+                        matches.merge(child.termId, 1f - EDIT_PENALTY * distance, Math::max);
+                    }
+                }
+                if (rowMin <= maxEdits && depth + 2 < rows.length) {
+                    walk(child, depth + 1, token, prefix, maxEdits, rows, matches);
+                }
+            }
+        }
+
+        /**
+         * Adds the most frequent terms that start with the path to {@code node}.
+         */
+        private void collectCompletions(Node node, int pathLength, int distance, Map<Integer, Float> matches) {
+            for (int termId : node.topTerms) {
+                float score = 1f - EDIT_PENALTY * distance;
+                if (termText.get(termId).length() > pathLength) {
+                    score -= COMPLETION_PENALTY;
+                }
+                matches.merge(termId, score, Math::max);
+            }
+        }
+    }
+
+    private record Entry(int[] nameTerms, int[] descriptionTerms, int nameLength) {
+    }
+
+    private record Ranked(long id, float score, int nameLength) {
+    }
+
+    /**
+     * Reads the postings of every term matching one query token together, in postings order.
+     * Positions only move forward.
+     */
+    private static final class TokenCursor {
+
+        private final Postings[] postings;
+        private final float[] scores;
+        private final int[] positions;
+        private final long size;
+        private final float maxScore;
+        private int nameLength;
+        private long id;
+
+        TokenCursor(List<Postings> postings, List<Float> scores) {
+            this.postings = postings.toArray(new Postings[0]);
+            this.scores = new float[scores.size()];
+            long total = 0;
+            float max = 0;
+            for (int i = 0; i < this.postings.length; i++) {
+                this.scores[i] = scores.get(i);
+                total += this.postings[i].size;
+                if (this.postings[i].size > 0) {
+                    max = Math.max(max, this.scores[i]);
+                }
+            }
+            this.positions = new int[this.postings.length];
+            this.size = total;
+            this.maxScore = max;
+        }
+
+        long size() {
+            return size;
+        }
+
+        float maxScore() {
+            return maxScore;
+        }
+
+        int nameLength() {
+            return nameLength;
+        }
+
+        long id() {
+            return id;
+        }
+
+        /**
+         * Moves to the first location at (or, when {@code after}, past) the given one in any of
+         * the postings. Returns false when none is left.
+         */
+        boolean seek(int nameLength, long id, boolean after) {
+            int found = -1;
+            for (int i = 0; i < postings.length; i++) {
+                positions[i] = postings[i].seek(nameLength, id, after, positions[i]);
+                if (positions[i] < postings[i].size
+                        && (found < 0 || postings[i].compare(positions[i], this.nameLength, this.id) < 0)) {
+                    found = i;
+                    this.nameLength = postings[i].nameLengths[positions[i]];
+                    this.id = postings[i].ids[positions[i]];
+                }
+            }
+            return found >= 0;
+        }
+
+        /**
+         * The best score of the token for the location, or 0 when no matching term contains it.
+         */
+        float score(int nameLength, long id) {
+            float best = 0;
+            for (int i = 0; i < postings.length; i++) {
+                positions[i] = postings[i].seek(nameLength, id, false, positions[i]);
+                if (positions[i] < postings[i].size && postings[i].compare(positions[i], nameLength, id) == 0) {
+                    best = Math.max(best, scores[i]);
+                }
+            }
+            return best;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_TERMS = new int[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        private int termId = -1;
+        private int[] topTerms = NO_TERMS;
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, 0, size, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            if (size == labels.length) {
+                int capacity = Math.max(2, size * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, size - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, size - insertAt);
+            Node child = new Node();
+            labels[insertAt] = label;
+            children[insertAt] = child;
+            size++;
+            return child;
+        }
+    }
+
+    /**
+     * Growable list of the locations containing one term, ordered by name length, then id.
+     */
+    private static final class Postings {
+
+        private int[] nameLengths = new int[2];
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(int nameLength, long id) {
+            int index = size == 0 || compare(size - 1, nameLength, id) < 0 ? -size - 1 : search(0, size, nameLength, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                nameLengths = Arrays.copyOf(nameLengths, size * 2);
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(nameLengths, insertAt, nameLengths, insertAt + 1, size - insertAt);
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            nameLengths[insertAt] = nameLength;
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(int nameLength, long id) {
+            int index = search(0, size, nameLength, id);
+            if (index >= 0) {
+                System.arraycopy(nameLengths, index + 1, nameLengths, index, size - index - 1);
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        int compare(int index, int nameLength, long id) {
+            int byLength = Integer.compare(nameLengths[index], nameLength);
+            return byLength != 0 ? byLength : Long.compare(ids[index], id);
+        }
+
+        /**
+         * Position of the first location at (or, when {@code after}, past) the given one,
+         * searching from {@code from} with steps that double, so short skips stay cheap.
+         */
+        int seek(int nameLength, long id, boolean after, int from) {
+            int limit = after ? 1 : 0;
+            if (from >= size || compare(from, nameLength, id) >= limit) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            int high = from + step;
+            while (high < size && compare(high, nameLength, id) < limit) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            // Entries in (low, end) before the target are skipped by a binary search.
+            int end = Math.min(high + 1, size);
+            low++;
+            while (low < end) {
+                int mid = (low + end) >>> 1;
+                if (compare(mid, nameLength, id) < limit) {
+                    low = mid + 1;
+                } else {
+                    end = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Index of the location, or {@code -(insertion point) - 1} when absent.
+         */
+        private int search(int from, int to, int nameLength, long id) {
+            int low = from;
+            int high = to - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int comparison = compare(mid, nameLength, id);
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -low - 1;
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package com.capmass.backend;
 
+import com.capmass.backend.controller.LocationBatchController;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class BackendApplicationTests {
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void writeApiDisabledByDefault() {
+		assertTrue(context.getBeansOfType(LocationBatchController.class).isEmpty());
+	}
+
 }
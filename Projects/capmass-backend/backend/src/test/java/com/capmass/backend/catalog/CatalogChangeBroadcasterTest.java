@@ -0,0 +1,181 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.entity.Location;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogChangeBroadcaster Unit Tests")
+class CatalogChangeBroadcasterTest {
+
+    /**
+     * An emitter whose writes block like a socket to a client that stopped reading.
+     */
+    private static final class StalledEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            writing.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+
+        @Override
+        public synchronized void send(Set<ResponseBodyEmitter.DataWithMediaType> items) {
+            StringBuilder frame = new StringBuilder();
+            items.forEach(item -> frame.append(item.getData()));
+            frames.add(frame.toString());
+            sent.countDown();
+        }
+
+        /** Names of the events received so far, skipping comments. */
+        List<String> events() {
+            return frames.stream()
+                .filter(frame -> frame.contains("event:"))
+                .map(frame -> frame.substring(frame.indexOf("event:") + 6, frame.indexOf('\n', frame.indexOf("event:"))))
+                .toList();
+        }
+    }
+
+    private static CatalogChangeEvent upsert(long id) {
+        return new CatalogChangeEvent(CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, id,
+            new Location(id, "Location " + id, null, null, 1.0, 2.0));
+    }
+
+    private static List<String> awaitEvents(RecordingEmitter emitter, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (emitter.events().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return emitter.events();
+    }
+
+    @Test
+    @DisplayName("A batch write should be pushed change by change up to the limit, as one resync beyond it")
+    void testBatchFanOutCapped() throws Exception {
+        CatalogChangeLog changeLog = new CatalogChangeLog(100);
+        CatalogChangeBroadcaster broadcaster = new CatalogChangeBroadcaster(changeLog,
+            new ObjectMapper(), new SimpleMeterRegistry(), 16, 1, 4, 3600, 5000, 3);
+        try {
+            RecordingEmitter emitter = new RecordingEmitter();
+            broadcaster.subscribe(null, emitter);
+
+            CatalogBatchChangeEvent small = new CatalogBatchChangeEvent(List.of(upsert(1), upsert(2), upsert(3)));
+            changeLog.onCatalogBatchChange(small);
+            broadcaster.onCatalogBatchChange(small);
+            assertEquals(List.of("change", "change", "change"), awaitEvents(emitter, 3));
+
+            CatalogBatchChangeEvent large = new CatalogBatchChangeEvent(
+                List.of(upsert(4), upsert(5), upsert(6), upsert(7)));
+            changeLog.onCatalogBatchChange(large);
+            broadcaster.onCatalogBatchChange(large);
+            assertEquals(List.of("change", "change", "change", "resync"), awaitEvents(emitter, 4));
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A subscriber resuming from an id this process did not send should be asked to resync")
+    void testResumeFromUnknownId() throws Exception {
+        CatalogChangeLog changeLog = new CatalogChangeLog(2);
+        CatalogChangeBroadcaster broadcaster = new CatalogChangeBroadcaster(changeLog,
+            new ObjectMapper(), new SimpleMeterRegistry(), 16, 1, 4, 3600, 5000, 100);
+        try {
+            String start = changeLog.head();
+            for (long id = 1; id <= 3; id++) {
+                changeLog.onCatalogChange(upsert(id));
+                broadcaster.onCatalogChange(upsert(id));
+            }
+            String head = changeLog.head();
+            String epoch = head.substring(0, head.lastIndexOf('-'));
+            long sequence = changeLog.headSequence();
+
+            RecordingEmitter current = new RecordingEmitter();
+            broadcaster.subscribe(head, current);
+            RecordingEmitter ahead = new RecordingEmitter();
+            broadcaster.subscribe(epoch + "-" + (sequence + 1), ahead);
+            RecordingEmitter behindFloor = new RecordingEmitter();
+            broadcaster.subscribe(start, behindFloor);
+            RecordingEmitter otherEpoch = new RecordingEmitter();
+            broadcaster.subscribe("x" + epoch + "-" + sequence, otherEpoch);
+
+            assertEquals(List.of("resync"), awaitEvents(ahead, 1));
+            assertEquals(List.of("resync"), awaitEvents(behindFloor, 1));
+            assertEquals(List.of("resync"), awaitEvents(otherEpoch, 1));
+            assertTrue(current.sent.await(5, TimeUnit.SECONDS));
+            assertEquals(List.of(), current.events());
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A subscriber whose write does not finish should be dropped without holding up the others")
+    void testStalledSubscriberDropped() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CatalogChangeBroadcaster broadcaster = new CatalogChangeBroadcaster(new CatalogChangeLog(100),
+            new ObjectMapper(), meterRegistry, 16, 1, 4, 3600, 100, 100);
+        try {
+            StalledEmitter stalled = new StalledEmitter();
+            broadcaster.subscribe(null, stalled);
+            assertTrue(stalled.writing.await(5, TimeUnit.SECONDS));
+
+            // The only core dispatch thread is stuck; the next subscriber still gets its frame.
+            RecordingEmitter healthy = new RecordingEmitter();
+            broadcaster.subscribe(null, healthy);
+            assertTrue(healthy.sent.await(5, TimeUnit.SECONDS));
+
+            assertTrue(stalled.interrupted.await(5, TimeUnit.SECONDS));
+            assertEquals(1, broadcaster.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("catalog.stream.send-timeouts").count());
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("A subscriber should be dropped rather than start a thread past the dispatch limit")
+    void testDispatchThreadsBounded() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CatalogChangeBroadcaster broadcaster = new CatalogChangeBroadcaster(new CatalogChangeLog(100),
+            new ObjectMapper(), meterRegistry, 16, 1, 1, 3600, 60_000, 100);
+        try {
+            StalledEmitter stalled = new StalledEmitter();
+            broadcaster.subscribe(null, stalled);
+            assertTrue(stalled.writing.await(5, TimeUnit.SECONDS));
+
+            RecordingEmitter rejected = new RecordingEmitter();
+            broadcaster.subscribe(null, rejected);
+
+            assertEquals(1, broadcaster.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("catalog.stream.saturated").count());
+            assertTrue(rejected.events().isEmpty());
+        } finally {
+            broadcaster.shutdown();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.dto.CatalogChange;
+import com.capmass.backend.dto.CatalogChanges;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogChangeLog Unit Tests")
+class CatalogChangeLogTest {
+
+    private static final LocationCategory DINING = new LocationCategory(1L, "Dining", "Food");
+
+    private static CatalogChangeEvent upsert(Location location) {
+        return new CatalogChangeEvent(CatalogChangeEvent.EntityType.LOCATION,
+            CatalogChangeEvent.Operation.UPSERT, location.getId(), location);
+    }
+
+    private static CatalogChangeEvent delete(long id) {
+        return new CatalogChangeEvent(CatalogChangeEvent.EntityType.LOCATION,
+            CatalogChangeEvent.Operation.DELETE, id, null);
+    }
+
+    @Test
+    @DisplayName("Should return changes after a sequence, oldest first")
+    void testChangesSince() {
+        CatalogChangeLog log = new CatalogChangeLog(100);
+        String start = log.head();
+
+        log.onCatalogChange(upsert(new Location(1L, "Cafe", null, DINING, 1.0, 2.0)));
+        log.onCatalogChange(new CatalogChangeEvent(CatalogChangeEvent.EntityType.CATEGORY,
+            CatalogChangeEvent.Operation.UPSERT, 1L, DINING));
+        log.onCatalogChange(delete(2L));
+
+        CatalogChanges all = log.changesSince(start, 10).orElseThrow();
+        assertEquals(3, all.changes().size());
+        assertEquals(log.head(), all.sequence());
+        assertFalse(all.hasMore());
+        assertEquals("Cafe", ((Location) all.changes().get(0).entity()).getName());
+        assertEquals(CatalogChangeEvent.EntityType.CATEGORY, all.changes().get(1).entityType());
+        assertNull(all.changes().get(2).entity());
+
+        CatalogChanges latest = log.changesSince(all.changes().get(1).sequence(), 10).orElseThrow();
+        assertEquals(1, latest.changes().size());
+        assertEquals(2L, latest.changes().get(0).id());
+
+        assertTrue(log.changesSince(log.head(), 10).orElseThrow().changes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should page through changes at the limit")
+    void testPaging() {
+        CatalogChangeLog log = new CatalogChangeLog(100);
+        String since = log.head();
+        for (long id = 1; id <= 5; id++) {
+            log.onCatalogChange(delete(id));
+        }
+
+        CatalogChanges first = log.changesSince(since, 2).orElseThrow();
+        assertTrue(first.hasMore());
+        assertEquals(2, first.changes().size());
+        assertEquals(first.changes().get(1).sequence(), first.sequence());
+
+        CatalogChanges second = log.changesSince(first.sequence(), 2).orElseThrow();
+        assertEquals(3L, second.changes().get(0).id());
+        CatalogChanges third = log.changesSince(second.sequence(), 2).orElseThrow();
+        assertFalse(third.hasMore());
+        assertEquals(1, third.changes().size());
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest change per entity")
+    void testKeyCompaction() {
+        CatalogChangeLog log = new CatalogChangeLog(100);
+        String since = log.head();
+        Location cafe = new Location(1L, "Cafe", null, DINING, 1.0, 2.0);
+        log.onCatalogChange(upsert(cafe));
+        cafe.setName("Coffee Bar");
+        log.onCatalogChange(upsert(cafe));
+        cafe.setName("Changed after commit");
+
+        CatalogChanges changes = log.changesSince(since, 10).orElseThrow();
+        assertEquals(1, changes.changes().size());
+        assertEquals("Coffee Bar", ((Location) changes.changes().get(0).entity()).getName());
+
+        log.onCatalogChange(delete(1L));
+        CatalogChange last = log.changesSince(since, 10).orElseThrow().changes().get(0);
+        assertEquals(CatalogChangeEvent.Operation.DELETE, last.operation());
+    }
+
+    @Test
+    @DisplayName("Should refuse sequences behind the floor once old entries are dropped")
+    void testRetention() {
+        CatalogChangeLog log = new CatalogChangeLog(2);
+        String since = log.head();
+        log.onCatalogChange(delete(1L));
+        String afterFirst = log.head();
+        log.onCatalogChange(delete(2L));
+        log.onCatalogChange(delete(3L));
+
+        assertTrue(log.changesSince(since, 10).isEmpty());
+        assertEquals(2, log.changesSince(afterFirst, 10).orElseThrow().changes().size());
+        assertTrue(log.changesSince(log.headSequence() + 1, 10).isEmpty());
+        assertTrue(log.changesSince("0", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should force a full resync after a bulk reload")
+    void testReload() {
+        CatalogChangeLog log = new CatalogChangeLog(100);
+        String since = log.head();
+        log.onCatalogChange(delete(1L));
+
+        log.onCatalogReload(new CatalogReloadedEvent("import"));
+
+        assertTrue(log.changesSince(since, 10).isEmpty());
+        assertTrue(log.changesSince(log.head(), 10).orElseThrow().changes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should refuse sequences issued before a restart")
+    void testRestart() {
+        CatalogChangeLog before = new CatalogChangeLog(100);
+        before.onCatalogChange(delete(1L));
+        String since = before.head();
+
+        CatalogChangeLog after = new CatalogChangeLog(100);
+        String start = after.head();
+        after.onCatalogChange(delete(1L));
+        after.onCatalogChange(delete(2L));
+
+        // The new log has issued the same number, for a different change.
+        assertTrue(after.changesSince(since, 10).isEmpty());
+        assertEquals(2, after.changesSince(start, 10).orElseThrow().changes().size());
+    }
+
+    @Test
+    @DisplayName("Should ignore walkway changes")
+    void testIgnoresWalkways() {
+        CatalogChangeLog log = new CatalogChangeLog(100);
+        String head = log.head();
+
+        log.onCatalogChange(new CatalogChangeEvent(CatalogChangeEvent.EntityType.WALKWAY,
+            CatalogChangeEvent.Operation.UPSERT, 1L, null));
+
+        assertEquals(head, log.head());
+    }
+}
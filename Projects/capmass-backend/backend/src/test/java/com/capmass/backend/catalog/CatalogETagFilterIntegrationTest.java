@@ -0,0 +1,127 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("CatalogETagFilter Integration Tests")
+class CatalogETagFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private LocationRepository locationRepository;
+
+    @SpyBean
+    private LocationCategoryRepository categoryRepository;
+
+    @Test
+    @DisplayName("Catalog reads should carry a strong ETag")
+    void testEtagPresent() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", allOf(startsWith("\""), endsWith("\""))))
+            .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @DisplayName("Unchanged catalog should answer 304 without touching the repositories")
+    void testNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/locations"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(locationRepository, categoryRepository);
+
+        mockMvc.perform(get("/api/locations").header("If-None-Match", etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("ETag", etag))
+            .andExpect(content().string(""));
+        mockMvc.perform(get("/api/categories").header("If-None-Match", etag))
+            .andExpect(status().isNotModified());
+
+        verifyNoInteractions(locationRepository, categoryRepository);
+    }
+
+    @Test
+    @DisplayName("A catalog write should invalidate previously issued ETags")
+    void testWriteChangesEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/categories"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        LocationCategory parking = categoryRepository.save(new LocationCategory(null, "Parking", "Car parks"));
+        try {
+            String newEtag = mockMvc.perform(get("/api/categories").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("Parking")))
+                .andReturn().getResponse().getHeader("ETag");
+            assertNotEquals(etag, newEtag);
+        } finally {
+            categoryRepository.delete(parking);
+        }
+    }
+
+    @Test
+    @DisplayName("Each response encoding should carry its own ETag")
+    void testEtagPerEncoding() throws Exception {
+        String jsonEtag = mockMvc.perform(get("/api/locations"))
+            .andExpect(header().string("Vary", "Accept"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        String cborEtag = mockMvc.perform(get("/api/locations")
+                .header("Accept", "application/cbor")
+                .header("If-None-Match", jsonEtag))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(jsonEtag, cborEtag);
+
+        mockMvc.perform(get("/api/locations")
+                .header("Accept", "application/cbor")
+                .header("If-None-Match", cborEtag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Error responses should not be tagged nor answered with 304 later")
+    void testErrorsUntagged() throws Exception {
+        String etag = mockMvc.perform(get("/api/locations"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/locations").param("limit", "0"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/locations/category/none"))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist("ETag"));
+
+        mockMvc.perform(get("/api/locations").param("limit", "0").header("If-None-Match", etag))
+            .andExpect(status().isBadRequest())
+            .andExpect(header().doesNotExist("ETag"));
+        mockMvc.perform(get("/api/locations").param("limit", "0").header("If-None-Match", "*"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Non-catalog paths should not be tagged")
+    void testOtherPathsUntouched() throws Exception {
+        mockMvc.perform(get("/api/unknown"))
+            .andExpect(header().doesNotExist("ETag"));
+    }
+}
@@ -0,0 +1,49 @@
+package com.capmass.backend.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogReadiness Unit Tests")
+class CatalogReadinessTest {
+
+    @Test
+    @DisplayName("Should stay out of service with progress details until the catalog is ready")
+    void testPhases() {
+        CatalogReadiness readiness = new CatalogReadiness();
+        assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+
+        readiness.seeding();
+        readiness.progress(20_000);
+        Health seeding = readiness.health();
+        assertEquals(Status.OUT_OF_SERVICE, seeding.getStatus());
+        assertEquals(CatalogReadiness.Phase.SEEDING, seeding.getDetails().get("phase"));
+        assertEquals(20_000L, seeding.getDetails().get("locations"));
+        assertTrue(seeding.getDetails().containsKey("elapsedMillis"));
+
+        readiness.indexing();
+        assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+        assertFalse(readiness.isReady());
+
+        readiness.ready();
+        assertTrue(readiness.isReady());
+        assertEquals(Status.UP, readiness.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report a failed seed as down with the error")
+    void testFailed() {
+        CatalogReadiness readiness = new CatalogReadiness();
+        readiness.seeding();
+        readiness.failed(new IllegalStateException("broken import"));
+
+        Health health = readiness.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        assertEquals(CatalogReadiness.Phase.FAILED, health.getDetails().get("phase"));
+        assertTrue(health.getDetails().get("error").toString().contains("broken import"));
+        assertFalse(readiness.isReady());
+    }
+}
@@ -0,0 +1,164 @@
+package com.capmass.backend.catalog;
+
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("CatalogResponseCacheFilter Integration Tests")
+class CatalogResponseCacheFilterIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private LocationRepository locationRepository;
+
+    @SpyBean
+    private LocationCategoryRepository categoryRepository;
+
+    @Test
+    @DisplayName("A repeated catalog read should be served without touching the repositories")
+    void testServedFromCache() throws Exception {
+        String body = mockMvc.perform(get("/api/locations"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        clearInvocations(locationRepository, categoryRepository);
+
+        mockMvc.perform(get("/api/locations"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/json"))
+            .andExpect(content().string(body))
+            .andExpect(header().exists("ETag"))
+            .andExpect(header().stringValues("Vary", hasItems("Accept", "Accept-Encoding")));
+
+        verifyNoInteractions(locationRepository, categoryRepository);
+    }
+
+    @Test
+    @DisplayName("Clients accepting gzip should get the compressed copy of the same body")
+    void testGzip() throws Exception {
+        String plain = mockMvc.perform(get("/api/categories"))
+            .andExpect(header().doesNotExist("Content-Encoding"))
+            .andReturn().getResponse().getContentAsString();
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = mockMvc.perform(get("/api/categories")
+                    .header("Accept-Encoding", "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse();
+            assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+            assertEquals(plain, gunzip(response.getContentAsByteArray()));
+        }
+    }
+
+    @Test
+    @DisplayName("The gzip copy should carry its own tag, and only that tag should revalidate it")
+    void testGzipETag() throws Exception {
+        String plainTag = mockMvc.perform(get("/api/categories"))
+            .andReturn().getResponse().getHeader("ETag");
+        String gzipTag = mockMvc.perform(get("/api/categories").header("Accept-Encoding", "gzip"))
+            .andExpect(header().string("Content-Encoding", "gzip"))
+            .andReturn().getResponse().getHeader("ETag");
+        assertEquals(plainTag.substring(0, plainTag.length() - 1) + "-gzip\"", gzipTag);
+
+        mockMvc.perform(get("/api/categories").header("Accept-Encoding", "gzip").header("If-None-Match", plainTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", gzipTag))
+            .andExpect(header().string("Content-Encoding", "gzip"));
+        mockMvc.perform(get("/api/categories").header("If-None-Match", gzipTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string("ETag", plainTag))
+            .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/api/categories").header("Accept-Encoding", "gzip").header("If-None-Match", gzipTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Pages with different parameters should be cached apart, with their paging headers")
+    void testPagesKeyedByParameters() throws Exception {
+        String cursor = mockMvc.perform(get("/api/locations").param("limit", "4"))
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andReturn().getResponse().getHeader("X-Next-Cursor");
+        assertNotNull(cursor);
+
+        mockMvc.perform(get("/api/locations").param("limit", "4"))
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andExpect(header().string("X-Next-Cursor", cursor))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")));
+        mockMvc.perform(get("/api/locations").param("limit", "2"))
+            .andExpect(jsonPath("$", hasSize(2)));
+        mockMvc.perform(get("/api/locations").param("limit", "4").param("cursor", cursor))
+            .andExpect(jsonPath("$", hasSize(4)))
+            .andExpect(jsonPath("$[0].id", greaterThan(Integer.parseInt(cursor))));
+    }
+
+    @Test
+    @DisplayName("Each response format should be cached apart")
+    void testFormatsKeyedApart() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/categories").header("Accept", "application/cbor"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"));
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(content().contentTypeCompatibleWith("application/json"))
+            .andExpect(jsonPath("$", hasSize(5)));
+    }
+
+    @Test
+    @DisplayName("A catalog write should make cached responses unreachable")
+    void testWriteInvalidates() throws Exception {
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(jsonPath("$[*].name", not(hasItem("Parking"))));
+
+        LocationCategory parking = categoryRepository.save(new LocationCategory(null, "Parking", "Car parks"));
+        try {
+            mockMvc.perform(get("/api/categories"))
+                .andExpect(jsonPath("$[*].name", hasItem("Parking")));
+        } finally {
+            categoryRepository.delete(parking);
+        }
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(jsonPath("$[*].name", not(hasItem("Parking"))));
+    }
+
+    @Test
+    @DisplayName("Only accepted gzip codings should select the compressed copy")
+    void testAcceptsGzip() {
+        assertTrue(CatalogResponseCacheFilter.acceptsGzip("gzip"));
+        assertTrue(CatalogResponseCacheFilter.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(CatalogResponseCacheFilter.acceptsGzip("*"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip(null));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip("br, deflate"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(CatalogResponseCacheFilter.acceptsGzip("gzip;q=abc"));
+    }
+
+    private static String gunzip(byte[] compressed) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
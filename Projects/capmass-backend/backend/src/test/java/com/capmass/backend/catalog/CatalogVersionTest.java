@@ -0,0 +1,87 @@
+package com.capmass.backend.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CatalogVersion Unit Tests")
+class CatalogVersionTest {
+
+    @Test
+    @DisplayName("Should bump the version on every catalog change")
+    void testBumpOnChange() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+        long initial = catalogVersion.current();
+
+        catalogVersion.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, 1L, null));
+        catalogVersion.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.CATEGORY, CatalogChangeEvent.Operation.DELETE, 1L, null));
+
+        assertEquals(initial + 2, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("Should count committed writes separately from the published version")
+    void testCommittedCountedFirst() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+        long committed = catalogVersion.committed();
+        long initial = catalogVersion.current();
+        CatalogChangeEvent event = new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, 1L, null);
+
+        catalogVersion.countCatalogChange(event);
+        assertEquals(committed + 1, catalogVersion.committed());
+        assertEquals(initial, catalogVersion.current());
+
+        catalogVersion.onCatalogChange(event);
+        assertEquals(initial + 1, catalogVersion.current());
+    }
+
+    @Test
+    @DisplayName("Should produce distinct quoted strong ETags per version")
+    void testEtag() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+
+        String first = catalogVersion.etag(1);
+        String second = catalogVersion.etag(2);
+
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+        assertFalse(first.startsWith("W/"));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match lists, weak tags and wildcards")
+    void testIfNoneMatch() {
+        assertTrue(CatalogETagFilter.matches("\"a-1\"", "\"a-1\""));
+        assertTrue(CatalogETagFilter.matches("\"x\", \"a-1\"", "\"a-1\""));
+        assertTrue(CatalogETagFilter.matches("W/\"a-1\"", "\"a-1\""));
+        assertTrue(CatalogETagFilter.matches("*", "\"a-1\""));
+        assertFalse(CatalogETagFilter.matches("\"a-2\"", "\"a-1\""));
+        assertFalse(CatalogETagFilter.matches(null, "\"a-1\""));
+    }
+
+    @Test
+    @DisplayName("Should tag each encoding of a version differently")
+    void testEtagVariant() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+
+        assertEquals(catalogVersion.etag(3), catalogVersion.etag(3, ""));
+        assertNotEquals(catalogVersion.etag(3), catalogVersion.etag(3, "cbor"));
+        assertTrue(catalogVersion.etag(3, "cbor").endsWith("-cbor\""));
+    }
+
+    @Test
+    @DisplayName("Should pick the encoding variant from the Accept header")
+    void testVariantFromAccept() {
+        assertEquals("", CatalogETagFilter.variant(null));
+        assertEquals("", CatalogETagFilter.variant("*/*"));
+        assertEquals("", CatalogETagFilter.variant("application/json"));
+        assertEquals("cbor", CatalogETagFilter.variant("application/cbor"));
+        assertEquals("smile", CatalogETagFilter.variant("application/x-jackson-smile, application/json"));
+        assertEquals("", CatalogETagFilter.variant("application/cbor;q=0.5, application/json"));
+        assertEquals("", CatalogETagFilter.variant("not a media type"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.capmass.backend.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LazyCatalogView Unit Tests")
+class LazyCatalogViewTest {
+
+    @Test
+    @DisplayName("Should rebuild once per burst of writes")
+    void testRebuildOnceAfterWrites() {
+        AtomicInteger builds = new AtomicInteger();
+        LazyCatalogView<Integer> view = new LazyCatalogView<>(0, builds::incrementAndGet);
+
+        assertEquals(1, view.get());
+        assertEquals(1, view.get());
+        view.markStale();
+        view.markStale();
+
+        assertEquals(2, view.get());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    @DisplayName("Should stay stale when a rebuild fails")
+    void testFailedRebuildRetried() {
+        AtomicInteger builds = new AtomicInteger();
+        LazyCatalogView<Integer> view = new LazyCatalogView<>(0, () -> {
+            if (builds.incrementAndGet() == 1) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return builds.get();
+        });
+
+        assertThrows(IllegalStateException.class, view::get);
+
+        assertEquals(2, view.get(), "the next read rebuilds without waiting for another write");
+    }
+
+    @Test
+    @DisplayName("Should rebuild again when a write commits during the rebuild")
+    void testWriteDuringRebuild() {
+        AtomicInteger builds = new AtomicInteger();
+        AtomicReference<LazyCatalogView<Integer>> holder = new AtomicReference<>();
+        holder.set(new LazyCatalogView<>(0, () -> {
+            if (builds.incrementAndGet() == 1) {
+                holder.get().markStale();
+            }
+            return builds.get();
+        }));
+        LazyCatalogView<Integer> view = holder.get();
+
+        assertEquals(1, view.get());
+        assertEquals(2, view.get());
+        assertEquals(2, view.get());
+    }
+}
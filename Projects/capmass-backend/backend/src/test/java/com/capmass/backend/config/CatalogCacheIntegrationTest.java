@@ -0,0 +1,158 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.support.SqlStatementCounter;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The response cache would answer before the repository-level caches are reached.
+@SpringBootTest(properties = {SqlStatementCounter.PROPERTY, "catalog.response-cache.enabled=false"})
+@AutoConfigureMockMvc
+@DisplayName("Catalog Read Cache Integration Tests")
+class CatalogCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    @Autowired
+    @Qualifier(CacheConfig.CATALOG_KEY_GENERATOR)
+    private KeyGenerator catalogKeyGenerator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CATEGORIES).clear();
+        cacheManager.getCache(CacheConfig.CATEGORY_LOCATIONS).clear();
+    }
+
+    @Test
+    @DisplayName("Repeated category reads should be served from the cache")
+    void testCategoriesCached() throws Exception {
+        CacheStats before = stats(CacheConfig.CATEGORIES);
+
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(5)));
+
+        assertEquals(0, SqlStatementCounter.count());
+        CacheStats after = stats(CacheConfig.CATEGORIES);
+        assertEquals(1, after.missCount() - before.missCount());
+        assertEquals(1, after.hitCount() - before.hitCount());
+    }
+
+    @Test
+    @DisplayName("Repeated category location reads should be served from the cache")
+    void testCategoryLocationsCached() throws Exception {
+        Long categoryId = categoryRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/locations/category/" + categoryId)).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/locations/category/" + categoryId)).andExpect(status().isOk());
+
+        assertEquals(0, SqlStatementCounter.count());
+    }
+
+    @Test
+    @DisplayName("Saving a category should invalidate cached categories")
+    void testCategoryWriteInvalidates() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(jsonPath("$", hasSize(5)));
+
+        LocationCategory parking = categoryRepository.save(new LocationCategory(null, "Parking", "Car parks"));
+        try {
+            mockMvc.perform(get("/api/categories"))
+                .andExpect(jsonPath("$", hasSize(6)))
+                .andExpect(jsonPath("$[*].name", hasItem("Parking")));
+        } finally {
+            categoryRepository.delete(parking);
+        }
+        mockMvc.perform(get("/api/categories")).andExpect(jsonPath("$", hasSize(5)));
+    }
+
+    @Test
+    @DisplayName("Saving a location should invalidate cached category location lists")
+    void testLocationWriteInvalidates() throws Exception {
+        LocationCategory category = categoryRepository.findAll().get(0);
+        int initial = locationRepository.findByCategoryId(category.getId()).size();
+
+        Location kiosk = locationRepository.save(
+            new Location(null, "Info Kiosk", "Visitor information", category, 40.7128, -74.0060));
+        try {
+            assertEquals(initial + 1, locationRepository.findByCategoryId(category.getId()).size());
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+        assertEquals(initial, locationRepository.findByCategoryId(category.getId()).size());
+    }
+
+    @Test
+    @DisplayName("A list loaded before a write should not be served after it")
+    void testStaleLoadNotServedAfterWrite() throws Exception {
+        LocationCategory category = categoryRepository.findAll().get(0);
+        Method findByCategoryId = LocationRepository.class.getMethod("findByCategoryId", Long.class);
+        // A reader that missed the cache computes its key and reads the rows before the write commits...
+        Object keyBeforeWrite = catalogKeyGenerator.generate(locationRepository, findByCategoryId, category.getId());
+        List<Location> beforeWrite = locationRepository.findByCategoryId(category.getId());
+        cacheManager.getCache(CacheConfig.CATEGORY_LOCATIONS).clear();
+
+        Location kiosk = locationRepository.save(
+            new Location(null, "Info Kiosk", "Visitor information", category, 40.7128, -74.0060));
+        try {
+            // ...and stores them after the write has cleared the cache.
+            cacheManager.getCache(CacheConfig.CATEGORY_LOCATIONS).put(keyBeforeWrite, beforeWrite);
+
+            assertEquals(beforeWrite.size() + 1, locationRepository.findByCategoryId(category.getId()).size());
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+    }
+
+    @Test
+    @DisplayName("Cache hit and miss counters should be exposed as metrics")
+    void testCacheMetricsExposed() throws Exception {
+        mockMvc.perform(get("/api/categories"));
+        mockMvc.perform(get("/api/categories"));
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets")
+                .param("tag", "cache:categories")
+                .param("tag", "result:hit"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.measurements[0].value", greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/cache.evictions").param("tag", "cache:categories"))
+            .andExpect(status().isOk());
+    }
+
+    private CacheStats stats(String cacheName) {
+        return ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache().stats();
+    }
+}
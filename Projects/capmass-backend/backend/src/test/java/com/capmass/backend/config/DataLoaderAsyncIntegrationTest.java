@@ -0,0 +1,55 @@
+package com.capmass.backend.config;
+
+import com.capmass.backend.catalog.CatalogReadiness;
+import com.capmass.backend.geo.LocationSpatialIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+    "catalog.seed.async=true",
+    "spring.datasource.url=jdbc:h2:mem:seedtest"
+})
+@AutoConfigureMockMvc
+@DisplayName("DataLoader Async Seeding Integration Tests")
+class DataLoaderAsyncIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CatalogReadiness readiness;
+
+    @Autowired
+    private LocationSpatialIndex spatialIndex;
+
+    @Test
+    @DisplayName("The readiness probe should turn up once the catalog is seeded and indexed")
+    void testReadinessAfterSeeding() throws Exception {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!readiness.isReady() && System.currentTimeMillis() < deadline) {
+            assertNotEquals(CatalogReadiness.Phase.FAILED, readiness.phase());
+            mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isServiceUnavailable());
+            Thread.sleep(20);
+        }
+        assertTrue(readiness.isReady());
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.components.catalogReadiness.details.phase").value("READY"))
+            .andExpect(jsonPath("$.components.catalogReadiness.details.locations").value(11));
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(jsonPath("$", hasSize(5)));
+        assertEquals(11, spatialIndex.size());
+    }
+}
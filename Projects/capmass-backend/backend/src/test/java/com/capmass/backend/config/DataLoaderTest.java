@@ -1,5 +1,7 @@
 package com.capmass.backend.config;
 
+import com.capmass.backend.catalog.CatalogReadiness;
+import com.capmass.backend.catalog.CatalogSeededEvent;
 import com.capmass.backend.entity.Location;
 import com.capmass.backend.entity.LocationCategory;
 import com.capmass.backend.repository.LocationCategoryRepository;
@@ -10,9 +12,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 
@@ -30,7 +33,12 @@ class DataLoaderTest {
     @Mock
     private LocationRepository locationRepository;
 
-    @InjectMocks
+    @Mock
+    private CatalogReadiness readiness;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private DataLoader dataLoader;
 
     @Captor
@@ -41,6 +49,8 @@ class DataLoaderTest {
 
     @BeforeEach
     void setUp() {
+        dataLoader = new DataLoader(categoryRepository, locationRepository, null, readiness, eventPublisher, "", false);
+
         // Mock category saves to return the same object with an ID
         when(categoryRepository.save(any(LocationCategory.class)))
             .thenAnswer(invocation -> {
@@ -259,9 +269,29 @@ class DataLoaderTest {
     }
 
     @Test
-    @DisplayName("Should handle run method with arguments")
-    void testRunWithArguments() throws Exception {
-        assertDoesNotThrow(() -> dataLoader.run("arg1", "arg2"));
+    @DisplayName("Should build the in-memory views and report ready after seeding")
+    void testReadyAfterSeeding() throws Exception {
+        when(locationRepository.count()).thenReturn(11L);
+
+        dataLoader.run();
+
+        InOrder order = inOrder(readiness, locationRepository, eventPublisher);
+        order.verify(readiness).seeding();
+        order.verify(locationRepository, atLeastOnce()).save(any(Location.class));
+        order.verify(readiness).indexing();
+        order.verify(eventPublisher).publishEvent(new CatalogSeededEvent(11));
+        order.verify(readiness).ready();
+    }
+
+    @Test
+    @DisplayName("Should report a failure while building the views and rethrow")
+    void testSeedFailure() {
+        doThrow(new IllegalStateException("index")).when(eventPublisher).publishEvent(any(Object.class));
+
+        assertThrows(IllegalStateException.class, () -> dataLoader.run());
+
+        verify(readiness).failed(any(IllegalStateException.class));
+        verify(readiness, never()).ready();
     }
 
     @Test
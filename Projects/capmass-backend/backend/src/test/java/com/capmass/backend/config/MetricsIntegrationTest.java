@@ -0,0 +1,77 @@
+package com.capmass.backend.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    @Test
+    @DisplayName("Should publish request timers with histogram buckets per endpoint")
+    void testRequestTimers() throws Exception {
+        mockMvc.perform(get("/api/categories")).andExpect(status().isOk());
+
+        String metrics = scrape();
+
+        assertThat(metrics, containsString("http_server_requests_seconds_count{application=\"backend\",error=\"none\","
+            + "exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/categories\",}"));
+        assertThat(metrics, containsString("http_server_requests_seconds_bucket{"));
+        assertThat(metrics, matchesPattern("(?s).*http_server_requests_seconds\\{[^}]*uri=\"/api/categories\",quantile=\"0.99\",}.*"));
+    }
+
+    @Test
+    @DisplayName("Should count client errors separately")
+    void testErrorsTagged() throws Exception {
+        mockMvc.perform(get("/api/locations").param("limit", "0")).andExpect(status().isBadRequest());
+
+        assertThat(scrape(), matchesPattern(
+            "(?s).*http_server_requests_seconds_count\\{[^}]*outcome=\"CLIENT_ERROR\",status=\"400\",uri=\"/api/locations\",}.*"));
+    }
+
+    @Test
+    @DisplayName("Should time JSON serialization by body type")
+    void testJsonSerializationTimer() throws Exception {
+        mockMvc.perform(get("/api/locations")).andExpect(status().isOk());
+
+        assertThat(scrape(), containsString(
+            "catalog_json_write_seconds_count{application=\"backend\",outcome=\"success\",type=\"List<Location>\",}"));
+    }
+
+    @Test
+    @DisplayName("Should publish repository, Hibernate and connection pool metrics")
+    void testPersistenceMetrics() throws Exception {
+        mockMvc.perform(get("/api/locations")).andExpect(status().isOk());
+
+        String metrics = scrape();
+
+        assertThat(metrics, containsString("spring_data_repository_invocations_seconds_count{"));
+        assertThat(metrics, containsString("hibernate_query_executions_total{"));
+        assertThat(metrics, containsString("hibernate_entities_loads_total{"));
+        assertThat(metrics, containsString("hibernate_cache_query_plan_total{"));
+        assertThat(metrics, containsString("cache_gets_total{"));
+        assertThat(metrics, containsString("hikaricp_connections_acquire_seconds_count{"));
+        assertThat(metrics, containsString("hikaricp_connections_pending{"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.config.BinaryFormatsConfig;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Binary Response Format Integration Tests")
+class BinaryFormatsIntegrationTest {
+
+    private static final ObjectMapper CBOR = new ObjectMapper(new CBORFactory());
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    private byte[] fetch(String path, MediaType accept) throws Exception {
+        return mockMvc.perform(get(path).accept(accept))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(accept))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Test
+    @DisplayName("JSON should remain the default representation")
+    void testJsonDefault() throws Exception {
+        mockMvc.perform(get("/api/locations"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+        mockMvc.perform(get("/api/locations").accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("CBOR and Smile responses should carry the same document as JSON")
+    void testSameDocument() throws Exception {
+        JsonNode json = JSON.readTree(fetch("/api/locations", MediaType.APPLICATION_JSON));
+        JsonNode cbor = CBOR.readTree(fetch("/api/locations", MediaType.APPLICATION_CBOR));
+        JsonNode smile = SMILE.readTree(fetch("/api/locations", BinaryFormatsConfig.APPLICATION_SMILE));
+
+        assertEquals(11, json.size());
+        assertEquals(json, cbor);
+        assertEquals(json, smile);
+    }
+
+    @Test
+    @DisplayName("Binary encodings should be smaller than JSON")
+    void testSmallerPayload() throws Exception {
+        int json = fetch("/api/locations", MediaType.APPLICATION_JSON).length;
+
+        assertTrue(fetch("/api/locations", MediaType.APPLICATION_CBOR).length < json);
+        assertTrue(fetch("/api/locations", BinaryFormatsConfig.APPLICATION_SMILE).length < json);
+    }
+
+    @Test
+    @DisplayName("Every catalog list endpoint should negotiate the binary formats")
+    void testAllListEndpoints() throws Exception {
+        Long categoryId = categoryRepository.findAll().stream()
+            .filter(category -> "Library".equals(category.getName()))
+            .findFirst()
+            .map(LocationCategory::getId)
+            .orElseThrow();
+
+        assertEquals(5, CBOR.readTree(fetch("/api/categories", MediaType.APPLICATION_CBOR)).size());
+        assertEquals(2, CBOR.readTree(fetch("/api/locations/category/" + categoryId, MediaType.APPLICATION_CBOR)).size());
+        assertEquals(2, SMILE.readTree(fetch("/api/locations/category/" + categoryId,
+            BinaryFormatsConfig.APPLICATION_SMILE)).size());
+    }
+}
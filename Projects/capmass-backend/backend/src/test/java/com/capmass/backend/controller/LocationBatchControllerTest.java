@@ -0,0 +1,52 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.dto.BatchResult;
+import com.capmass.backend.dto.LocationUpsert;
+import com.capmass.backend.importer.LocationBatchWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LocationBatchController Unit Tests")
+class LocationBatchControllerTest {
+
+    @Mock
+    private LocationBatchWriter batchWriter;
+
+    @InjectMocks
+    private LocationBatchController batchController;
+
+    @Test
+    @DisplayName("Should hand batch writes to the batch writer")
+    void testUpsertLocations() {
+        List<LocationUpsert> items = List.of(new LocationUpsert(null, "Kiosk", null, 40.0, -74.0, 1L));
+        BatchResult result = new BatchResult(1, 0, 0, List.of());
+        when(batchWriter.upsert(items)).thenReturn(result);
+
+        ResponseEntity<BatchResult> response = batchController.upsertLocations(items);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(result, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should reject empty and oversized batches")
+    void testUpsertLocationsInvalidSize() {
+        assertEquals(400, batchController.upsertLocations(List.of()).getStatusCodeValue());
+        List<LocationUpsert> tooMany = Collections.nCopies(LocationBatchController.MAX_BATCH_SIZE + 1,
+            new LocationUpsert(null, "Kiosk", null, 40.0, -74.0, 1L));
+        assertEquals(400, batchController.upsertLocations(tooMany).getStatusCodeValue());
+        verifyNoInteractions(batchWriter);
+    }
+}
@@ -0,0 +1,174 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("LocationChangesController Integration Tests")
+class LocationChangesControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    private String currentSequence() throws Exception {
+        return mockMvc.perform(get("/api/locations/changes").param("since", "0"))
+            .andExpect(status().isGone())
+            .andExpect(header().exists("X-Catalog-Sequence"))
+            .andReturn().getResponse().getHeader("X-Catalog-Sequence");
+    }
+
+    private LocationCategory dining() {
+        return categoryRepository.findAll().stream()
+            .filter(category -> category.getName().equals("Dining"))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        return mockMvc.perform(lastEventId == null
+                ? get("/api/locations/changes/stream")
+                : get("/api/locations/changes/stream").header("Last-Event-ID", lastEventId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    /**
+     * Events are written by the dispatch threads, so wait for them to show up.
+     */
+    private static String awaitContent(MvcResult result, String expected) throws Exception {
+        MockHttpServletResponse response = result.getResponse();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        String content = response.getContentAsString();
+        assertTrue(content.contains(expected), () -> "Missing " + expected + " in " + content);
+        return content;
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes should return only the writes after the given sequence")
+    void testChangesSince() throws Exception {
+        String since = currentSequence();
+        mockMvc.perform(get("/api/locations/changes").param("since", since))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes", hasSize(0)))
+            .andExpect(jsonPath("$.sequence", is(since)));
+
+        Location kiosk = locationRepository.save(new Location(null, "Coffee Kiosk", "Espresso", dining(), 40.713, -74.006));
+        try {
+            kiosk.setName("Coffee Cart");
+            locationRepository.save(kiosk);
+
+            mockMvc.perform(get("/api/locations/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].entityType", is("LOCATION")))
+                .andExpect(jsonPath("$.changes[0].operation", is("UPSERT")))
+                .andExpect(jsonPath("$.changes[0].entity.name", is("Coffee Cart")))
+                .andExpect(jsonPath("$.changes[0].entity.category.name", is("Dining")))
+                .andExpect(jsonPath("$.hasMore", is(false)));
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+
+        mockMvc.perform(get("/api/locations/changes").param("since", since))
+            .andExpect(jsonPath("$.changes", hasSize(1)))
+            .andExpect(jsonPath("$.changes[0].operation", is("DELETE")))
+            .andExpect(jsonPath("$.changes[0].id", is(kiosk.getId().intValue())))
+            .andExpect(jsonPath("$.changes[0].entity").value(nullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes should answer 410 for sequences the log does not hold")
+    void testUnknownSequence() throws Exception {
+        String head = currentSequence();
+        int separator = head.lastIndexOf('-');
+        String epoch = head.substring(0, separator);
+        long sequence = Long.parseLong(head.substring(separator + 1));
+
+        mockMvc.perform(get("/api/locations/changes").param("since", epoch + "-" + (sequence + 1000)))
+            .andExpect(status().isGone())
+            .andExpect(header().string("X-Catalog-Sequence", head));
+        // Same number, issued before a restart.
+        mockMvc.perform(get("/api/locations/changes").param("since", "x" + epoch + "-" + sequence))
+            .andExpect(status().isGone())
+            .andExpect(header().string("X-Catalog-Sequence", head));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes should validate its parameters")
+    void testInvalidParameters() throws Exception {
+        mockMvc.perform(get("/api/locations/changes"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/changes").param("since", "1").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes/stream should push committed changes to subscribers")
+    void testStream() throws Exception {
+        MvcResult first = subscribe(null);
+        MvcResult second = subscribe(null);
+        assertEquals("text/event-stream", first.getResponse().getContentType());
+
+        Location kiosk = locationRepository.save(new Location(null, "Stream Kiosk", null, dining(), 40.713, -74.006));
+        try {
+            for (MvcResult result : new MvcResult[] {first, second}) {
+                String content = awaitContent(result, "Stream Kiosk");
+                assertTrue(content.contains("event:change"));
+                assertTrue(content.contains("\"operation\":\"UPSERT\""));
+            }
+        } finally {
+            locationRepository.delete(kiosk);
+            awaitContent(first, "\"operation\":\"DELETE\"");
+            first.getRequest().getAsyncContext().complete();
+            second.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes/stream should replay changes after Last-Event-ID")
+    void testStreamResume() throws Exception {
+        String since = currentSequence();
+        Location kiosk = locationRepository.save(new Location(null, "Resumed Kiosk", null, dining(), 40.713, -74.006));
+        try {
+            MvcResult result = subscribe(since);
+            String content = awaitContent(result, "Resumed Kiosk");
+            assertTrue(content.contains("event:change"));
+            result.getRequest().getAsyncContext().complete();
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/changes/stream should ask clients the log cannot serve to resync")
+    void testStreamResync() throws Exception {
+        MvcResult result = subscribe("1");
+        awaitContent(result, "event:resync");
+        result.getRequest().getAsyncContext().complete();
+    }
+}
@@ -1,29 +1,44 @@
 package com.capmass.backend.controller;
 
+import com.capmass.backend.catalog.CatalogChangeLog;
+import com.capmass.backend.catalog.CatalogVersion;
 import com.capmass.backend.entity.Location;
 import com.capmass.backend.entity.LocationCategory;
 import com.capmass.backend.repository.LocationCategoryRepository;
 import com.capmass.backend.repository.LocationRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+    "catalog.write-api.enabled=true",
+    "catalog.write-api.allowed-origins=" + LocationControllerIntegrationTest.ADMIN_ORIGIN
+})
 @AutoConfigureMockMvc
 @DisplayName("LocationController Integration Tests")
 class LocationControllerIntegrationTest {
 
+    static final String ADMIN_ORIGIN = "https://admin.campus.example";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -33,6 +48,12 @@ class LocationControllerIntegrationTest {
     @Autowired
     private LocationCategoryRepository categoryRepository;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private CatalogChangeLog changeLog;
+
     private Long academicCategoryId;
     private Long libraryCategoryId;
 
@@ -305,4 +326,178 @@ class LocationControllerIntegrationTest {
             .andExpect(jsonPath("$[0].latitude", instanceOf(Number.class)))
             .andExpect(jsonPath("$[0].longitude", instanceOf(Number.class)));
     }
+
+    @Test
+    @DisplayName("GET /api/locations should page through all locations with the cursor")
+    void testKeysetPagination() throws Exception {
+        Set<Integer> seenIds = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/locations").param("limit", "4");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            MockHttpServletResponse response = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(4))))
+                .andReturn().getResponse();
+            List<Integer> ids = JsonPath.read(response.getContentAsString(), "$[*].id");
+            for (Integer id : ids) {
+                assertTrue(seenIds.add(id), "Location " + id + " returned twice");
+            }
+            cursor = response.getHeader("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(11, seenIds.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations should advertise the next page in a Link header")
+    void testPaginationLinkHeader() throws Exception {
+        mockMvc.perform(get("/api/locations").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(5)))
+            .andExpect(header().string("Link", startsWith("</api/locations?cursor=")))
+            .andExpect(header().string("Link", endsWith("&limit=5>; rel=\"next\"")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/category/{categoryId} should page within the category")
+    void testCategoryPagination() throws Exception {
+        String cursor = mockMvc.perform(get("/api/locations/category/" + academicCategoryId).param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/locations/category/" + academicCategoryId)
+                .param("cursor", cursor)
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].category.id", is(academicCategoryId.intValue())))
+            .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations should reject an out of range limit")
+    void testPaginationInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/locations").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations").param("limit", "100000"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/locations:batch should create, update and reject items individually")
+    void testBatchUpsert() throws Exception {
+        Location northHall = locationRepository.findAll().stream()
+            .filter(location -> location.getName().equals("North Hall"))
+            .findFirst()
+            .orElseThrow();
+        String body = """
+            [
+              {"name": "Batch Kiosk", "description": "Coffee", "latitude": 40.7127, "longitude": -74.0059, "categoryId": %d},
+              {"id": %d, "name": "North Hall", "description": "Renovated residence", "latitude": %s, "longitude": %s,
+               "categoryId": %d},
+              {"name": "", "latitude": 40.7, "longitude": -74.0, "categoryId": %d},
+              {"name": "Nowhere", "latitude": 91.0, "longitude": -74.0, "categoryId": %d},
+              {"name": "Orphan", "latitude": 40.7, "longitude": -74.0, "categoryId": 999999},
+              {"id": 999999, "name": "Ghost", "latitude": 40.7, "longitude": -74.0, "categoryId": %d}
+            ]
+            """.formatted(libraryCategoryId, northHall.getId(), northHall.getLatitude(), northHall.getLongitude(),
+            northHall.getCategory().getId(), libraryCategoryId, libraryCategoryId, libraryCategoryId);
+        long version = catalogVersion.current();
+        String sequence = changeLog.head();
+
+        String response = mockMvc.perform(post("/api/locations:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created", is(1)))
+            .andExpect(jsonPath("$.updated", is(1)))
+            .andExpect(jsonPath("$.rejected", is(4)))
+            .andExpect(jsonPath("$.items[*].status", contains(
+                "CREATED", "UPDATED", "REJECTED", "REJECTED", "REJECTED", "REJECTED")))
+            .andExpect(jsonPath("$.items[1].id", is(northHall.getId().intValue())))
+            .andExpect(jsonPath("$.items[2].error", is("name is required")))
+            .andExpect(jsonPath("$.items[3].error", containsString("latitude")))
+            .andExpect(jsonPath("$.items[4].error", containsString("category")))
+            .andExpect(jsonPath("$.items[5].error", is("location 999999 does not exist")))
+            .andReturn().getResponse().getContentAsString();
+        Long createdId = ((Number) JsonPath.read(response, "$.items[0].id")).longValue();
+        try {
+            // One event for the whole batch: the version moves once, both rows are logged.
+            assertEquals(version + 1, catalogVersion.current());
+            assertEquals(2, changeLog.changesSince(sequence, 10).orElseThrow().changes().size());
+
+            Location created = locationRepository.findById(createdId).orElseThrow();
+            assertEquals("Batch Kiosk", created.getName());
+            assertEquals(libraryCategoryId, created.getCategory().getId());
+            assertEquals("Renovated residence",
+                locationRepository.findById(northHall.getId()).orElseThrow().getDescription());
+
+            // In-memory views follow the batch once it commits.
+            mockMvc.perform(get("/api/locations/suggest").param("q", "batch kio"))
+                .andExpect(jsonPath("$[0].name", is("Batch Kiosk")));
+            mockMvc.perform(get("/api/locations/category/" + libraryCategoryId))
+                .andExpect(jsonPath("$[*].name", hasItem("Batch Kiosk")));
+        } finally {
+            locationRepository.deleteById(createdId);
+            locationRepository.save(northHall);
+        }
+    }
+
+    @Test
+    @DisplayName("POST /api/locations:batch should only be callable from the configured origins")
+    void testBatchUpsertCors() throws Exception {
+        mockMvc.perform(options("/api/locations:batch")
+                .header(HttpHeaders.ORIGIN, ADMIN_ORIGIN)
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.CONTENT_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, ADMIN_ORIGIN));
+        mockMvc.perform(options("/api/locations:batch")
+                .header(HttpHeaders.ORIGIN, "https://elsewhere.example")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.CONTENT_TYPE))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/locations:batch")
+                .header(HttpHeaders.ORIGIN, "https://elsewhere.example")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isForbidden());
+
+        // Reads stay open to every origin.
+        mockMvc.perform(get("/api/locations").header(HttpHeaders.ORIGIN, "https://elsewhere.example"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*"));
+    }
+
+    @Test
+    @DisplayName("POST /api/locations:batch should reject duplicate ids and empty batches")
+    void testBatchUpsertInvalid() throws Exception {
+        mockMvc.perform(post("/api/locations:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+            .andExpect(status().isBadRequest());
+
+        Location stadium = locationRepository.findAll().stream()
+            .filter(location -> location.getName().equals("Stadium"))
+            .findFirst()
+            .orElseThrow();
+        String item = """
+            {"id": %d, "name": "Stadium", "description": %s, "latitude": %s, "longitude": %s, "categoryId": %d}
+            """.formatted(stadium.getId(), stadium.getDescription() == null ? "null" : "\"" + stadium.getDescription() + "\"",
+            stadium.getLatitude(), stadium.getLongitude(), stadium.getCategory().getId());
+        mockMvc.perform(post("/api/locations:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + item + "," + item + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].status", is("UPDATED")))
+            .andExpect(jsonPath("$.items[1].status", is("REJECTED")))
+            .andExpect(jsonPath("$.items[1].error", containsString("more than once")));
+    }
 }
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
@@ -24,6 +26,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("LocationController Unit Tests")
 class LocationControllerTest {
 
+    private static final Limit FIRST_PAGE = Limit.of(LocationController.DEFAULT_PAGE_SIZE + 1);
+
     @Mock
     private LocationRepository locationRepository;
 
@@ -58,38 +62,41 @@ class LocationControllerTest {
     @DisplayName("Should get all locations successfully")
     void testGetAllLocations() {
         List<Location> locations = Arrays.asList(engineeringBuilding, scienceHall, centralLibrary);
-        when(locationRepository.findAll()).thenReturn(locations);
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(locations);
         
-        ResponseEntity<List<Location>> response = locationController.getAllLocations();
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(null, null);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals(3, response.getBody().size());
-        verify(locationRepository, times(1)).findAll();
+        verify(locationRepository, times(1)).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE);
     }
 
     @Test
     @DisplayName("Should return empty list when no locations exist")
     void testGetAllLocationsEmpty() {
-        when(locationRepository.findAll()).thenReturn(Collections.emptyList());
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
         
-        ResponseEntity<List<Location>> response = locationController.getAllLocations();
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(null, null);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().isEmpty());
-        verify(locationRepository, times(1)).findAll();
+        verify(locationRepository, times(1)).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE);
     }
 
     @Test
     @DisplayName("Should get locations by category id")
     void testGetLocationsByCategory() {
         List<Location> academicLocations = Arrays.asList(engineeringBuilding, scienceHall);
-        when(locationRepository.findByCategoryId(1L)).thenReturn(academicLocations);
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(academicLocations);
         
-        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L);
+        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L, null, null);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
@@ -97,21 +104,22 @@ class LocationControllerTest {
         assertEquals(2, response.getBody().size());
         assertTrue(response.getBody().stream()
             .allMatch(loc -> loc.getCategory().getId().equals(1L)));
-        verify(locationRepository, times(1)).findByCategoryId(1L);
+        verify(locationRepository, times(1)).findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE);
     }
 
     @Test
     @DisplayName("Should return empty list when category has no locations")
     void testGetLocationsByCategoryEmpty() {
-        when(locationRepository.findByCategoryId(999L)).thenReturn(Collections.emptyList());
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(999L, Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
         
-        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(999L);
+        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(999L, null, null);
         
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertTrue(response.getBody().isEmpty());
-        verify(locationRepository, times(1)).findByCategoryId(999L);
+        verify(locationRepository, times(1)).findByCategoryIdAndIdGreaterThanOrderByIdAsc(999L, Long.MIN_VALUE, FIRST_PAGE);
     }
 
     @Test
@@ -146,11 +154,12 @@ class LocationControllerTest {
     @Test
     @DisplayName("Should call repository only once for getAllLocations")
     void testGetAllLocationsRepositoryCallCount() {
-        when(locationRepository.findAll()).thenReturn(Collections.emptyList());
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
         
-        locationController.getAllLocations();
+        locationController.getAllLocations(null, null);
         
-        verify(locationRepository, times(1)).findAll();
+        verify(locationRepository, times(1)).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE);
         verifyNoMoreInteractions(locationRepository);
     }
 
@@ -168,11 +177,12 @@ class LocationControllerTest {
     @Test
     @DisplayName("Should call repository only once for getLocationsByCategory")
     void testGetLocationsByCategoryRepositoryCallCount() {
-        when(locationRepository.findByCategoryId(1L)).thenReturn(Collections.emptyList());
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
         
-        locationController.getLocationsByCategory(1L);
+        locationController.getLocationsByCategory(1L, null, null);
         
-        verify(locationRepository, times(1)).findByCategoryId(1L);
+        verify(locationRepository, times(1)).findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE);
         verifyNoMoreInteractions(locationRepository);
     }
 
@@ -180,9 +190,10 @@ class LocationControllerTest {
     @DisplayName("Should handle multiple locations with same category")
     void testMultipleLocationsWithSameCategory() {
         List<Location> locations = Arrays.asList(engineeringBuilding, scienceHall);
-        when(locationRepository.findByCategoryId(1L)).thenReturn(locations);
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(locations);
         
-        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L);
+        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L, null, null);
         
         assertEquals(2, response.getBody().size());
         assertTrue(response.getBody().stream()
@@ -193,9 +204,10 @@ class LocationControllerTest {
     @DisplayName("Should return correct location details")
     void testLocationDetails() {
         List<Location> locations = Arrays.asList(engineeringBuilding);
-        when(locationRepository.findAll()).thenReturn(locations);
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(locations);
         
-        ResponseEntity<List<Location>> response = locationController.getAllLocations();
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(null, null);
         Location location = response.getBody().get(0);
         
         assertEquals("Engineering Building", location.getName());
@@ -221,18 +233,18 @@ class LocationControllerTest {
     @Test
     @DisplayName("Should handle different category IDs")
     void testDifferentCategoryIds() {
-        when(locationRepository.findByCategoryId(1L))
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE))
             .thenReturn(Arrays.asList(engineeringBuilding, scienceHall));
-        when(locationRepository.findByCategoryId(2L))
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(2L, Long.MIN_VALUE, FIRST_PAGE))
             .thenReturn(Arrays.asList(centralLibrary));
         
-        ResponseEntity<List<Location>> response1 = locationController.getLocationsByCategory(1L);
-        ResponseEntity<List<Location>> response2 = locationController.getLocationsByCategory(2L);
+        ResponseEntity<List<Location>> response1 = locationController.getLocationsByCategory(1L, null, null);
+        ResponseEntity<List<Location>> response2 = locationController.getLocationsByCategory(2L, null, null);
         
         assertEquals(2, response1.getBody().size());
         assertEquals(1, response2.getBody().size());
-        verify(locationRepository, times(1)).findByCategoryId(1L);
-        verify(locationRepository, times(1)).findByCategoryId(2L);
+        verify(locationRepository, times(1)).findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE);
+        verify(locationRepository, times(1)).findByCategoryIdAndIdGreaterThanOrderByIdAsc(2L, Long.MIN_VALUE, FIRST_PAGE);
     }
 
     @Test
@@ -240,9 +252,10 @@ class LocationControllerTest {
     void testLocationOrderMaintained() {
         List<Location> orderedLocations = Arrays.asList(
             engineeringBuilding, scienceHall, centralLibrary);
-        when(locationRepository.findAll()).thenReturn(orderedLocations);
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(orderedLocations);
         
-        ResponseEntity<List<Location>> response = locationController.getAllLocations();
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(null, null);
         
         assertEquals("Engineering Building", response.getBody().get(0).getName());
         assertEquals("Science Hall", response.getBody().get(1).getName());
@@ -265,13 +278,15 @@ class LocationControllerTest {
     @Test
     @DisplayName("Should return OK status for all endpoints")
     void testAllEndpointsReturnOkStatus() {
-        when(locationRepository.findAll()).thenReturn(Collections.emptyList());
-        when(locationRepository.findByCategoryId(anyLong())).thenReturn(Collections.emptyList());
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(anyLong(), anyLong(), any(Limit.class)))
+            .thenReturn(Collections.emptyList());
         when(categoryRepository.findAll()).thenReturn(Collections.emptyList());
         
-        ResponseEntity<List<Location>> locationsResponse = locationController.getAllLocations();
+        ResponseEntity<List<Location>> locationsResponse = locationController.getAllLocations(null, null);
         ResponseEntity<List<Location>> locationsByCategoryResponse = 
-            locationController.getLocationsByCategory(1L);
+            locationController.getLocationsByCategory(1L, null, null);
         ResponseEntity<List<LocationCategory>> categoriesResponse = 
             locationController.getAllCategories();
         
@@ -284,9 +299,10 @@ class LocationControllerTest {
     @DisplayName("Should handle single location result")
     void testSingleLocationResult() {
         List<Location> singleLocation = Arrays.asList(engineeringBuilding);
-        when(locationRepository.findByCategoryId(1L)).thenReturn(singleLocation);
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(singleLocation);
         
-        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L);
+        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L, null, null);
         
         assertEquals(1, response.getBody().size());
         assertEquals("Engineering Building", response.getBody().get(0).getName());
@@ -308,9 +324,10 @@ class LocationControllerTest {
     @DisplayName("Should not modify repository data")
     void testNoRepositoryDataModification() {
         List<Location> locations = Arrays.asList(engineeringBuilding);
-        when(locationRepository.findAll()).thenReturn(locations);
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(locations);
         
-        locationController.getAllLocations();
+        locationController.getAllLocations(null, null);
         
         verify(locationRepository, never()).save(any());
         verify(locationRepository, never()).delete(any());
@@ -320,12 +337,63 @@ class LocationControllerTest {
     @Test
     @DisplayName("Should handle multiple consecutive calls")
     void testMultipleConsecutiveCalls() {
-        when(locationRepository.findAll()).thenReturn(Collections.emptyList());
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE))
+            .thenReturn(Collections.emptyList());
         
-        locationController.getAllLocations();
-        locationController.getAllLocations();
-        locationController.getAllLocations();
+        locationController.getAllLocations(null, null);
+        locationController.getAllLocations(null, null);
+        locationController.getAllLocations(null, null);
         
-        verify(locationRepository, times(3)).findAll();
+        verify(locationRepository, times(3)).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, FIRST_PAGE);
+    }
+
+    @Test
+    @DisplayName("Should advertise the next page when more locations exist")
+    void testNextPageCursor() {
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+            .thenReturn(Arrays.asList(engineeringBuilding, scienceHall, centralLibrary));
+
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(null, 2);
+
+        assertEquals(2, response.getBody().size());
+        assertEquals("2", response.getHeaders().getFirst(LocationController.NEXT_CURSOR_HEADER));
+        assertEquals("</api/locations?cursor=2&limit=2>; rel=\"next\"",
+            response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("Should not advertise a next page on the last page")
+    void testLastPageHasNoCursor() {
+        when(locationRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+            .thenReturn(Arrays.asList(centralLibrary));
+
+        ResponseEntity<List<Location>> response = locationController.getAllLocations(2L, 2);
+
+        assertEquals(1, response.getBody().size());
+        assertFalse(response.getHeaders().containsKey(LocationController.NEXT_CURSOR_HEADER));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("Should page locations of a category after the cursor")
+    void testCategoryPageCursor() {
+        when(locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(2)))
+            .thenReturn(Arrays.asList(engineeringBuilding, scienceHall));
+
+        ResponseEntity<List<Location>> response = locationController.getLocationsByCategory(1L, 0L, 1);
+
+        assertEquals(1, response.getBody().size());
+        assertEquals("</api/locations/category/1?cursor=1&limit=1>; rel=\"next\"",
+            response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes outside the allowed range")
+    void testInvalidPageSize() {
+        assertEquals(400, locationController.getAllLocations(null, 0).getStatusCodeValue());
+        assertEquals(400, locationController.getAllLocations(null, LocationController.MAX_PAGE_SIZE + 1)
+            .getStatusCodeValue());
+        assertEquals(400, locationController.getLocationsByCategory(1L, null, -1).getStatusCodeValue());
+        verifyNoInteractions(locationRepository);
     }
 }
@@ -0,0 +1,84 @@
+package com.capmass.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("LocationExportController Integration Tests")
+class LocationExportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("GET /api/locations/export should stream one JSON location per line")
+    void testNdjsonExport() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/locations/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", startsWith("application/x-ndjson")))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(11, lines.length);
+        assertTrue(body.endsWith("\n"));
+        Set<Long> ids = new HashSet<>();
+        for (String line : lines) {
+            JsonNode location = objectMapper.readTree(line);
+            assertTrue(ids.add(location.get("id").asLong()));
+            assertTrue(location.hasNonNull("name"));
+            assertTrue(location.get("category").hasNonNull("name"));
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/export?format=geojson should stream a FeatureCollection")
+    void testGeoJsonExport() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/locations/export").param("format", "geojson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Content-Type", startsWith("application/geo+json")))
+            .andReturn().getResponse().getContentAsString();
+
+        JsonNode collection = objectMapper.readTree(body);
+        assertEquals("FeatureCollection", collection.get("type").asText());
+        assertEquals(11, collection.get("features").size());
+        JsonNode feature = collection.get("features").get(0);
+        assertEquals("Point", feature.get("geometry").get("type").asText());
+        assertEquals(-74.0, feature.get("geometry").get("coordinates").get(0).asDouble(), 0.1);
+        assertEquals(40.7, feature.get("geometry").get("coordinates").get(1).asDouble(), 0.1);
+        assertTrue(feature.get("properties").hasNonNull("categoryName"));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/export should reject unknown formats")
+    void testUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/locations/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+}
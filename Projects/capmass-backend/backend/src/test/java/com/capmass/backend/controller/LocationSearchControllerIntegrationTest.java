@@ -0,0 +1,313 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.geo.LocationTileCache;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("LocationSearchController Integration Tests")
+class LocationSearchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    @Autowired
+    private LocationTileCache tileCache;
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should return nearest locations first")
+    void testNearby() throws Exception {
+        mockMvc.perform(get("/api/locations/nearby")
+                .param("lat", "40.7128")
+                .param("lon", "-74.0060")
+                .param("k", "3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].location.name", is("Engineering Building")))
+            .andExpect(jsonPath("$[0].distanceMeters", lessThan(1.0)))
+            .andExpect(jsonPath("$[0].location.category.name", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should honour the radius")
+    void testNearbyRadius() throws Exception {
+        mockMvc.perform(get("/api/locations/nearby")
+                .param("lat", "40.7128")
+                .param("lon", "-74.0060")
+                .param("k", "50")
+                .param("radius", "25"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(lessThan(11))))
+            .andExpect(jsonPath("$[*].distanceMeters", everyItem(lessThanOrEqualTo(25.0))));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should reject invalid parameters")
+    void testNearbyInvalid() throws Exception {
+        mockMvc.perform(get("/api/locations/nearby").param("lat", "91").param("lon", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/nearby").param("lat", "0").param("lon", "0").param("k", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/nearby").param("lat", "0").param("lon", "0").param("radius", "-1"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/nearby").param("lon", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should reflect saved and deleted locations")
+    void testNearbyTracksWrites() throws Exception {
+        LocationCategory category = categoryRepository.findAll().get(0);
+        Location kiosk = locationRepository.save(
+            new Location(null, "Info Kiosk", "Visitor information", category, 41.0, -73.0));
+        try {
+            mockMvc.perform(get("/api/locations/nearby")
+                    .param("lat", "41.0")
+                    .param("lon", "-73.0")
+                    .param("k", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].location.name", is("Info Kiosk")));
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+
+        mockMvc.perform(get("/api/locations/nearby")
+                .param("lat", "41.0")
+                .param("lon", "-73.0")
+                .param("k", "1")
+                .param("radius", "1000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should return locations inside the box")
+    void testWithin() throws Exception {
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "40.7120")
+                .param("minLon", "-74.0070")
+                .param("maxLat", "40.7140")
+                .param("maxLon", "-74.0050"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Results-Truncated", "false"))
+            .andExpect(jsonPath("$", hasSize(11)))
+            .andExpect(jsonPath("$[*].name", hasItem("Stadium")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should exclude locations outside the box")
+    void testWithinSmallBox() throws Exception {
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "40.7127")
+                .param("minLon", "-74.0061")
+                .param("maxLat", "40.7129")
+                .param("maxLon", "-74.0059"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name", containsInAnyOrder("Engineering Building", "Student Union Cafe")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should cap the result size")
+    void testWithinLimit() throws Exception {
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "-90")
+                .param("minLon", "-180")
+                .param("maxLat", "90")
+                .param("maxLon", "180")
+                .param("limit", "4"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Results-Truncated", "true"))
+            .andExpect(jsonPath("$", hasSize(4)));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should stop loading tiles once the limit is reached")
+    void testWithinLimitStopsLoadingTiles() throws Exception {
+        tileCache.clear();
+        long lookupsBefore = tileCache.getHits() + tileCache.getMisses();
+
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "-90")
+                .param("minLon", "-180")
+                .param("maxLat", "90")
+                .param("maxLon", "180")
+                .param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Results-Truncated", "true"))
+            .andExpect(jsonPath("$", hasSize(1)));
+
+        long lookups = tileCache.getHits() + tileCache.getMisses() - lookupsBefore;
+        assertThat(lookups).isLessThan(tileCache.coveringTiles(-90, -180, 90, 180).size());
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should reject an inverted box")
+    void testWithinInvalid() throws Exception {
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "41")
+                .param("minLon", "-74")
+                .param("maxLat", "40")
+                .param("maxLon", "-73"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private Long categoryId(String name) {
+        return categoryRepository.findAll().stream()
+            .filter(category -> category.getName().equals(name))
+            .findFirst()
+            .map(LocationCategory::getId)
+            .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should filter by category")
+    void testNearbyInCategory() throws Exception {
+        mockMvc.perform(get("/api/locations/nearby")
+                .param("lat", "40.7128")
+                .param("lon", "-74.0060")
+                .param("k", "5")
+                .param("categoryId", categoryId("Library").toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[*].location.name", containsInAnyOrder("Central Library", "Science Library")))
+            .andExpect(jsonPath("$[*].location.category.name", everyItem(is("Library"))));
+
+        mockMvc.perform(get("/api/locations/nearby")
+                .param("lat", "40.7128")
+                .param("lon", "-74.0060")
+                .param("categoryId", "999999"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should filter by category")
+    void testWithinInCategory() throws Exception {
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "40.7120")
+                .param("minLon", "-74.0070")
+                .param("maxLat", "40.7140")
+                .param("maxLon", "-74.0050")
+                .param("categoryId", categoryId("Dining").toString()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Results-Truncated", "false"))
+            .andExpect(jsonPath("$[*].name", contains("Main Cafeteria", "Student Union Cafe")));
+
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "-90")
+                .param("minLon", "-180")
+                .param("maxLat", "90")
+                .param("maxLon", "180")
+                .param("limit", "1")
+                .param("categoryId", categoryId("Dining").toString()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Results-Truncated", "true"))
+            .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Category-filtered geo queries should reflect saved and deleted locations")
+    void testCategoryQueriesTrackWrites() throws Exception {
+        LocationCategory library = categoryRepository.findById(categoryId("Library")).orElseThrow();
+        Location annex = locationRepository.save(
+            new Location(null, "Library Annex", "Overflow stacks", library, 41.0, -73.0));
+        try {
+            mockMvc.perform(get("/api/locations/nearby")
+                    .param("lat", "41.0")
+                    .param("lon", "-73.0")
+                    .param("k", "1")
+                    .param("categoryId", library.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].location.name", is("Library Annex")));
+        } finally {
+            locationRepository.delete(annex);
+        }
+
+        mockMvc.perform(get("/api/locations/within")
+                .param("minLat", "40.9")
+                .param("minLon", "-73.1")
+                .param("maxLat", "41.1")
+                .param("maxLon", "-72.9")
+                .param("categoryId", library.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should complete a name prefix")
+    void testSuggestPrefix() throws Exception {
+        mockMvc.perform(get("/api/locations/suggest").param("q", "stad"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name", is("Stadium")))
+            .andExpect(jsonPath("$[0].category.name", is("Sports & Recreation")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should tolerate typos and rank name matches first")
+    void testSuggestTypo() throws Exception {
+        mockMvc.perform(get("/api/locations/suggest").param("q", "libary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[*].name", hasItems("Central Library", "Science Library")))
+            .andExpect(jsonPath("$[0].name", containsString("Library")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should require every query term")
+    void testSuggestMultipleTerms() throws Exception {
+        mockMvc.perform(get("/api/locations/suggest").param("q", "science lib"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name", is("Science Library")));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should reject invalid parameters")
+    void testSuggestInvalid() throws Exception {
+        mockMvc.perform(get("/api/locations/suggest").param("q", "hall").param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/suggest").param("q", "x".repeat(101)))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/locations/suggest").param("q", "  "))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should reflect saved and deleted locations")
+    void testSuggestTracksWrites() throws Exception {
+        LocationCategory category = categoryRepository.findAll().get(0);
+        Location kiosk = locationRepository.save(
+            new Location(null, "Planetarium", "Dome theatre", category, 41.0, -73.0));
+        try {
+            mockMvc.perform(get("/api/locations/suggest").param("q", "planet"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name", is("Planetarium")));
+        } finally {
+            locationRepository.delete(kiosk);
+        }
+
+        mockMvc.perform(get("/api/locations/suggest").param("q", "planet"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
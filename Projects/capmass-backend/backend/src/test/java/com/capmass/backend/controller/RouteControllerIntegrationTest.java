@@ -0,0 +1,189 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.Walkway;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.repository.WalkwayRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("RouteController Integration Tests")
+class RouteControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private WalkwayRepository walkwayRepository;
+
+    private Location location(String name) {
+        return locationRepository.findAll().stream()
+            .filter(location -> location.getName().equals(name))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should route between nearby locations without stored walkways")
+    void testRouteOnNeighbourGraph() throws Exception {
+        Location from = location("Stadium");
+        Location to = location("South Tower");
+        double straightLine = GeoMath.haversineMeters(from.getLatitude(), from.getLongitude(),
+            to.getLatitude(), to.getLongitude());
+
+        mockMvc.perform(get("/api/routes")
+                .param("from", from.getId().toString())
+                .param("to", to.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.path[0].name", is("Stadium")))
+            .andExpect(jsonPath("$.path[-1].name", is("South Tower")))
+            .andExpect(jsonPath("$.path[0].category.name", notNullValue()))
+            .andExpect(jsonPath("$.distanceMeters", greaterThanOrEqualTo(straightLine - 1e-6)))
+            .andExpect(jsonPath("$.durationSeconds", greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should return a single location when start and destination match")
+    void testRouteToSelf() throws Exception {
+        Location library = location("Central Library");
+
+        mockMvc.perform(get("/api/routes")
+                .param("from", library.getId().toString())
+                .param("to", library.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.path", hasSize(1)))
+            .andExpect(jsonPath("$.distanceMeters", is(0.0)))
+            .andExpect(jsonPath("$.durationSeconds", is(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should return 404 for unknown locations")
+    void testUnknownLocation() throws Exception {
+        mockMvc.perform(get("/api/routes")
+                .param("from", location("Stadium").getId().toString())
+                .param("to", "999999"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should reject missing parameters")
+    void testMissingParameters() throws Exception {
+        mockMvc.perform(get("/api/routes").param("from", "1"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should follow stored walkways")
+    void testRouteFollowsWalkways() throws Exception {
+        Location stadium = location("Stadium");
+        Location tower = location("South Tower");
+        Location library = location("Central Library");
+        Walkway walkway = walkwayRepository.save(new Walkway(null, stadium, tower, 400.0));
+        try {
+            mockMvc.perform(get("/api/routes")
+                    .param("from", tower.getId().toString())
+                    .param("to", stadium.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.path[*].name", contains("South Tower", "Stadium")))
+                .andExpect(jsonPath("$.distanceMeters", is(400.0)))
+                .andExpect(jsonPath("$.durationSeconds", is(286)));
+
+            // Once walkways are mapped, locations without one are unreachable.
+            mockMvc.perform(get("/api/routes")
+                    .param("from", stadium.getId().toString())
+                    .param("to", library.getId().toString()))
+                .andExpect(status().isNotFound());
+        } finally {
+            walkwayRepository.delete(walkway);
+        }
+
+        mockMvc.perform(get("/api/routes")
+                .param("from", stadium.getId().toString())
+                .param("to", library.getId().toString()))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/routes/itinerary should visit every stop once, starting at the first")
+    void testItinerary() throws Exception {
+        String stops = String.join(",",
+            location("Central Library").getId().toString(),
+            location("South Tower").getId().toString(),
+            location("Main Cafeteria").getId().toString(),
+            location("Stadium").getId().toString(),
+            location("Engineering Building").getId().toString());
+
+        mockMvc.perform(get("/api/routes/itinerary").param("stops", stops))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.stops", hasSize(5)))
+            .andExpect(jsonPath("$.stops[0].name", is("Central Library")))
+            .andExpect(jsonPath("$.stops[*].name", containsInAnyOrder(
+                "Central Library", "South Tower", "Main Cafeteria", "Stadium", "Engineering Building")))
+            .andExpect(jsonPath("$.distanceMeters", greaterThan(0.0)))
+            .andExpect(jsonPath("$.durationSeconds", greaterThan(0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/routes/itinerary should follow walkways and return to the start on request")
+    void testItineraryRoundTrip() throws Exception {
+        Location stadium = location("Stadium");
+        Location tower = location("South Tower");
+        Location library = location("Central Library");
+        Walkway first = walkwayRepository.save(new Walkway(null, stadium, tower, 400.0));
+        Walkway second = walkwayRepository.save(new Walkway(null, tower, library, 300.0));
+        try {
+            // South Tower -> Central Library -> Stadium is 300 + 700 m, the other way round 400 + 700 m.
+            mockMvc.perform(get("/api/routes/itinerary")
+                    .param("stops", tower.getId() + "," + stadium.getId() + "," + library.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stops[*].name", contains("South Tower", "Central Library", "Stadium")))
+                .andExpect(jsonPath("$.distanceMeters", is(1000.0)));
+
+            mockMvc.perform(get("/api/routes/itinerary")
+                    .param("stops", stadium.getId() + "," + library.getId())
+                    .param("roundTrip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stops[*].name", contains("Stadium", "Central Library")))
+                .andExpect(jsonPath("$.distanceMeters", is(1400.0)));
+        } finally {
+            walkwayRepository.delete(second);
+            walkwayRepository.delete(first);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/routes/itinerary should reject empty and oversized stop lists")
+    void testItineraryInvalid() throws Exception {
+        mockMvc.perform(get("/api/routes/itinerary").param("stops", ""))
+            .andExpect(status().isBadRequest());
+
+        StringBuilder stops = new StringBuilder("1");
+        for (int i = 2; i <= RouteController.MAX_ITINERARY_STOPS + 1; i++) {
+            stops.append(',').append(i);
+        }
+        mockMvc.perform(get("/api/routes/itinerary").param("stops", stops.toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/routes/itinerary should return 404 for unknown stops")
+    void testItineraryUnknownStop() throws Exception {
+        mockMvc.perform(get("/api/routes/itinerary")
+                .param("stops", location("Stadium").getId() + ",999999"))
+            .andExpect(status().isNotFound());
+    }
+}
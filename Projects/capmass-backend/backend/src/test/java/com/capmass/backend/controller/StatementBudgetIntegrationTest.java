@@ -0,0 +1,164 @@
+package com.capmass.backend.controller;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.capmass.backend.repository.LocationRepository;
+import com.capmass.backend.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Guards against N+1 regressions: every catalog endpoint must run within a fixed number of
+ * SQL statements no matter how many locations or categories it returns.
+ */
+@SpringBootTest(properties = SqlStatementCounter.PROPERTY)
+@AutoConfigureMockMvc
+@DisplayName("Controller SQL Statement Budget Tests")
+class StatementBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    private Long academicCategoryId;
+
+    @BeforeEach
+    void setUp() {
+        academicCategoryId = categoryRepository.findAll().stream()
+            .filter(cat -> "Academic Buildings".equals(cat.getName()))
+            .findFirst()
+            .map(LocationCategory::getId)
+            .orElseThrow();
+    }
+
+    @Test
+    @DisplayName("GET /api/locations should run a single statement")
+    void testAllLocationsBudget() throws Exception {
+        assertStatementBudget(get("/api/locations"), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/category/{categoryId} should run a single statement")
+    void testLocationsByCategoryBudget() throws Exception {
+        assertStatementBudget(get("/api/locations/category/" + academicCategoryId), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/categories should run a single statement")
+    void testCategoriesBudget() throws Exception {
+        assertStatementBudget(get("/api/categories"), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/nearby should run a single statement")
+    void testNearbyBudget() throws Exception {
+        assertStatementBudget(get("/api/locations/nearby")
+            .param("lat", "40.7128")
+            .param("lon", "-74.0060")
+            .param("k", "11"), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/within should run at most one statement per tile")
+    void testWithinBudget() throws Exception {
+        assertStatementBudget(get("/api/locations/within")
+            .param("minLat", "40.7120")
+            .param("minLon", "-74.0070")
+            .param("maxLat", "40.7140")
+            .param("maxLon", "-74.0050"), 32);
+    }
+
+    @Test
+    @DisplayName("Category-filtered nearby and within should run a single statement")
+    void testCategoryGeoBudget() throws Exception {
+        String category = academicCategoryId.toString();
+        mockMvc.perform(get("/api/locations/nearby").param("lat", "40.7128").param("lon", "-74.0060")
+            .param("categoryId", category)).andExpect(status().isOk());
+
+        assertStatementBudget(get("/api/locations/nearby")
+            .param("lat", "40.7128")
+            .param("lon", "-74.0060")
+            .param("categoryId", category), 1);
+        assertStatementBudget(get("/api/locations/within")
+            .param("minLat", "40.7120")
+            .param("minLon", "-74.0070")
+            .param("maxLat", "40.7140")
+            .param("maxLon", "-74.0050")
+            .param("categoryId", category), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/suggest should run a single statement")
+    void testSuggestBudget() throws Exception {
+        assertStatementBudget(get("/api/locations/suggest").param("q", "hall"), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/routes should run a single statement once the graph is built")
+    void testRouteBudget() throws Exception {
+        List<Location> locations = locationRepository.findAll();
+        String from = locations.get(0).getId().toString();
+        String to = locations.get(locations.size() - 1).getId().toString();
+        mockMvc.perform(get("/api/routes").param("from", from).param("to", to)).andExpect(status().isOk());
+
+        assertStatementBudget(get("/api/routes").param("from", from).param("to", to), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/routes/itinerary should run a single statement once the graph is built")
+    void testItineraryBudget() throws Exception {
+        String stops = locationRepository.findAll().stream()
+            .map(location -> location.getId().toString())
+            .collect(Collectors.joining(","));
+        mockMvc.perform(get("/api/routes/itinerary").param("stops", stops)).andExpect(status().isOk());
+
+        assertStatementBudget(get("/api/routes/itinerary").param("stops", stops), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/locations/export should run a single statement")
+    void testExportBudget() throws Exception {
+        SqlStatementCounter.reset();
+        MvcResult started = mockMvc.perform(get("/api/locations/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+
+        assertBudget("/api/locations/export", 1);
+    }
+
+    private void assertStatementBudget(RequestBuilder request, int budget) throws Exception {
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertBudget(result.getRequest().getRequestURI(), budget);
+    }
+
+    private static void assertBudget(String path, int budget) {
+        int statements = SqlStatementCounter.count();
+        assertTrue(statements <= budget,
+            path + " ran " + statements + " SQL statements, budget is " + budget);
+    }
+}
@@ -0,0 +1,63 @@
+package com.capmass.backend.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexAdvisor Unit Tests")
+class IndexAdvisorTest {
+
+    private static final String BY_CATEGORY = "select l1_0.id,l1_0.name from locations l1_0"
+        + " join location_categories c1_0 on c1_0.id=l1_0.category_id"
+        + " where l1_0.category_id=? and l1_0.id>? order by l1_0.id fetch first ? rows only";
+
+    @Test
+    @DisplayName("Should map filter columns to tables through their aliases")
+    void testFilters() {
+        IndexAdvisor.Filter byCategory = IndexAdvisor.filters(BY_CATEGORY).get("locations");
+        assertEquals(List.of("category_id"), byCategory.selective());
+        assertEquals(List.of("category_id", "id"), byCategory.indexColumns());
+
+        IndexAdvisor.Filter viewport = IndexAdvisor.filters("select l1_0.id from locations l1_0"
+            + " where l1_0.latitude between ? and ? and l1_0.longitude between ? and ?").get("locations");
+        assertEquals(List.of("latitude", "longitude"), viewport.selective());
+        assertEquals(List.of("latitude"), viewport.indexColumns());
+
+        assertEquals(Map.of("locations", new IndexAdvisor.Filter(List.of("id"), List.of())),
+            IndexAdvisor.filters("update locations set name=?,latitude=? where id=?"));
+        assertEquals(Map.of(), IndexAdvisor.filters("select l1_0.id from locations l1_0 where lower(l1_0.name) like ?"));
+        assertEquals(Map.of(), IndexAdvisor.filters("insert into locations (id,name) values (?,?)"));
+    }
+
+    @Test
+    @DisplayName("Should suggest an index for a filter column no index starts with")
+    void testAdvise() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:advisortest;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table location_categories (id bigint primary key, name varchar(255))");
+        jdbc.execute("create table locations (id bigint primary key, name varchar(255), category_id bigint,"
+            + " latitude double, longitude double)");
+        IndexAdvisor advisor = new IndexAdvisor(dataSource);
+        List<StatementProfiler.QueryStat> queries = List.of(
+            new StatementProfiler.QueryStat(BY_CATEGORY, 40, 80, 2, 5),
+            new StatementProfiler.QueryStat("select * from locations where id=?", 100, 10, 0.1, 1),
+            new StatementProfiler.QueryStat("select * from unknown_table where code=?", 1, 1, 1, 1));
+
+        List<IndexAdvisor.IndexAdvice> advice = advisor.advise(queries);
+        assertEquals(1, advice.size());
+        assertEquals("locations", advice.get(0).table());
+        assertEquals(List.of("category_id", "id"), advice.get(0).columns());
+        assertEquals("create index idx_locations_category_id_id on locations (category_id, id)", advice.get(0).statement());
+        assertEquals(40, advice.get(0).calls());
+
+        jdbc.execute("create index idx_locations_category on locations (category_id)");
+        assertTrue(advisor.advise(queries).isEmpty());
+        jdbc.execute("drop all objects");
+    }
+}
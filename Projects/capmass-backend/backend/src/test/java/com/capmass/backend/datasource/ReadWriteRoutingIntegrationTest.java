@@ -0,0 +1,188 @@
+package com.capmass.backend.datasource;
+
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.catalog.CatalogVersion;
+import com.capmass.backend.config.ReplicaDataSourceConfig;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "catalog.replica.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:routingtest",
+    "catalog.replica.urls=jdbc:h2:mem:routingtest-replica",
+    "catalog.replica.refresh-interval-ms=3600000",
+    "catalog.response-cache.enabled=false"
+})
+@DisplayName("Read/Write Routing Integration Tests")
+@Import(ReadWriteRoutingIntegrationTest.GapReader.class)
+class ReadWriteRoutingIntegrationTest {
+
+    /**
+     * Reads a location after its write has committed, before the caches and views have followed
+     * it and the catalog version has moved.
+     */
+    @TestConfiguration
+    static class GapReader {
+
+        private final CatalogVersion catalogVersion;
+        private final LocationRepository locationRepository;
+        private final TransactionTemplate readOnly;
+
+        private volatile Long watchedId;
+        private volatile long committedSeen;
+        private volatile long versionSeen;
+        private volatile String nameSeen;
+
+        GapReader(CatalogVersion catalogVersion, LocationRepository locationRepository,
+                  PlatformTransactionManager transactionManager) {
+            this.catalogVersion = catalogVersion;
+            this.locationRepository = locationRepository;
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+
+        @Order(CatalogVersion.VIEW_ORDER - 1)
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onCatalogChange(CatalogChangeEvent event) {
+            Long id = watchedId;
+            if (id == null || !id.equals(event.entityId())) {
+                return;
+            }
+            committedSeen = catalogVersion.committed();
+            versionSeen = catalogVersion.current();
+            nameSeen = readOnly.execute(status -> locationRepository.findById(id).orElseThrow().getName());
+        }
+    }
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private ReplicaDataSourceConfig.ReplicaPools pools;
+
+    @Autowired
+    private H2ReplicaRefresher refresher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private GapReader gapReader;
+
+    @Test
+    @DisplayName("Repository reads should be served by the replica once it has caught up")
+    void testReadsGoToReplica() {
+        refresher.refresh();
+        Location location = locationRepository.findAll().get(0);
+        JdbcTemplate replica = new JdbcTemplate(pools.replicas().get(0).dataSource());
+        replica.update("update locations set name = ? where id = ?", "Replica Copy", location.getId());
+        double before = routes("replica-1", "read");
+
+        try {
+            assertEquals("Replica Copy", locationRepository.findById(location.getId()).orElseThrow().getName());
+            assertTrue(routes("replica-1", "read") > before);
+        } finally {
+            replica.update("update locations set name = ? where id = ?", location.getName(), location.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Reads should fall back to the primary after a write until the replica is refreshed")
+    void testFallbackWhileReplicaBehind() {
+        refresher.refresh();
+        Location location = locationRepository.findAll().get(0);
+        String original = location.getName();
+
+        location.setName("Renamed On Primary");
+        locationRepository.save(location);
+        try {
+            double fallbacks = routes("primary", "replica-behind");
+            assertEquals("Renamed On Primary", locationRepository.findById(location.getId()).orElseThrow().getName());
+            assertTrue(routes("primary", "replica-behind") > fallbacks);
+
+            refresher.refresh();
+            double replicaReads = routes("replica-1", "read");
+            assertEquals("Renamed On Primary", locationRepository.findById(location.getId()).orElseThrow().getName());
+            assertTrue(routes("replica-1", "read") > replicaReads);
+        } finally {
+            location.setName(original);
+            locationRepository.save(location);
+        }
+    }
+
+    @Test
+    @DisplayName("Reads between a commit and the version bump should go to the primary and keep the old version")
+    void testReadBeforeVersionMoves() {
+        refresher.refresh();
+        Location location = locationRepository.findAll().get(0);
+        String original = location.getName();
+        long committed = catalogVersion.committed();
+        long version = catalogVersion.current();
+        double fallbacks = routes("primary", "replica-behind");
+
+        gapReader.watchedId = location.getId();
+        location.setName("Renamed Before Version Moves");
+        try {
+            locationRepository.save(location);
+
+            // The replica is known to be behind, so the read sees the write...
+            assertEquals(committed + 1, gapReader.committedSeen);
+            assertEquals("Renamed Before Version Moves", gapReader.nameSeen);
+            assertTrue(routes("primary", "replica-behind") > fallbacks);
+            // ...while anything served in the meantime is still tagged with the old version.
+            assertEquals(version, gapReader.versionSeen);
+            assertEquals(version + 1, catalogVersion.current());
+        } finally {
+            gapReader.watchedId = null;
+            location.setName(original);
+            locationRepository.save(location);
+        }
+    }
+
+    @Test
+    @DisplayName("The replica should hold the seeded catalog and report no lag")
+    void testReplicaSeeded() {
+        refresher.refresh();
+        JdbcTemplate replica = new JdbcTemplate(pools.replicas().get(0).dataSource());
+
+        assertEquals(locationRepository.count(),
+            replica.queryForObject("select count(*) from locations", Long.class));
+        assertEquals(0.0, meterRegistry.get("catalog.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Enabling replicas without any replica URL should fail at startup")
+    void testNoReplicas() {
+        assertThrows(IllegalStateException.class, () -> new ReplicaDataSourceConfig().replicaPools(
+            new DataSourceProperties(), catalogVersion, meterRegistry, List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new ReadWriteRoutingDataSource(
+            pools.primary(), List.of(), catalogVersion, meterRegistry));
+    }
+
+    private double routes(String target, String reason) {
+        return meterRegistry.get("catalog.datasource.routes").tag("target", target).tag("reason", reason)
+            .counter().count();
+    }
+}
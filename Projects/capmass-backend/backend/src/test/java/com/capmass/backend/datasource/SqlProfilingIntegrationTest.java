@@ -0,0 +1,67 @@
+package com.capmass.backend.datasource;
+
+import com.capmass.backend.repository.LocationRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("SQL Profiling Integration Tests")
+class SqlProfilingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("The DataSource should be profiled and still unwrap to the connection pool")
+    void testDataSourceWrapped() throws Exception {
+        assertInstanceOf(ProfilingDataSource.class, dataSource);
+        assertNotNull(dataSource.unwrap(HikariDataSource.class));
+    }
+
+    @Test
+    @DisplayName("Queries should be listed with call counts and a missing index suggested for a full scan")
+    void testReport() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            locationRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(40.0 + i, 41.0, -75.0, -74.0, Limit.of(100));
+            locationRepository.findByCategoryIdAndIdGreaterThanOrderByIdAsc(1000L + i, 0L, Limit.of(100));
+        }
+        jdbcTemplate.queryForList("select id from locations where description = ?", "Freshman dormitory");
+
+        mockMvc.perform(get("/actuator/sqlqueries").param("order", "calls").param("limit", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.slowest[?(@.sql =~ /.*latitude between \\? and \\?.*/)].calls",
+                everyItem(greaterThanOrEqualTo(3))))
+            .andExpect(jsonPath("$.indexAdvice[*].statement",
+                hasItem("create index idx_locations_description on locations (description)")))
+            // Covered by the lat/lon index and the foreign key index
+            .andExpect(jsonPath("$.indexAdvice[*].columns[*]", not(hasItem("latitude"))))
+            .andExpect(jsonPath("$.indexAdvice[*].columns[*]", not(hasItem("category_id"))));
+
+        mockMvc.perform(get("/actuator/sqlqueries").param("order", "fastest"))
+            .andExpect(status().isBadRequest());
+    }
+}
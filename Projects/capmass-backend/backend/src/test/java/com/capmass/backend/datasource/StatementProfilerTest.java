@@ -0,0 +1,82 @@
+package com.capmass.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatementProfiler Unit Tests")
+class StatementProfilerTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementProfiler profiler = new StatementProfiler(meterRegistry, 100, 60_000, 3, now::get);
+
+    @Test
+    @DisplayName("Should normalize literals, whitespace and IN lists into one query shape")
+    void testNormalize() {
+        assertEquals("select * from locations where name=? and id in (?) and latitude>?",
+            StatementProfiler.normalize("select *\n  from locations where name='O''Brien Hall' and id in (1, 2,3)"
+                + " and latitude>-40.5"));
+        assertEquals("select l1_0.id from locations l1_0 where l1_0.category_id=? fetch first ? rows only",
+            StatementProfiler.normalize("select l1_0.id from locations l1_0 where l1_0.category_id=? fetch first ? rows only"));
+        assertEquals("select * from locations where id in (?)",
+            StatementProfiler.normalize("select * from locations where id in (?, ?, ?)"));
+    }
+
+    @Test
+    @DisplayName("Should rank queries by total time and count calls per shape")
+    void testTop() {
+        profiler.record("select * from locations where id=1", 2 * MILLIS);
+        profiler.record("select * from locations where id=2", 4 * MILLIS);
+        profiler.record("select * from location_categories", 5 * MILLIS);
+
+        List<StatementProfiler.QueryStat> top = profiler.top(10, StatementProfiler.Order.TOTAL);
+        assertEquals(2, top.size());
+        assertEquals("select * from locations where id=?", top.get(0).sql());
+        assertEquals(2, top.get(0).calls());
+        assertEquals(6.0, top.get(0).totalMillis(), 1e-9);
+        assertEquals(3.0, top.get(0).meanMillis(), 1e-9);
+        assertEquals(4.0, top.get(0).maxMillis(), 1e-9);
+
+        assertEquals("select * from location_categories", profiler.top(1, StatementProfiler.Order.MAX).get(0).sql());
+        assertEquals(3, meterRegistry.get("catalog.sql.statements").tag("operation", "select").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should drop queries that have not run for two windows")
+    void testRollingWindow() {
+        profiler.record("select * from walkways", MILLIS);
+        now.addAndGet(60_000);
+        profiler.record("select * from locations", MILLIS);
+        assertEquals(2, profiler.queries().size());
+
+        now.addAndGet(60_000);
+        profiler.record("select * from locations", MILLIS);
+        List<StatementProfiler.QueryStat> queries = profiler.queries();
+        assertEquals(1, queries.size());
+        assertEquals(2, queries.get(0).calls());
+    }
+
+    @Test
+    @DisplayName("Should only count executions beyond the tracked number of query shapes")
+    void testMaxQueries() {
+        for (String table : List.of("a", "b", "c", "d", "e")) {
+            profiler.record("select * from " + table, MILLIS);
+        }
+        profiler.record("select * from a", MILLIS);
+
+        assertEquals(3, profiler.queries().size());
+        assertEquals(2, profiler.untracked());
+
+        profiler.reset();
+        assertTrue(profiler.queries().isEmpty());
+        assertEquals(0, profiler.untracked());
+    }
+}
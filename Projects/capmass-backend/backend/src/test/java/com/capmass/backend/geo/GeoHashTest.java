@@ -0,0 +1,58 @@
+package com.capmass.backend.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GeoHash Unit Tests")
+class GeoHashTest {
+
+    @Test
+    @DisplayName("Should encode a known coordinate")
+    void testEncode() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("dr5reg", GeoHash.encode(40.7128, -74.0060, 6));
+    }
+
+    @Test
+    @DisplayName("Should decode bounds containing the encoded point")
+    void testBoundsContainPoint() {
+        double[] bounds = GeoHash.bounds(GeoHash.encode(40.7128, -74.0060, 7));
+
+        assertTrue(bounds[0] <= 40.7128 && 40.7128 <= bounds[2]);
+        assertTrue(bounds[1] <= -74.0060 && -74.0060 <= bounds[3]);
+        assertEquals(GeoHash.cellHeightDegrees(7), bounds[2] - bounds[0], 1e-12);
+        assertEquals(GeoHash.cellWidthDegrees(7), bounds[3] - bounds[1], 1e-12);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid input")
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> GeoHash.bounds("abc"));
+    }
+
+    @Test
+    @DisplayName("Should cover a bounding box with distinct cells")
+    void testCoveringCells() {
+        List<String> cells = GeoHash.coveringCells(40.7120, -74.0070, 40.7140, -74.0050, 7);
+
+        assertEquals(GeoHash.countCoveringCells(40.7120, -74.0070, 40.7140, -74.0050, 7), cells.size());
+        assertEquals(cells.size(), new HashSet<>(cells).size());
+        assertTrue(cells.contains(GeoHash.encode(40.7128, -74.0060, 7)));
+        assertTrue(cells.contains(GeoHash.encode(40.7140, -74.0050, 7)));
+    }
+
+    @Test
+    @DisplayName("Should cover the whole world at precision one")
+    void testWorldCover() {
+        List<String> cells = GeoHash.coveringCells(-90, -180, 90, 180, 1);
+
+        assertEquals(32, cells.size());
+        assertEquals(32, new HashSet<>(cells).size());
+    }
+}
@@ -0,0 +1,111 @@
+package com.capmass.backend.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LocationColumns Unit Tests")
+class LocationColumnsTest {
+
+    private static List<LocationPoint> randomPoints(int n, long seed) {
+        Random random = new Random(seed);
+        List<LocationPoint> points = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            points.add(new LocationPoint((long) i + 1, 40.70 + random.nextDouble() * 0.05,
+                -74.03 + random.nextDouble() * 0.05, (long) random.nextInt(5) + 10));
+        }
+        return points;
+    }
+
+    @Test
+    @DisplayName("Should skip points without coordinates and map category ids to ordinals")
+    void testBuild() {
+        LocationColumns columns = LocationColumns.of(List.of(
+            new LocationPoint(1L, 40.7, -74.0, 30L),
+            new LocationPoint(2L, null, -74.0, 10L),
+            new LocationPoint(3L, 40.8, -74.1, 10L)));
+
+        assertEquals(2, columns.size());
+        assertEquals(0, columns.categoryOrdinal(10L));
+        assertEquals(1, columns.categoryOrdinal(30L));
+        assertEquals(-1, columns.categoryOrdinal(20L));
+    }
+
+    @Test
+    @DisplayName("Should return ids inside the box and category in ascending order")
+    void testWithin() {
+        List<LocationPoint> points = randomPoints(2000, 1);
+        LocationColumns columns = LocationColumns.of(points);
+        int category = columns.categoryOrdinal(12L);
+        long[] out = new long[2000];
+
+        int count = columns.within(40.71, -74.02, 40.73, -74.00, category, out);
+
+        long[] expected = points.stream()
+            .filter(p -> p.latitude() >= 40.71 && p.latitude() <= 40.73
+                && p.longitude() >= -74.02 && p.longitude() <= -74.00 && p.categoryId() == 12L)
+            .mapToLong(LocationPoint::id)
+            .sorted()
+            .toArray();
+        assertEquals(expected.length, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], out[i]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report more matches than fit in the output")
+    void testWithinTruncated() {
+        LocationColumns columns = LocationColumns.of(randomPoints(500, 2));
+        long[] out = new long[10];
+
+        int count = columns.within(40.70, -74.03, 40.75, -73.98, LocationColumns.ANY_CATEGORY, out);
+
+        assertEquals(11, count);
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force nearest search within a category")
+    void testNearestMatchesBruteForce() {
+        List<LocationPoint> points = randomPoints(5000, 3);
+        LocationColumns columns = LocationColumns.of(points);
+        Random random = new Random(4);
+
+        for (int query = 0; query < 50; query++) {
+            double lat = 40.69 + random.nextDouble() * 0.07;
+            double lon = -74.04 + random.nextDouble() * 0.07;
+            long categoryId = 10L + random.nextInt(5);
+            double radius = query % 2 == 0 ? Double.POSITIVE_INFINITY : 800;
+
+            List<LocationSpatialIndex.Neighbor> result =
+                columns.nearest(lat, lon, 7, radius, columns.categoryOrdinal(categoryId));
+
+            List<Double> expected = points.stream()
+                .filter(p -> p.categoryId() == categoryId)
+                .map(p -> GeoMath.haversineMeters(lat, lon, p.latitude(), p.longitude()))
+                .filter(distance -> distance <= radius)
+                .sorted(Comparator.naturalOrder())
+                .limit(7)
+                .toList();
+            assertEquals(expected.size(), result.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), result.get(i).distanceMeters(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should return nothing for an empty snapshot")
+    void testEmpty() {
+        LocationColumns columns = LocationColumns.of(List.of());
+
+        assertTrue(columns.nearest(40.7, -74.0, 5, Double.POSITIVE_INFINITY, LocationColumns.ANY_CATEGORY).isEmpty());
+        assertEquals(0, columns.within(-90, -180, 90, 180, LocationColumns.ANY_CATEGORY, new long[5]));
+    }
+}
@@ -0,0 +1,157 @@
+package com.capmass.backend.geo;
+
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LocationSpatialIndex Unit Tests")
+class LocationSpatialIndexTest {
+
+    private LocationRepository locationRepository;
+    private LocationSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository = mock(LocationRepository.class);
+        index = new LocationSpatialIndex(locationRepository, 0.001);
+    }
+
+    @Test
+    @DisplayName("Should return empty result for empty index")
+    void testEmptyIndex() {
+        assertTrue(index.nearest(40.7128, -74.0060, 5, Double.POSITIVE_INFINITY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return nearest locations ordered by distance")
+    void testNearestOrdered() {
+        index.put(1L, 40.7128, -74.0060);
+        index.put(2L, 40.7130, -74.0058);
+        index.put(3L, 40.7200, -74.0100);
+
+        List<LocationSpatialIndex.Neighbor> result = index.nearest(40.7129, -74.0059, 2, Double.POSITIVE_INFINITY);
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).distanceMeters() <= result.get(1).distanceMeters());
+        assertTrue(result.stream().noneMatch(n -> n.id() == 3L));
+    }
+
+    @Test
+    @DisplayName("Should exclude locations outside the radius")
+    void testRadiusFilter() {
+        index.put(1L, 40.7128, -74.0060);
+        index.put(2L, 40.7300, -74.0060);
+
+        List<LocationSpatialIndex.Neighbor> result = index.nearest(40.7128, -74.0060, 10, 500);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should find a far away location in a sparse index")
+    void testSparseIndex() {
+        index.put(1L, 22.5726, 88.3639);
+
+        List<LocationSpatialIndex.Neighbor> result = index.nearest(40.7128, -74.0060, 1, Double.POSITIVE_INFINITY);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should move a location when it is put again")
+    void testUpdateMovesLocation() {
+        index.put(1L, 40.7128, -74.0060);
+        index.put(1L, 22.5726, 88.3639);
+
+        assertEquals(1, index.size());
+        assertTrue(index.nearest(40.7128, -74.0060, 1, 1000).isEmpty());
+        assertEquals(1, index.nearest(22.5726, 88.3639, 1, 1000).size());
+    }
+
+    @Test
+    @DisplayName("Should remove a location")
+    void testRemove() {
+        index.put(1L, 40.7128, -74.0060);
+        index.remove(1L);
+
+        assertEquals(0, index.size());
+        assertTrue(index.nearest(40.7128, -74.0060, 1, Double.POSITIVE_INFINITY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply catalog change events")
+    void testCatalogChangeEvents() {
+        LocationCategory category = new LocationCategory(1L, "Library", "Study facilities");
+        Location library = new Location(7L, "Central Library", "Main library", category, 40.7125, -74.0061);
+
+        index.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, 7L, library));
+        assertEquals(1, index.size());
+
+        index.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.CATEGORY, CatalogChangeEvent.Operation.DELETE, 7L, category));
+        assertEquals(1, index.size());
+
+        index.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.DELETE, 7L, library));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the repository")
+    void testRebuild() {
+        LocationCategory category = new LocationCategory(1L, "Dining", "Food");
+        when(locationRepository.findAll()).thenReturn(List.of(
+            new Location(1L, "Main Cafeteria", "Dining hall", category, 40.7132, -74.0056),
+            new Location(2L, "Student Union Cafe", "Coffee", category, 40.7129, -74.0059)));
+        index.put(99L, 0.0, 0.0);
+
+        index.rebuild();
+
+        assertEquals(2, index.size());
+        assertEquals(2L, index.nearest(40.7129, -74.0059, 1, Double.POSITIVE_INFINITY).get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should match a brute force search")
+    void testMatchesBruteForce() {
+        Random random = new Random(42);
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double lat = 40.70 + random.nextDouble() * 0.03;
+            double lon = -74.02 + random.nextDouble() * 0.03;
+            points.add(new double[] {i, lat, lon});
+            index.put(i, lat, lon);
+        }
+
+        for (int q = 0; q < 50; q++) {
+            double lat = 40.69 + random.nextDouble() * 0.05;
+            double lon = -74.03 + random.nextDouble() * 0.05;
+            List<Long> expected = points.stream()
+                .sorted(Comparator.comparingDouble(p -> GeoMath.haversineMeters(lat, lon, p[1], p[2])))
+                .limit(10)
+                .map(p -> (long) p[0])
+                .toList();
+
+            List<Long> actual = index.nearest(lat, lon, 10, Double.POSITIVE_INFINITY).stream()
+                .map(LocationSpatialIndex.Neighbor::id)
+                .toList();
+
+            assertEquals(expected, actual);
+        }
+    }
+}
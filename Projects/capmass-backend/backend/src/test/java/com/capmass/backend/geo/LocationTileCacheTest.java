@@ -0,0 +1,125 @@
+package com.capmass.backend.geo;
+
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LocationTileCache Unit Tests")
+class LocationTileCacheTest {
+
+    private LocationRepository locationRepository;
+    private LocationTileCache tileCache;
+    private LocationCategory category;
+    private Location engineeringBuilding;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository = mock(LocationRepository.class);
+        tileCache = new LocationTileCache(locationRepository, 2, 10);
+        category = new LocationCategory(1L, "Academic Buildings", "Buildings for classes");
+        engineeringBuilding = new Location(1L, "Engineering Building", "Main building", category, 40.7128, -74.0060);
+        when(locationRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Limit.class)))
+            .thenReturn(List.of(engineeringBuilding));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated tile reads from memory")
+    void testCacheHit() {
+        String geohash = GeoHash.encode(40.7128, -74.0060, 7);
+
+        tileCache.getTile(geohash);
+        LocationTileCache.Tile tile = tileCache.getTile(geohash);
+
+        assertEquals(1, tile.locations().size());
+        assertEquals(1, tileCache.getHits());
+        assertEquals(1, tileCache.getMisses());
+        verify(locationRepository, times(1)).findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(
+            anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used tiles beyond capacity")
+    void testLruEviction() {
+        tileCache.getTile("dr5regw");
+        tileCache.getTile("dr5regx");
+        tileCache.getTile("dr5regy");
+
+        assertEquals(2, tileCache.size());
+    }
+
+    @Test
+    @DisplayName("Should mark tiles holding more than the per-tile limit as truncated")
+    void testTruncatedTile() {
+        List<Location> many = java.util.stream.LongStream.rangeClosed(1, 11)
+            .mapToObj(id -> new Location(id, "L" + id, null, category, 40.7128, -74.0060))
+            .toList();
+        when(locationRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Limit.class)))
+            .thenReturn(many);
+
+        LocationTileCache.Tile tile = tileCache.getTile("dr5regw");
+
+        assertTrue(tile.truncated());
+        assertEquals(10, tile.locations().size());
+    }
+
+    @Test
+    @DisplayName("Should evict tiles that contained a changed location")
+    void testInvalidateOldPosition() {
+        String geohash = GeoHash.encode(40.7128, -74.0060, 7);
+        tileCache.getTile(geohash);
+
+        Location moved = new Location(1L, "Engineering Building", "Main building", category, 22.5726, 88.3639);
+        tileCache.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, 1L, moved));
+
+        assertEquals(0, tileCache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the tile a new location lands in")
+    void testInvalidateNewPosition() {
+        when(locationRepository.findByLatitudeBetweenAndLongitudeBetweenOrderByIdAsc(
+                anyDouble(), anyDouble(), anyDouble(), anyDouble(), any(Limit.class)))
+            .thenReturn(List.of());
+        String geohash = GeoHash.encode(40.7128, -74.0060, 7);
+        tileCache.getTile(geohash);
+
+        Location added = new Location(5L, "Kiosk", null, category, 40.7128, -74.0060);
+        tileCache.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.LOCATION, CatalogChangeEvent.Operation.UPSERT, 5L, added));
+
+        assertEquals(0, tileCache.size());
+    }
+
+    @Test
+    @DisplayName("Should drop all tiles when a category changes")
+    void testCategoryChangeClearsCache() {
+        tileCache.getTile("dr5regw");
+        tileCache.getTile("dr5regx");
+
+        tileCache.onCatalogChange(new CatalogChangeEvent(
+            CatalogChangeEvent.EntityType.CATEGORY, CatalogChangeEvent.Operation.UPSERT, 1L, category));
+
+        assertEquals(0, tileCache.size());
+    }
+
+    @Test
+    @DisplayName("Should bound the number of tiles per query")
+    void testCoveringTilesBounded() {
+        assertTrue(tileCache.coveringTiles(40.70, -74.02, 40.73, -73.99).size() <= LocationTileCache.MAX_TILES_PER_QUERY);
+        assertTrue(tileCache.coveringTiles(-90, -180, 90, 180).size() <= LocationTileCache.MAX_TILES_PER_QUERY);
+    }
+}
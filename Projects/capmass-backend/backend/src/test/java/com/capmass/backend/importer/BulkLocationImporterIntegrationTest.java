@@ -0,0 +1,150 @@
+package com.capmass.backend.importer;
+
+import com.capmass.backend.repository.LocationCategoryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs each import inside the test transaction, so imported rows are rolled back and the
+ * sample catalog other tests rely on is left untouched.
+ */
+@SpringBootTest
+@Transactional
+@DisplayName("BulkLocationImporter Integration Tests")
+class BulkLocationImporterIntegrationTest {
+
+    @Autowired
+    private BulkLocationImporter importer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocationCategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private int countLocations() {
+        return jdbcTemplate.queryForObject("select count(*) from locations", Integer.class);
+    }
+
+    private String categoryOf(String locationName) {
+        return jdbcTemplate.queryForObject(
+            "select c.name from locations l join location_categories c on c.id = l.category_id where l.name = ?",
+            String.class, locationName);
+    }
+
+    @Test
+    @DisplayName("Should import valid CSV rows and reject invalid ones")
+    void testCsvImport() throws Exception {
+        int before = countLocations();
+
+        ImportResult result = importer.importFrom(new ClassPathResource("import/locations.csv"));
+
+        assertEquals(3, result.imported());
+        assertEquals(2, result.rejected());
+        assertEquals(List.of(new ImportResult.Rejection(4, "coordinates out of range: 140.0, -74.0"),
+                             new ImportResult.Rejection(5, "missing category")), result.rejections());
+        assertEquals(1, result.categoriesCreated());
+        assertEquals(before + 3, countLocations());
+        assertEquals("Food Trucks", categoryOf("Night Market"));
+        assertEquals("Academic Buildings", categoryOf("Engineering Annex"));
+        assertEquals("Labs, workshops and \"maker\" space", jdbcTemplate.queryForObject(
+            "select description from locations where name = 'Engineering Annex'", String.class));
+    }
+
+    @Test
+    @DisplayName("Should import GeoJSON point features")
+    void testGeoJsonImport() throws Exception {
+        ImportResult result = importer.importFrom(new ClassPathResource("import/locations.geojson"));
+
+        assertEquals(2, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(List.of(new ImportResult.Rejection(3, "feature has no point coordinates")), result.rejections());
+        assertEquals("Transit", categoryOf("Bike Hub"));
+        assertEquals(40.7145, jdbcTemplate.queryForObject(
+            "select latitude from locations where name = 'Observatory'", Double.class));
+        assertEquals(-74.0045, jdbcTemplate.queryForObject(
+            "select longitude from locations where name = 'Observatory'", Double.class));
+    }
+
+    @Test
+    @DisplayName("Should import locations from a SQL seed script and resolve its category ids")
+    void testSqlImport() throws Exception {
+        ImportResult result = importer.importFrom(new ClassPathResource("import/locations.sql"));
+
+        assertEquals(3, result.imported());
+        assertEquals(0, result.rejected());
+        assertEquals(2, result.categoriesCreated());
+        assertEquals("Academic", categoryOf("Main Library"));
+        assertEquals("Food & Dining", categoryOf("Student's Cafe"));
+        assertNull(jdbcTemplate.queryForObject(
+            "select description from locations where name = 'Lecture Hall B'", String.class));
+    }
+
+    @Test
+    @DisplayName("Should assign unique ids across chunks")
+    void testUniqueIdsAcrossChunks() throws Exception {
+        BulkLocationImporter smallChunks = new BulkLocationImporter(jdbcTemplate, categoryRepository,
+            transactionManager, eventPublisher, objectMapper, 2, 3);
+        StringBuilder csv = new StringBuilder("name,latitude,longitude,category\n");
+        for (int i = 0; i < 125; i++) {
+            csv.append("Point ").append(i).append(',').append(40 + i / 1000.0).append(",-74,Dining\n");
+        }
+        int before = countLocations();
+
+        ImportResult result = smallChunks.importFrom(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), CatalogSourceFormat.CSV);
+
+        assertEquals(125, result.imported());
+        assertEquals(before + 125, countLocations());
+        List<Long> ids = jdbcTemplate.queryForList("select id from locations", Long.class);
+        assertEquals(ids.size(), ids.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should report only the first rejections but count all of them")
+    void testRejectionSample() throws Exception {
+        StringBuilder csv = new StringBuilder("name,latitude,longitude,category\n");
+        for (int i = 0; i < BulkLocationImporter.REPORTED_REJECTIONS + 5; i++) {
+            csv.append("Point ").append(i).append(",north,-74,Dining\n");
+        }
+
+        ImportResult result = importer.importFrom(
+            new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), CatalogSourceFormat.CSV);
+
+        assertEquals(0, result.imported());
+        assertEquals(BulkLocationImporter.REPORTED_REJECTIONS + 5, result.rejected());
+        assertEquals(BulkLocationImporter.REPORTED_REJECTIONS, result.rejections().size());
+        assertEquals(new ImportResult.Rejection(1, "coordinates are not numbers: north, -74"),
+            result.rejections().get(0));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown file extensions")
+    void testUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+            () -> importer.importFrom(new ClassPathResource("import/locations.txt")));
+    }
+}
@@ -0,0 +1,69 @@
+package com.capmass.backend.importer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlInsertReader Unit Tests")
+class SqlInsertReaderTest {
+
+    private static List<SqlInsertReader.Tuple> readAll(String script) {
+        List<SqlInsertReader.Tuple> tuples = new ArrayList<>();
+        new SqlInsertReader(new StringReader(script)).forEachRemaining(tuples::add);
+        return tuples;
+    }
+
+    @Test
+    @DisplayName("Should stream every tuple of multi-row inserts")
+    void testMultiRowInsert() {
+        List<SqlInsertReader.Tuple> tuples = readAll("""
+            -- seed
+            INSERT INTO location_categories (name, icon) VALUES
+            ('Academic', 'school'),
+            ('Dining', 'restaurant');
+            insert into locations (name, latitude) values ('Library', 40.1);
+            """);
+
+        assertEquals(3, tuples.size());
+        assertEquals("location_categories", tuples.get(0).table());
+        assertEquals(List.of("name", "icon"), tuples.get(0).columns());
+        assertEquals("locations", tuples.get(2).table());
+        assertEquals(List.of("name", "latitude"), tuples.get(2).columns());
+        assertEquals(List.of("Library", "40.1"), SqlInsertReader.values(tuples.get(2).raw()));
+    }
+
+    @Test
+    @DisplayName("Should skip statements other than inserts")
+    void testSkipsOtherStatements() {
+        List<SqlInsertReader.Tuple> tuples = readAll("""
+            CREATE TABLE notes (id INT, body VARCHAR(20) DEFAULT 'a;b');
+            DELETE FROM locations;
+            INSERT INTO locations (name) VALUES ('Gym');
+            """);
+
+        assertEquals(1, tuples.size());
+        assertEquals(List.of("Gym"), SqlInsertReader.values(tuples.get(0).raw()));
+    }
+
+    @Test
+    @DisplayName("Should keep separators and escaped quotes inside string literals")
+    void testQuotedLiterals() {
+        List<SqlInsertReader.Tuple> tuples = readAll(
+            "INSERT INTO locations (name, description) VALUES ('Student''s Cafe', 'Open (late); -- daily');");
+
+        assertEquals(1, tuples.size());
+        assertEquals(List.of("Student's Cafe", "Open (late); -- daily"), SqlInsertReader.values(tuples.get(0).raw()));
+    }
+
+    @Test
+    @DisplayName("Should map NULL literals to null")
+    void testNullLiteral() {
+        assertEquals(Arrays.asList("Hall", null, "1"), SqlInsertReader.values("'Hall', NULL, 1"));
+    }
+}
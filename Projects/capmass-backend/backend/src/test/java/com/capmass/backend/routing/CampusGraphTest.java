@@ -0,0 +1,188 @@
+package com.capmass.backend.routing;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.geo.GeoMath;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CampusGraph Unit Tests")
+class CampusGraphTest {
+
+    private static Location location(long id, double latitude, double longitude) {
+        return new Location(id, "L" + id, null, null, latitude, longitude);
+    }
+
+    @Test
+    @DisplayName("Should follow walkways instead of the straight line")
+    void testFollowsWalkways() {
+        List<Location> locations = List.of(
+            location(1, 40.7000, -74.0000),
+            location(2, 40.7010, -74.0000),
+            location(3, 40.7005, -73.9990));
+        // No direct walkway between 1 and 2: the route has to pass 3.
+        List<WalkwaySegment> walkways = List.of(
+            new WalkwaySegment(1, 3, null),
+            new WalkwaySegment(3, 2, 150.0));
+
+        CampusGraph graph = CampusGraph.build(locations, walkways, 4);
+        RoutePlan plan = graph.shortestPath(graph.indexOf(1), graph.indexOf(2), new CampusGraph.Workspace());
+
+        assertArrayEquals(new long[] {1, 3, 2}, plan.locationIds());
+        double firstLeg = GeoMath.haversineMeters(40.7000, -74.0000, 40.7005, -73.9990);
+        assertEquals(firstLeg + 150.0, plan.distanceMeters(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should never make a walkway shorter than the straight line")
+    void testWalkwayLengthFloor() {
+        List<Location> locations = List.of(location(1, 40.7000, -74.0000), location(2, 40.7010, -74.0000));
+
+        CampusGraph graph = CampusGraph.build(locations, List.of(new WalkwaySegment(2, 1, 1.0)), 4);
+        RoutePlan plan = graph.shortestPath(graph.indexOf(2), graph.indexOf(1), new CampusGraph.Workspace());
+
+        assertEquals(GeoMath.haversineMeters(40.7000, -74.0000, 40.7010, -74.0000), plan.distanceMeters(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should return null when no path connects the locations")
+    void testUnreachable() {
+        List<Location> locations = List.of(
+            location(1, 40.7000, -74.0000),
+            location(2, 40.7010, -74.0000),
+            location(3, 40.7020, -74.0000));
+
+        CampusGraph graph = CampusGraph.build(locations, List.of(new WalkwaySegment(1, 2, null)), 4);
+
+        assertNull(graph.shortestPath(graph.indexOf(1), graph.indexOf(3), new CampusGraph.Workspace()));
+        assertEquals(-1, graph.indexOf(99));
+    }
+
+    @Test
+    @DisplayName("Should link nearest neighbours when no walkways are stored")
+    void testFallbackGraph() {
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            locations.add(location(i + 1, 40.7000 + i * 0.0005, -74.0000));
+        }
+
+        CampusGraph graph = CampusGraph.build(locations, List.of(), 2);
+        RoutePlan plan = graph.shortestPath(graph.indexOf(1), graph.indexOf(10), new CampusGraph.Workspace());
+
+        assertNotNull(plan);
+        assertEquals(1, plan.locationIds()[0]);
+        assertEquals(10, plan.locationIds()[plan.locationIds().length - 1]);
+        assertEquals(GeoMath.haversineMeters(40.7000, -74.0000, 40.7045, -74.0000), plan.distanceMeters(), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Should match Dijkstra on a random graph while reusing one workspace")
+    void testMatchesDijkstra() {
+        Random random = new Random(42);
+        int nodes = 500;
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            locations.add(location(i, 40.70 + random.nextDouble() * 0.02, -74.01 + random.nextDouble() * 0.02));
+        }
+        List<WalkwaySegment> walkways = new ArrayList<>();
+        for (int i = 0; i < nodes * 3; i++) {
+            int a = random.nextInt(nodes);
+            int b = random.nextInt(nodes);
+            Double length = random.nextBoolean() ? null : random.nextDouble() * 3000;
+            walkways.add(new WalkwaySegment(a, b, length));
+        }
+
+        CampusGraph graph = CampusGraph.build(locations, walkways, 4);
+        CampusGraph.Workspace workspace = new CampusGraph.Workspace();
+        for (int query = 0; query < 200; query++) {
+            int source = random.nextInt(nodes);
+            int target = random.nextInt(nodes);
+            double expected = dijkstra(locations, walkways, source, target);
+
+            RoutePlan plan = graph.shortestPath(source, target, workspace);
+
+            if (Double.isInfinite(expected)) {
+                assertNull(plan);
+            } else {
+                assertEquals(expected, plan.distanceMeters(), 1e-6);
+                assertEquals(source, plan.locationIds()[0]);
+                assertEquals(target, plan.locationIds()[plan.locationIds().length - 1]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should measure distances to several destinations in one search")
+    void testDistances() {
+        Random random = new Random(11);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            locations.add(location(i, 40.70 + random.nextDouble() * 0.01, -74.01 + random.nextDouble() * 0.01));
+        }
+        List<WalkwaySegment> walkways = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            walkways.add(new WalkwaySegment(random.nextInt(300), random.nextInt(300), null));
+        }
+        CampusGraph graph = CampusGraph.build(locations, walkways, 4);
+        CampusGraph.Workspace workspace = new CampusGraph.Workspace();
+        int[] destinations = {5, 17, 5, 0, 299, 42};
+
+        double[] distances = graph.distances(0, destinations, workspace);
+
+        for (int i = 0; i < destinations.length; i++) {
+            RoutePlan plan = graph.shortestPath(0, destinations[i], workspace);
+            assertEquals(plan == null ? Double.POSITIVE_INFINITY : plan.distanceMeters(), distances[i], 1e-6);
+        }
+        assertEquals(0, distances[3]);
+    }
+
+    private static double dijkstra(List<Location> locations, List<WalkwaySegment> walkways,
+                                   int source, int target) {
+        int n = locations.size();
+        double[][] adjacency = new double[n][n];
+        for (double[] row : adjacency) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (WalkwaySegment walkway : walkways) {
+            int a = (int) walkway.fromLocationId();
+            int b = (int) walkway.toLocationId();
+            if (a == b) {
+                continue;
+            }
+            Location from = locations.get(a);
+            Location to = locations.get(b);
+            double straightLine = GeoMath.haversineMeters(from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude());
+            double length = walkway.lengthMeters() == null ? straightLine : Math.max(walkway.lengthMeters(), straightLine);
+            adjacency[a][b] = Math.min(adjacency[a][b], length);
+            adjacency[b][a] = Math.min(adjacency[b][a], length);
+        }
+        double[] distance = new double[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((x, y) -> Double.compare(x[1], y[1]));
+        queue.add(new double[] {source, 0});
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int node = (int) entry[0];
+            if (entry[1] > distance[node]) {
+                continue;
+            }
+            for (int next = 0; next < n; next++) {
+                double candidate = distance[node] + adjacency[node][next];
+                if (candidate < distance[next]) {
+                    distance[next] = candidate;
+                    queue.add(new double[] {next, candidate});
+                }
+            }
+        }
+        return distance[target];
+    }
+}
@@ -0,0 +1,143 @@
+package com.capmass.backend.routing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ItineraryOptimizer Unit Tests")
+class ItineraryOptimizerTest {
+
+    private static double[][] randomPoints(int n, long seed) {
+        Random random = new Random(seed);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() * 1000;
+            y[i] = random.nextDouble() * 1000;
+        }
+        double[][] distances = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                distances[i][j] = Math.hypot(x[i] - x[j], y[i] - y[j]);
+            }
+        }
+        return distances;
+    }
+
+    private static long deadline(long millis) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static void assertVisitsEveryStopOnce(int[] order, int n) {
+        assertEquals(0, order[0]);
+        int[] sorted = order.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+    private static double bruteForce(double[][] distances, boolean roundTrip) {
+        int n = distances.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        double best = Double.POSITIVE_INFINITY;
+        do {
+            best = Math.min(best, ItineraryOptimizer.length(distances, order, roundTrip));
+        } while (nextPermutation(order));
+        return best;
+    }
+
+    /** Steps positions 1..n-1 to the next lexicographic permutation; position 0 stays the start. */
+    private static boolean nextPermutation(int[] order) {
+        int i = order.length - 2;
+        while (i >= 1 && order[i] >= order[i + 1]) {
+            i--;
+        }
+        if (i < 1) {
+            return false;
+        }
+        int j = order.length - 1;
+        while (order[j] <= order[i]) {
+            j--;
+        }
+        int swap = order[i];
+        order[i] = order[j];
+        order[j] = swap;
+        for (int a = i + 1, b = order.length - 1; a < b; a++, b--) {
+            swap = order[a];
+            order[a] = order[b];
+            order[b] = swap;
+        }
+        return true;
+    }
+
+    @Test
+    @DisplayName("Should handle one, two and three stops")
+    void testTinyItineraries() {
+        assertArrayEquals(new int[] {0}, ItineraryOptimizer.optimize(new double[][] {{0}}, false, deadline(100)));
+        assertArrayEquals(new int[] {0, 1},
+            ItineraryOptimizer.optimize(new double[][] {{0, 5}, {5, 0}}, false, deadline(100)));
+        double[][] line = {{0, 10, 5}, {10, 0, 5}, {5, 5, 0}};
+        assertArrayEquals(new int[] {0, 2, 1}, ItineraryOptimizer.optimize(line, false, deadline(100)));
+    }
+
+    @Test
+    @DisplayName("Should stay close to the optimal order for small itineraries")
+    void testNearOptimalSmall() {
+        for (long seed = 0; seed < 20; seed++) {
+            double[][] distances = randomPoints(8, seed);
+            for (boolean roundTrip : new boolean[] {false, true}) {
+                int[] order = ItineraryOptimizer.optimize(distances, roundTrip, deadline(1000));
+
+                assertVisitsEveryStopOnce(order, 8);
+                double optimal = bruteForce(distances, roundTrip);
+                assertTrue(ItineraryOptimizer.length(distances, order, roundTrip) <= optimal * 1.1,
+                    "seed " + seed + " round trip " + roundTrip);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should improve on the nearest-neighbour walk for larger itineraries")
+    void testParallelSearch() {
+        double[][] distances = randomPoints(40, 7);
+        int[] nearestNeighbour = new int[40];
+        boolean[] visited = new boolean[40];
+        visited[0] = true;
+        for (int i = 1; i < 40; i++) {
+            int best = -1;
+            for (int stop = 0; stop < 40; stop++) {
+                if (!visited[stop] && (best < 0
+                        || distances[nearestNeighbour[i - 1]][stop] < distances[nearestNeighbour[i - 1]][best])) {
+                    best = stop;
+                }
+            }
+            nearestNeighbour[i] = best;
+            visited[best] = true;
+        }
+
+        int[] order = ItineraryOptimizer.optimize(distances, true, deadline(200));
+
+        assertVisitsEveryStopOnce(order, 40);
+        assertTrue(ItineraryOptimizer.length(distances, order, true)
+            < ItineraryOptimizer.length(distances, nearestNeighbour, true));
+    }
+
+    @Test
+    @DisplayName("Should return a complete order when the deadline has already passed")
+    void testExpiredDeadline() {
+        double[][] distances = randomPoints(30, 3);
+
+        int[] order = ItineraryOptimizer.optimize(distances, false, System.nanoTime());
+
+        assertVisitsEveryStopOnce(order, 30);
+    }
+}
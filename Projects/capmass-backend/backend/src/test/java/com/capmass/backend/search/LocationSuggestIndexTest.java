@@ -0,0 +1,171 @@
+package com.capmass.backend.search;
+
+import com.capmass.backend.catalog.CatalogChangeEvent;
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.repository.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LocationSuggestIndex Unit Tests")
+class LocationSuggestIndexTest {
+
+    private LocationRepository locationRepository;
+    private LocationSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        locationRepository = mock(LocationRepository.class);
+        index = new LocationSuggestIndex(locationRepository);
+        index.put(1L, "Central Library", "Main campus library with extensive collection");
+        index.put(2L, "Science Library", "Specialized science and engineering resources");
+        index.put(3L, "Science Hall", "Chemistry, Physics, and Biology labs");
+        index.put(4L, "Engineering Building", "Main building for engineering departments");
+        index.put(5L, "Café Olé", "Coffee shop");
+    }
+
+    @Test
+    @DisplayName("Should return nothing for blank queries and unknown terms")
+    void testNoMatch() {
+        assertTrue(index.suggest("", 10).isEmpty());
+        assertTrue(index.suggest(" - ", 10).isEmpty());
+        assertTrue(index.suggest("zzzz", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should complete the last term as a prefix")
+    void testPrefix() {
+        assertEquals(List.of(3L, 2L), index.suggest("sci", 10));
+        assertEquals(List.of(4L), index.suggest("engineering b", 10));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void testNameBeforeDescription() {
+        List<Long> result = index.suggest("engineering", 10);
+
+        assertEquals(List.of(4L, 2L), result);
+    }
+
+    @Test
+    @DisplayName("Should tolerate one edit in short terms and two in long terms")
+    void testTypos() {
+        assertEquals(List.of(3L), index.suggest("halls ", 10));
+        assertTrue(index.suggest("librery", 10).containsAll(List.of(1L, 2L)));
+        assertTrue(index.suggest("enginnering", 10).contains(4L));
+        assertTrue(index.suggest("sxience", 10).containsAll(List.of(2L, 3L)));
+        assertTrue(index.suggest("xyz", 10).isEmpty(), "three-letter terms must match exactly");
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    void testAllTermsRequired() {
+        assertEquals(List.of(2L), index.suggest("library sci", 10));
+        assertTrue(index.suggest("library chemistry", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents")
+    void testNormalization() {
+        assertEquals(List.of(5L), index.suggest("CAFE OLE", 10));
+        assertEquals(List.of(5L), index.suggest("ole", 10));
+    }
+
+    @Test
+    @DisplayName("Should respect the result limit")
+    void testLimit() {
+        assertEquals(1, index.suggest("science", 1).size());
+    }
+
+    @Test
+    @DisplayName("Should apply updates and removals incrementally")
+    void testIncrementalUpdates() {
+        index.put(3L, "Physics Hall", "Physics labs");
+        assertFalse(index.suggest("science h", 10).contains(3L));
+        assertEquals(List.of(3L), index.suggest("physics", 10));
+
+        index.remove(3L);
+        assertTrue(index.suggest("physics", 10).isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should follow location change events")
+    void testCatalogChangeEvents() {
+        Location kiosk = new Location(10L, "Info Kiosk", "Visitor information", new LocationCategory(), 41.0, -73.0);
+
+        index.onCatalogChange(new CatalogChangeEvent(CatalogChangeEvent.EntityType.LOCATION,
+            CatalogChangeEvent.Operation.UPSERT, 10L, kiosk));
+        assertEquals(List.of(10L), index.suggest("kio", 10));
+
+        index.onCatalogChange(new CatalogChangeEvent(CatalogChangeEvent.EntityType.LOCATION,
+            CatalogChangeEvent.Operation.DELETE, 10L, kiosk));
+        assertTrue(index.suggest("kio", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rebuild from the repository")
+    void testRebuild() {
+        when(locationRepository.findAll()).thenReturn(List.of(
+            new Location(7L, "North Hall", "Freshman dormitory", new LocationCategory(), 40.7127, -74.0063)));
+
+        index.rebuild();
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(7L), index.suggest("nort", 10));
+        assertTrue(index.suggest("science", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the most frequent completions of a short prefix")
+    void testFrequentCompletions() {
+        List<Location> locations = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            locations.add(new Location(100 + i, "Hall " + i, null, new LocationCategory(), 40.0, -74.0));
+        }
+        locations.add(new Location(999L, "Halcyon Garden", null, new LocationCategory(), 40.0, -74.0));
+        index.replaceAll(locations);
+
+        List<Long> result = index.suggest("hal", 5);
+
+        assertEquals(5, result.size());
+        assertTrue(result.stream().allMatch(id -> id >= 100 && id < 300));
+        assertEquals(999L, index.suggest("halc", 5).get(0), "exact prefix ranks above one-edit matches");
+    }
+
+    @Test
+    @DisplayName("Should intersect common terms in full")
+    void testCommonTermsIntersected() {
+        List<Location> locations = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            locations.add(new Location(1000 + i, "Library Annex " + i, null, new LocationCategory(), 40.0, -74.0));
+            locations.add(new Location(3000 + i, "Science Building " + i, null, new LocationCategory(), 40.0, -74.0));
+        }
+        locations.add(new Location(5000L, "Science Library", null, new LocationCategory(), 40.0, -74.0));
+        index.replaceAll(locations);
+
+        assertEquals(List.of(5000L), index.suggest("science library", 10));
+        assertEquals(List.of(5000L), index.suggest("library scie", 10));
+
+        index.put(2500L, "Science Library Annex", null);
+        assertEquals(List.of(5000L, 2500L), index.suggest("science library", 10));
+        index.remove(5000L);
+        assertEquals(List.of(2500L), index.suggest("science library", 10));
+    }
+
+    @Test
+    @DisplayName("Should normalize text into terms")
+    void testTokens() {
+        assertEquals(List.of("cafe", "ole", "24", "7"), LocationSuggestIndex.tokens("Café  Olé (24/7)"));
+        assertEquals(0, LocationSuggestIndex.maxEdits(3));
+        assertEquals(1, LocationSuggestIndex.maxEdits(4));
+        assertEquals(2, LocationSuggestIndex.maxEdits(7));
+    }
+}
@@ -0,0 +1,33 @@
+package com.capmass.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate {@link StatementInspector} that counts every SQL statement Hibernate prepares.
+ * Enable it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector=com.capmass.backend.support.SqlStatementCounter}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    public static final String PROPERTY =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.capmass.backend.support.SqlStatementCounter";
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+}
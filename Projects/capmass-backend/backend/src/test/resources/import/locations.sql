@@ -0,0 +1,11 @@
+-- Same layout as the campus database seed script
+INSERT INTO location_categories (name, icon) VALUES
+('Academic', 'school'),
+('Food & Dining', 'restaurant');
+
+INSERT INTO locations (name, description, latitude, longitude, category_id) VALUES
+('Main Library', 'Central library with study spaces; open late', 40.7128, -74.0060, 1),
+('Student''s Cafe', 'Coffee and snacks', 40.7130, -74.0058, 2),
+('Lecture Hall B', NULL, 40.7132, -74.0056, 1);
+
+INSERT INTO events (title, location_id) VALUES ('Orientation', 1);
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Builds the backend, runs the JMH suites and stores the JSON results under results/<commit>.json.
+#
+# Usage: ./run-benchmarks.sh [JMH arguments]
+#   ./run-benchmarks.sh                                   # all suites, default iterations
+#   ./run-benchmarks.sh RepositoryBenchmark -p rows=1000  # one suite, one catalog size
+#
+# Compare two commits afterwards with:
+#   mvn -q exec:java@compare -Dexec.args="results/<baseline>.json results/<current>.json"
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+mvn -q -B -f ../backend install -DskipTests
+
+mkdir -p results
+COMMIT="$(git rev-parse --short HEAD)"
+if ! git diff --quiet HEAD -- ../backend; then
+  COMMIT="${COMMIT}-dirty"
+fi
+
+JMH_ARGS=(-Djmh.result="results/${COMMIT}.json")
+if [ $# -gt 0 ]; then
+  JMH_ARGS+=(-Djmh.args="$*")
+fi
+
+mvn -B package exec:exec@jmh "${JMH_ARGS[@]}"
+echo "Results: results/${COMMIT}.json"
@@ -0,0 +1,80 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.BackendApplication;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.importer.BulkLocationImporter;
+import com.capmass.backend.importer.CatalogSourceFormat;
+import com.capmass.backend.repository.LocationCategoryRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Boots the backend against a private in-memory database holding a synthetic catalog of the
+ * requested size, spread evenly over {@link #CATEGORIES} categories.
+ * <p>
+ * SQL logging and the read cache are switched off so the suites measure the database,
+ * Hibernate and Jackson rather than log output or cache hits.
+ */
+final class BenchmarkCatalog {
+
+    static final int CATEGORIES = 20;
+    static final String BENCHMARK_CATEGORY = "Benchmark Category 0";
+
+    private BenchmarkCatalog() {
+    }
+
+    static ConfigurableApplicationContext start(int rows, WebApplicationType webApplicationType) throws IOException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+            .web(webApplicationType)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID(),
+                "catalog.sql.profiling.enabled=false",
+                "spring.cache.type=none",
+                "catalog.seed.async=false",
+                "server.port=0")
+            .run();
+
+        Path csv = Files.createTempFile("catalog-" + rows, ".csv");
+        try {
+            writeCatalog(csv, rows);
+            try (InputStream in = Files.newInputStream(csv)) {
+                context.getBean(BulkLocationImporter.class).importFrom(in, CatalogSourceFormat.CSV);
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+        }
+        return context;
+    }
+
+    static long benchmarkCategoryId(ConfigurableApplicationContext context) {
+        return context.getBean(LocationCategoryRepository.class).findAll().stream()
+            .filter(category -> BENCHMARK_CATEGORY.equals(category.getName()))
+            .map(LocationCategory::getId)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static void writeCatalog(Path csv, int rows) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            writer.write("name,description,latitude,longitude,category\n");
+            for (int i = 0; i < rows; i++) {
+                // Spread locations over roughly a 10 km square around the sample campus.
+                double latitude = 40.66 + (i % 1000) * 0.0001;
+                double longitude = -74.06 + (i / 1000 % 1000) * 0.0001;
+                writer.write(String.format(Locale.ROOT, "Location %d,Synthetic location %d,%.6f,%.6f,Benchmark Category %d%n",
+                    i, i, latitude, longitude, i % CATEGORIES));
+            }
+        }
+    }
+}
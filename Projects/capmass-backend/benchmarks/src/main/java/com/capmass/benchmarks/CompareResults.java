@@ -0,0 +1,81 @@
+package com.capmass.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, typically from two commits, and reports every benchmark
+ * whose score got worse by more than the threshold (default 10%). Exits with status 1 when
+ * any regression is found so it can gate a CI job.
+ * <pre>
+ * mvn exec:java@compare -Dexec.args="results/baseline.json results/current.json [thresholdPercent]"
+ * </pre>
+ */
+public final class CompareResults {
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: CompareResults <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-80s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", afterScore, "new", unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double change = (afterScore - beforeScore) / beforeScore * 100.0;
+            // Throughput modes improve upwards; time-per-operation modes improve downwards.
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double worsening = higherIsBetter ? -change : change;
+            boolean regression = worsening > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), beforeScore,
+                afterScore, change, unit, regression ? "  REGRESSION" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Results keyed by benchmark name plus parameters, e.g. {@code ...RepositoryBenchmark.findAll rows=1000}.
+     */
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
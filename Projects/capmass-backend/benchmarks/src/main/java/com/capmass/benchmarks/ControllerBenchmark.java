@@ -0,0 +1,91 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.catalog.CatalogETagFilter;
+import com.capmass.backend.catalog.CatalogResponseCacheFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.DefaultMockMvcBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The full request path through MockMvc: ETag filter, dispatcher, controller, repository and
+ * JSON message conversion. Only the network hop is left out.
+ * <p>
+ * With {@code responseCache} the serialized-response cache sits behind the ETag filter, so
+ * after the first request every call is answered from the stored bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ControllerBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean responseCache;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long categoryId;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.start(rows, WebApplicationType.SERVLET);
+        DefaultMockMvcBuilder builder = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+            .addFilters(context.getBean(CatalogETagFilter.class));
+        if (responseCache) {
+            builder.addFilters(context.getBean(CatalogResponseCacheFilter.class));
+        }
+        mockMvc = builder.build();
+        categoryId = BenchmarkCatalog.benchmarkCategoryId(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getAllCategories() throws Exception {
+        return mockMvc.perform(get("/api/categories")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getLocationsFirstPage() throws Exception {
+        return mockMvc.perform(get("/api/locations")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getLocationsFirstPageGzip() throws Exception {
+        return mockMvc.perform(get("/api/locations").header("Accept-Encoding", "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getLocationsByCategory() throws Exception {
+        return mockMvc.perform(get("/api/locations/category/{categoryId}", categoryId))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.geo.GeoMath;
+import com.capmass.backend.geo.LocationColumns;
+import com.capmass.backend.geo.LocationPoint;
+import com.capmass.backend.geo.LocationSpatialIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Category-filtered geo queries over loaded {@code Location} entities against the same
+ * queries over {@link LocationColumns}. Run with {@code -prof gc} to compare allocation
+ * per query as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeoQueryBenchmark {
+
+    private static final int CATEGORIES = 8;
+    private static final double QUERY_LATITUDE = 40.75;
+    private static final double QUERY_LONGITUDE = -73.98;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private List<Location> entities;
+    private LocationColumns columns;
+    private long[] withinBuffer;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocationCategory[] categories = new LocationCategory[CATEGORIES];
+        for (int c = 0; c < CATEGORIES; c++) {
+            categories[c] = new LocationCategory((long) c + 1, "Benchmark Category " + c, null);
+        }
+        entities = new ArrayList<>(rows);
+        List<LocationPoint> points = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            double latitude = 40.6 + random.nextDouble() * 0.3;
+            double longitude = -74.1 + random.nextDouble() * 0.3;
+            LocationCategory category = categories[random.nextInt(CATEGORIES)];
+            entities.add(new Location((long) i + 1, "Location " + i, null, category, latitude, longitude));
+            points.add(new LocationPoint((long) i + 1, latitude, longitude, category.getId()));
+        }
+        columns = LocationColumns.of(points);
+        withinBuffer = new long[500];
+    }
+
+    @Benchmark
+    public List<Long> entitiesNearestInCategory() {
+        return entities.stream()
+            .filter(location -> location.getCategory().getId() == 3L)
+            .sorted(Comparator.comparingDouble(location -> GeoMath.haversineMeters(QUERY_LATITUDE, QUERY_LONGITUDE,
+                location.getLatitude(), location.getLongitude())))
+            .limit(10)
+            .map(Location::getId)
+            .toList();
+    }
+
+    @Benchmark
+    public List<LocationSpatialIndex.Neighbor> columnsNearestInCategory() {
+        return columns.nearest(QUERY_LATITUDE, QUERY_LONGITUDE, 10, Double.POSITIVE_INFINITY,
+            columns.categoryOrdinal(3L));
+    }
+
+    @Benchmark
+    public List<Long> entitiesWithinInCategory() {
+        return entities.stream()
+            .filter(location -> location.getCategory().getId() == 3L
+                && location.getLatitude() >= 40.74 && location.getLatitude() <= 40.76
+                && location.getLongitude() >= -73.99 && location.getLongitude() <= -73.97)
+            .map(Location::getId)
+            .sorted()
+            .limit(500)
+            .toList();
+    }
+
+    @Benchmark
+    public int columnsWithinInCategory() {
+        return columns.within(40.74, -73.99, 40.76, -73.97, columns.categoryOrdinal(3L), withinBuffer);
+    }
+}
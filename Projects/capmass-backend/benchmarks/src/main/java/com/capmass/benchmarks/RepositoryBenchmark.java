@@ -0,0 +1,63 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.repository.LocationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository reads through Spring Data JPA and Hibernate: the whole catalog, and one of the
+ * {@link BenchmarkCatalog#CATEGORIES} categories (1/20th of the catalog).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private LocationRepository locationRepository;
+    private long categoryId;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkCatalog.start(rows, WebApplicationType.NONE);
+        locationRepository = context.getBean(LocationRepository.class);
+        categoryId = BenchmarkCatalog.benchmarkCategoryId(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Location> findAll() {
+        return locationRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Location> findByCategoryId() {
+        return locationRepository.findByCategoryId(categoryId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.routing.CampusGraph;
+import com.capmass.backend.routing.RoutePlan;
+import com.capmass.backend.routing.WalkwaySegment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One A* route query on a campus-sized walking graph: a jittered grid of about 50k locations
+ * and 100k walkways, with some walkways longer than the straight line. {@code local} routes
+ * stay within a few hundred meters, {@code across} routes span the whole grid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RouteBenchmark {
+
+    private static final int SIDE = 224;
+    private static final double SPACING_DEGREES = 0.0002;
+    private static final int QUERIES = 256;
+
+    @Param({"local", "across"})
+    private String distance;
+
+    private CampusGraph graph;
+    private final CampusGraph.Workspace workspace = new CampusGraph.Workspace();
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Location> locations = new ArrayList<>(SIDE * SIDE);
+        List<WalkwaySegment> walkways = new ArrayList<>(2 * SIDE * SIDE);
+        for (int row = 0; row < SIDE; row++) {
+            for (int column = 0; column < SIDE; column++) {
+                long id = (long) row * SIDE + column + 1;
+                double latitude = 40.70 + row * SPACING_DEGREES + random.nextDouble(-0.3, 0.3) * SPACING_DEGREES;
+                double longitude = -74.01 + column * SPACING_DEGREES + random.nextDouble(-0.3, 0.3) * SPACING_DEGREES;
+                locations.add(new Location(id, "Node " + id, null, null, latitude, longitude));
+                Double length = random.nextInt(4) == 0 ? 40.0 : null;
+                if (column + 1 < SIDE) {
+                    walkways.add(new WalkwaySegment(id, id + 1, length));
+                }
+                if (row + 1 < SIDE) {
+                    walkways.add(new WalkwaySegment(id, id + SIDE, length));
+                }
+            }
+        }
+        graph = CampusGraph.build(locations, walkways, 0);
+
+        int span = "local".equals(distance) ? 15 : SIDE;
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int row = random.nextInt(SIDE - span + 1);
+            int column = random.nextInt(SIDE - span + 1);
+            sources[i] = graph.indexOf((long) (row + random.nextInt(span)) * SIDE + column + random.nextInt(span) + 1);
+            targets[i] = graph.indexOf((long) (row + random.nextInt(span)) * SIDE + column + random.nextInt(span) + 1);
+        }
+    }
+
+    @Benchmark
+    public RoutePlan route() {
+        int query = next;
+        next = next + 1 == QUERIES ? 0 : next + 1;
+        return graph.shortestPath(sources[query], targets[query], workspace);
+    }
+}
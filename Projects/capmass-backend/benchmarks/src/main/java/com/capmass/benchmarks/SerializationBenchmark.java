@@ -0,0 +1,66 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@code Location} lists as returned by the list endpoints, using
+ * the same {@link ObjectMapper} defaults Spring MVC starts from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Location> locations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<LocationCategory> categories = new ArrayList<>();
+        for (long i = 0; i < BenchmarkCatalog.CATEGORIES; i++) {
+            categories.add(new LocationCategory(i + 1, "Benchmark Category " + i, "Synthetic category " + i));
+        }
+        locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            locations.add(new Location((long) i + 1, "Location " + i, "Synthetic location " + i,
+                categories.get(i % categories.size()), 40.66 + (i % 1000) * 0.0001, -74.06 + (i / 1000) * 0.0001));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(locations);
+    }
+
+    @Benchmark
+    public void writeToStream() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), locations);
+    }
+}
@@ -0,0 +1,74 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.capmass.backend.search.LocationSuggestIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One keystroke against the autocomplete index: a mix of prefixes, multi-term queries and
+ * typos over synthetic names built from a campus vocabulary.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SuggestBenchmark {
+
+    private static final String[] WORDS = {
+        "north", "south", "east", "west", "central", "main", "upper", "lower", "old", "new",
+        "science", "engineering", "business", "library", "hall", "tower", "center", "cafe", "cafeteria",
+        "stadium", "gym", "pool", "lab", "studio", "theatre", "gallery", "chapel", "garden", "court",
+        "residence", "house", "annex", "pavilion", "plaza", "market", "clinic", "office", "museum",
+        "physics", "chemistry", "biology", "mathematics", "computer", "medical", "law", "music", "art",
+        "student", "faculty", "graduate", "research", "innovation", "learning", "commons", "union"};
+
+    private static final String[] QUERIES = {
+        "s", "sc", "sci", "scie", "science", "science h", "science hal",
+        "libary", "enginering b", "north res", "cafetaria", "chem lab", "stud", "graduate res"};
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private LocationSuggestIndex index;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocationCategory category = new LocationCategory(1L, "Benchmark Category 0", null);
+        List<Location> locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = WORDS[random.nextInt(WORDS.length)] + " and " + WORDS[random.nextInt(WORDS.length)];
+            locations.add(new Location((long) i + 1, name, description, category, 40.7, -74.0));
+        }
+        index = new LocationSuggestIndex(null);
+        index.replaceAll(locations);
+    }
+
+    @Benchmark
+    public List<Long> suggest() {
+        String query = QUERIES[next];
+        next = next + 1 == QUERIES.length ? 0 : next + 1;
+        return index.suggest(query, 10);
+    }
+}
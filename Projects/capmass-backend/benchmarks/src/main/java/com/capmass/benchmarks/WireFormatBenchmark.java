@@ -0,0 +1,86 @@
+package com.capmass.benchmarks;
+
+import com.capmass.backend.entity.Location;
+import com.capmass.backend.entity.LocationCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a {@code Location} list in each response format the API negotiates.
+ * The encoded size of every format, raw and gzipped, is printed when a trial starts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Location> locations;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<LocationCategory> categories = new ArrayList<>();
+        for (long i = 0; i < BenchmarkCatalog.CATEGORIES; i++) {
+            categories.add(new LocationCategory(i + 1, "Benchmark Category " + i, "Synthetic category " + i));
+        }
+        locations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            locations.add(new Location((long) i + 1, "Location " + i, "Synthetic location " + i,
+                categories.get(i % categories.size()), 40.66 + (i % 1000) * 0.0001, -74.06 + (i / 1000) * 0.0001));
+        }
+        encoded = objectMapper.writeValueAsBytes(locations);
+        System.out.printf("%n%s, %d locations: %d bytes, %d bytes gzipped%n",
+            format, size, encoded.length, gzippedLength(encoded));
+    }
+
+    private static int gzippedLength(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        }
+        return buffer.size();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(locations);
+    }
+
+    @Benchmark
+    public Location[] decode() throws IOException {
+        return objectMapper.readValue(encoded, Location[].class);
+    }
+}
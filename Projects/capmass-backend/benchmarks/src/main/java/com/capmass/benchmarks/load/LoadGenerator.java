@@ -0,0 +1,280 @@
+package com.capmass.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for the catalog read endpoints.
+ * <p>
+ * A fixed number of workers issue requests following a schedule that adds up to the target
+ * rate. Each worker waits for its response before sending again, so a slow server makes the
+ * workers fall behind schedule. Latency is measured from the time a request was <em>scheduled</em>
+ * to be sent, not from when it was actually sent. This correction for coordinated omission
+ * (the same model wrk2 uses) charges queueing delay to the server instead of hiding it. The
+ * uncorrected p99 is reported next to the corrected one so the difference is visible.
+ * <p>
+ * Arguments are {@code key=value} pairs, all optional:
+ * <pre>
+ * url=http://localhost:8080   target server
+ * rate=200                    requests per second; a list (rate=100,200,400) runs one step per rate
+ * concurrency=32              workers (and at most as many open connections)
+ * duration=30                 measured seconds per step
+ * warmup=10                   unmeasured seconds before each step
+ * mix=locations:40,category:40,categories:20
+ * limit=100                   page size for the location lists
+ * conditional=0.0             fraction of requests revalidating with If-None-Match
+ * timeout=10                  request timeout in seconds
+ * output=target/loadgen       directory for HdrHistogram .hgrm percentile files
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, String> options;
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final int concurrency;
+    private final double conditionalFraction;
+    private final Duration timeout;
+
+    private LoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.baseUrl = URI.create(option("url", "http://localhost:8080"));
+        this.concurrency = Integer.parseInt(option("concurrency", "32"));
+        this.conditionalFraction = Double.parseDouble(option("conditional", "0.0"));
+        this.timeout = Duration.ofSeconds(Long.parseLong(option("timeout", "10")));
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .executor(Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors())))
+            .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                System.err.println("Arguments are key=value pairs, see the LoadGenerator documentation: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        new LoadGenerator(options).run();
+        System.exit(0);
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private void run() throws Exception {
+        TrafficMix mix = TrafficMix.parse(option("mix", "locations:40,category:40,categories:20"),
+            discoverCategoryIds(), Integer.parseInt(option("limit", "100")));
+        int duration = Integer.parseInt(option("duration", "30"));
+        int warmup = Integer.parseInt(option("warmup", "10"));
+        Path output = Path.of(option("output", "target/loadgen"));
+        Files.createDirectories(output);
+
+        List<String> summary = new ArrayList<>();
+        for (String rateValue : option("rate", "200").split(",")) {
+            double rate = Double.parseDouble(rateValue.trim());
+            StepResult result = runStep(mix, rate, warmup, duration);
+            result.print(System.out);
+            Path hgrm = output.resolve(String.format(Locale.ROOT, "rate-%.0f.hgrm", rate));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                // Recorded in microseconds; the percentile file is written in milliseconds.
+                result.total.outputPercentileDistribution(out, 1000.0);
+            }
+            summary.add(result.summaryLine());
+        }
+
+        System.out.println();
+        System.out.println("target rps  achieved rps   errors   p50 ms   p99 ms p99.9 ms   max ms  (corrected)");
+        summary.forEach(System.out::println);
+        System.out.println("Percentile distributions: " + output.toAbsolutePath());
+    }
+
+    private List<Long> discoverCategoryIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(baseUrl.resolve("/api/categories")).timeout(timeout).build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/categories returned " + response.statusCode());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode category : new ObjectMapper().readTree(response.body())) {
+            ids.add(category.path("id").asLong());
+        }
+        return ids;
+    }
+
+    private StepResult runStep(TrafficMix mix, double rate, int warmupSeconds, int durationSeconds)
+            throws InterruptedException {
+        Map<TrafficMix.Endpoint, Recorder> corrected = new EnumMap<>(TrafficMix.Endpoint.class);
+        Map<TrafficMix.Endpoint, Recorder> uncorrected = new EnumMap<>(TrafficMix.Endpoint.class);
+        Map<TrafficMix.Endpoint, LongAdder> errors = new EnumMap<>(TrafficMix.Endpoint.class);
+        for (TrafficMix.Endpoint endpoint : mix.endpoints()) {
+            corrected.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            uncorrected.put(endpoint, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(endpoint, new LongAdder());
+        }
+        Recorder progress = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+
+        long intervalNanos = (long) (concurrency * 1e9 / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        System.out.printf(Locale.ROOT, "%nTarget %.0f req/s with %d workers: %d s warm-up, %d s measured%n",
+            rate, concurrency, warmupSeconds, durationSeconds);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> {
+            Histogram second = progress.getIntervalHistogram();
+            System.out.printf(Locale.ROOT, "  %3ds  %7d req/s  p99 %8.2f ms  max %8.2f ms%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), second.getTotalCount(),
+                second.getValueAtPercentile(99) / 1000.0, second.getMaxValue() / 1000.0);
+        }, 1, 1, TimeUnit.SECONDS);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            long firstSend = start + intervalNanos * i / concurrency;
+            SplittableRandom random = new SplittableRandom(i);
+            Thread worker = new Thread(() -> {
+                Map<String, String> etags = new HashMap<>();
+                for (long intended = firstSend; intended < end; intended += intervalNanos) {
+                    long now = System.nanoTime();
+                    if (now < intended) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+                    TrafficMix.Endpoint endpoint = mix.pick(random);
+                    String path = mix.path(endpoint, random);
+                    long sent = System.nanoTime();
+                    boolean ok = send(path, etags, random);
+                    long done = System.nanoTime();
+                    if (intended >= measureFrom) {
+                        long correctedMicros = Math.min((done - intended) / 1000, HIGHEST_TRACKABLE_MICROS);
+                        corrected.get(endpoint).recordValue(correctedMicros);
+                        uncorrected.get(endpoint).recordValue(Math.min((done - sent) / 1000, HIGHEST_TRACKABLE_MICROS));
+                        if (!ok) {
+                            errors.get(endpoint).increment();
+                        }
+                    }
+                    progress.recordValue(Math.min((done - intended) / 1000, HIGHEST_TRACKABLE_MICROS));
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        reporter.shutdownNow();
+
+        // Workers that fell behind keep sending past the nominal end; use the real elapsed time.
+        double measuredSeconds = Math.max(durationSeconds, (System.nanoTime() - measureFrom) / 1e9);
+        StepResult result = new StepResult(rate, measuredSeconds);
+        for (TrafficMix.Endpoint endpoint : mix.endpoints()) {
+            result.add(endpoint, corrected.get(endpoint).getIntervalHistogram(),
+                uncorrected.get(endpoint).getIntervalHistogram(), errors.get(endpoint).sum());
+        }
+        return result;
+    }
+
+    /**
+     * Sends one request; 2xx and 304 responses count as success.
+     */
+    private boolean send(String path, Map<String, String> etags, SplittableRandom random) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+        String etag = etags.get(path);
+        if (etag != null && random.nextDouble() < conditionalFraction) {
+            request.header("If-None-Match", etag);
+        }
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            response.headers().firstValue("ETag").ifPresent(tag -> etags.put(path, tag));
+            return response.statusCode() < 300 || response.statusCode() == 304;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class StepResult {
+
+        private final double targetRate;
+        private final double measuredSeconds;
+        private final Map<TrafficMix.Endpoint, Histogram> corrected = new LinkedHashMap<>();
+        private final Map<TrafficMix.Endpoint, Histogram> uncorrected = new LinkedHashMap<>();
+        private final Map<TrafficMix.Endpoint, Long> errors = new LinkedHashMap<>();
+        private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private long totalErrors;
+
+        private StepResult(double targetRate, double measuredSeconds) {
+            this.targetRate = targetRate;
+            this.measuredSeconds = measuredSeconds;
+        }
+
+        private void add(TrafficMix.Endpoint endpoint, Histogram correctedHistogram, Histogram uncorrectedHistogram,
+                         long errorCount) {
+            corrected.put(endpoint, correctedHistogram);
+            uncorrected.put(endpoint, uncorrectedHistogram);
+            errors.put(endpoint, errorCount);
+            total.add(correctedHistogram);
+            totalErrors += errorCount;
+        }
+
+        private void print(PrintStream out) {
+            out.printf(Locale.ROOT, "Achieved %.1f req/s (target %.0f)%n", total.getTotalCount() / measuredSeconds, targetRate);
+            out.println("endpoint                          count   errors   p50 ms   p99 ms p99.9 ms   max ms  p99 uncorrected");
+            for (TrafficMix.Endpoint endpoint : corrected.keySet()) {
+                Histogram histogram = corrected.get(endpoint);
+                out.printf(Locale.ROOT, "%-28s %10d %8d %s %16.2f%n", endpoint.label(), histogram.getTotalCount(),
+                    errors.get(endpoint), percentiles(histogram),
+                    uncorrected.get(endpoint).getValueAtPercentile(99) / 1000.0);
+            }
+            out.printf(Locale.ROOT, "%-28s %10d %8d %s%n", "all", total.getTotalCount(), totalErrors, percentiles(total));
+        }
+
+        private String summaryLine() {
+            return String.format(Locale.ROOT, "%10.0f %13.1f %8d %s", targetRate, total.getTotalCount() / measuredSeconds,
+                totalErrors, percentiles(total));
+        }
+
+        private static String percentiles(Histogram histogram) {
+            return String.format(Locale.ROOT, "%8.2f %8.2f %8.2f %8.2f",
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.capmass.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted mix of catalog read requests, parsed from e.g. {@code locations:40,category:40,categories:20}.
+ */
+final class TrafficMix {
+
+    enum Endpoint {
+        LOCATIONS("/api/locations"),
+        CATEGORY("/api/locations/category/{id}"),
+        CATEGORIES("/api/categories");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    private final Endpoint[] endpoints;
+    private final double[] cumulativeWeights;
+    private final List<Long> categoryIds;
+    private final int pageSize;
+
+    private TrafficMix(Map<Endpoint, Double> weights, List<Long> categoryIds, int pageSize) {
+        this.endpoints = weights.keySet().toArray(new Endpoint[0]);
+        this.cumulativeWeights = new double[endpoints.length];
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        double running = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            running += weights.get(endpoints[i]) / total;
+            cumulativeWeights[i] = running;
+        }
+        this.categoryIds = List.copyOf(categoryIds);
+        this.pageSize = pageSize;
+    }
+
+    static TrafficMix parse(String spec, List<Long> categoryIds, int pageSize) {
+        Map<Endpoint, Double> weights = new EnumMap<>(Endpoint.class);
+        for (String part : spec.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got " + part);
+            }
+            Endpoint endpoint = Endpoint.valueOf(nameAndWeight[0].trim().toUpperCase(Locale.ROOT));
+            double weight = Double.parseDouble(nameAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(endpoint, weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no endpoint with a positive weight: " + spec);
+        }
+        if (weights.containsKey(Endpoint.CATEGORY) && categoryIds.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix includes category requests but the catalog has no categories");
+        }
+        return new TrafficMix(weights, categoryIds, pageSize);
+    }
+
+    List<Endpoint> endpoints() {
+        return new ArrayList<>(List.of(endpoints));
+    }
+
+    Endpoint pick(RandomGenerator random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < endpoints.length - 1; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    String path(Endpoint endpoint, RandomGenerator random) {
+        return switch (endpoint) {
+            case LOCATIONS -> "/api/locations?limit=" + pageSize;
+            case CATEGORY -> "/api/locations/category/" + categoryIds.get(random.nextInt(categoryIds.size()))
+                + "?limit=" + pageSize;
+            case CATEGORIES -> "/api/categories";
+        };
+    }
+}